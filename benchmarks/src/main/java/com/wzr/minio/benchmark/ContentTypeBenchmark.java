@@ -0,0 +1,47 @@
+package com.wzr.minio.benchmark;
+
+import com.wzr.minio.config.ContentType;
+import com.wzr.minio.config.MimeTypes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 根据文件名获取 Content-Type
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentTypeBenchmark {
+
+    /** 靠前的后缀、靠后的后缀、大写后缀、未知后缀 */
+    @Param({"report.jpg", "video.mp4", "PHOTO.PNG", "data.unknown"})
+    public String fileName;
+
+    private final MimeTypes mimeTypes = MimeTypes.getDefault();
+
+    @Benchmark
+    public String getContentType() {
+        return ContentType.getContentType(fileName);
+    }
+
+    @Benchmark
+    public String mimeTypes() {
+        return mimeTypes.getContentType(fileName);
+    }
+}
@@ -0,0 +1,60 @@
+package com.wzr.minio.benchmark;
+
+import com.wzr.minio.config.MinioProperties;
+import io.minio.PutObjectArgs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 判断对象是否存在（isFileExist），分别测试存在、不存在的对象，以及开启、关闭元数据缓存
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileExistBenchmark extends MinioBenchmarkState {
+
+    /** 元数据缓存的大小，0 表示不缓存 */
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    @Override
+    protected void configure(MinioProperties properties) {
+        properties.getMetadataCache().setMaximumSize(cacheSize);
+    }
+
+    @Override
+    protected void prepare() throws Exception {
+        minioClient.putObject(PutObjectArgs.builder()
+                .bucket(BUCKET)
+                .object("exists")
+                .stream(new ByteArrayInputStream(new byte[16]), 16, -1)
+                .build());
+    }
+
+    @Benchmark
+    public boolean existing() {
+        return minioUtils.isFileExist(BUCKET, "exists");
+    }
+
+    @Benchmark
+    public boolean missing() {
+        return minioUtils.isFileExist(BUCKET, "missing");
+    }
+}
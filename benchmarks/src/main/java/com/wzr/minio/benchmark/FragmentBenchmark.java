@@ -0,0 +1,112 @@
+package com.wzr.minio.benchmark;
+
+import com.wzr.minio.client.FragResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分片上传与合并（compose 方式）
+ * <ul>
+ *     <li>uploadFileFragment：上传一个文件的全部分片</li>
+ *     <li>composeFileFragment：合并已上传的分片（分片在每次调用前上传，不计入耗时）</li>
+ * </ul>
+ * <p>每轮迭代结束后清理上传的数据，内存占用不随运行时间增长。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FragmentBenchmark extends MinioBenchmarkState {
+
+    @Param({"4", "16", "64"})
+    public int pieces;
+
+    @Param({"65536"})
+    public int pieceSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** 本轮迭代中上传过、尚未合并的文件 */
+    private final List<String> uploaded = new ArrayList<>();
+
+    private BytesMultipartFile piece;
+
+    @Override
+    protected void prepare() {
+        piece = new BytesMultipartFile(new byte[pieceSize]);
+    }
+
+    @Benchmark
+    public FragResult uploadFileFragment() throws Exception {
+        return upload(nextMd5());
+    }
+
+    @Benchmark
+    public boolean composeFileFragment(UploadedFile file) throws Exception {
+        return minioUtils.composeFileFragment(BUCKET, "composed/" + file.md5, pieces, file.md5);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() throws Exception {
+        synchronized (uploaded) {
+            for (String md5 : uploaded) {
+                minioUtils.abortFileFragment(null, null, pieces, md5);
+            }
+            uploaded.clear();
+        }
+        minioUtils.removeFolder(BUCKET, "/composed");
+    }
+
+    private FragResult upload(String md5) throws Exception {
+        FragResult result = null;
+        for (int i = 0; i < pieces; i++) {
+            result = minioUtils.uploadFileFragment(piece, i, pieces, md5);
+        }
+        return result;
+    }
+
+    /** 每次使用新的 md5，避免命中已上传的状态 */
+    private String nextMd5() {
+        String md5 = String.format("%032x", sequence.incrementAndGet());
+        synchronized (uploaded) {
+            uploaded.add(md5);
+        }
+        return md5;
+    }
+
+    /**
+     * 分片已全部上传、等待合并的文件
+     */
+    @State(Scope.Thread)
+    public static class UploadedFile {
+
+        String md5;
+
+        @Setup(Level.Invocation)
+        public void upload(FragmentBenchmark benchmark) throws Exception {
+            md5 = String.format("%032x", benchmark.sequence.incrementAndGet());
+            benchmark.upload(md5);
+        }
+    }
+}
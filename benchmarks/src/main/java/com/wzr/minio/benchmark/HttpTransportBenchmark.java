@@ -0,0 +1,94 @@
+package com.wzr.minio.benchmark;
+
+import com.wzr.minio.config.MinioHttpClientFactory;
+import com.wzr.minio.config.MinioProperties;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 高并发下 minio 默认的 HTTP 客户端与 minio-util.http 配置的客户端的吞吐对比（64 个线程读取 4KB 对象）
+ * <p>本地回环地址上建立连接的开销很小，差异主要体现在真实网络（尤其是 TLS）上，可用 latencyMillis 模拟网络延迟。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class HttpTransportBenchmark {
+
+    @Param({"default", "tuned"})
+    public String transport;
+
+    @Param({"0"})
+    public long latencyMillis;
+
+    private S3StandIn standIn;
+
+    private MinioClient client;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        standIn = new S3StandIn();
+        MinioClient.Builder builder = MinioClient.builder()
+                .endpoint(standIn.endpoint())
+                .credentials("benchmark", "benchmark")
+                .region("us-east-1");
+        if ("tuned".equals(transport)) {
+            builder.httpClient(MinioHttpClientFactory.create(new MinioProperties.Http()));
+        }
+        client = builder.build();
+        client.makeBucket(MakeBucketArgs.builder().bucket("bench").build());
+        client.putObject(PutObjectArgs.builder()
+                .bucket("bench")
+                .object("object")
+                .stream(new ByteArrayInputStream(new byte[4096]), 4096, -1)
+                .build());
+        standIn.setLatencyMillis(latencyMillis);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        standIn.close();
+    }
+
+    @Benchmark
+    public long getObject() throws Exception {
+        long total = 0;
+        byte[] buffer = new byte[8192];
+        try (GetObjectResponse response = client.getObject(GetObjectArgs.builder()
+                .bucket("bench")
+                .object("object")
+                .build())) {
+            int n;
+            while ((n = response.read(buffer)) >= 0) {
+                total += n;
+            }
+        }
+        return total;
+    }
+}
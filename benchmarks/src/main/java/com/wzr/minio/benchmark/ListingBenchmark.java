@@ -0,0 +1,52 @@
+package com.wzr.minio.benchmark;
+
+import io.minio.PutObjectArgs;
+import io.minio.messages.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 递归列举前缀下的全部对象（getAllFilesByPrefix），对象分布在 10 个"目录"中
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingBenchmark extends MinioBenchmarkState {
+
+    @Param({"100", "1000", "10000"})
+    public int objects;
+
+    @Override
+    protected void prepare() throws Exception {
+        for (int i = 0; i < objects; i++) {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(BUCKET)
+                    .object(String.format("data/%d/file-%06d", i % 10, i))
+                    .stream(new ByteArrayInputStream(new byte[0]), 0, -1)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<Item> getAllFilesByPrefix() throws Exception {
+        return minioUtils.getAllFilesByPrefix(BUCKET, "data/", true);
+    }
+}
@@ -0,0 +1,54 @@
+package com.wzr.minio.benchmark;
+
+import com.wzr.minio.client.MinioUtils;
+import com.wzr.minio.config.MinioProperties;
+import io.minio.MinioClient;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 各基准测试共用的状态：启动一个 {@link S3StandIn}，并创建连接到它的 MinioUtils
+ * <p>子类可重写 {@link #configure(MinioProperties)} 调整配置，重写 {@link #prepare()} 准备测试数据。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+public abstract class MinioBenchmarkState {
+
+    protected static final String BUCKET = "bench";
+
+    protected S3StandIn standIn;
+
+    protected MinioClient minioClient;
+
+    protected MinioUtils minioUtils;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        standIn = new S3StandIn();
+        minioClient = MinioClient.builder()
+                .endpoint(standIn.endpoint())
+                .credentials("benchmark", "benchmark")
+                // 指定区域，避免额外的 GetBucketLocation 请求
+                .region("us-east-1")
+                .build();
+        MinioProperties properties = new MinioProperties();
+        configure(properties);
+        minioUtils = new MinioUtils(minioClient, properties);
+        minioUtils.createBucket(BUCKET);
+        prepare();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        minioUtils.shutdown();
+        standIn.close();
+    }
+
+    protected void configure(MinioProperties properties) {
+    }
+
+    protected void prepare() throws Exception {
+    }
+}
@@ -0,0 +1,80 @@
+package com.wzr.minio.benchmark;
+
+import com.wzr.minio.client.presign.PresignRequest;
+import com.wzr.minio.config.MinioProperties;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.http.Method;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 外链签名
+ * <ul>
+ *     <li>minioClient：minio 原生的 getPresignedObjectUrl，作为对照</li>
+ *     <li>getPresignedObjectUrl：本组件的单个签名，cacheSize 为 0 时每次重新签名，否则命中缓存</li>
+ *     <li>presignBatch：一次签名 {@link #BATCH_SIZE} 个不同对象的外链</li>
+ * </ul>
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PresignBenchmark extends MinioBenchmarkState {
+
+    private static final int BATCH_SIZE = 100;
+
+    /** 外链缓存的大小，0 表示不缓存 */
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private List<PresignRequest> batch;
+
+    @Override
+    protected void configure(MinioProperties properties) {
+        properties.getPresign().setCacheSize(cacheSize);
+    }
+
+    @Override
+    protected void prepare() {
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new PresignRequest(BUCKET, "images/" + i + ".jpg"));
+        }
+    }
+
+    @Benchmark
+    public String minioClient() throws Exception {
+        return minioClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                .method(Method.GET)
+                .bucket(BUCKET)
+                .object("images/0.jpg")
+                .build());
+    }
+
+    @Benchmark
+    public String getPresignedObjectUrl() throws Exception {
+        return minioUtils.getPresignedObjectUrl(BUCKET, "images/0.jpg");
+    }
+
+    @Benchmark
+    public List<String> presignBatch() throws Exception {
+        return minioUtils.presign(batch);
+    }
+}
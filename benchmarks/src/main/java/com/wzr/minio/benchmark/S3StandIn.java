@@ -0,0 +1,632 @@
+package com.wzr.minio.benchmark;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 进程内的 S3 兼容 HTTP 服务，只实现本组件用到的接口，数据全部保存在内存中，不校验签名。
+ * <p>用于离线运行基准测试，结果可在 CI 中复现。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 16:05
+ */
+public class S3StandIn implements Closeable {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    private static final Pattern PART_PATTERN = Pattern.compile(
+            "<PartNumber>(\\d+)</PartNumber>", Pattern.DOTALL);
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("<Key>(.*?)</Key>", Pattern.DOTALL);
+
+    static {
+        // 不关闭 Nagle 算法时，小响应要等客户端的延迟 ACK（约 40ms）
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+
+    private final Map<String, NavigableMap<String, StoredObject>> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+
+    private volatile long latencyMillis;
+
+    public S3StandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "s3-stand-in");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * 每个请求增加固定的延迟，模拟网络往返时间
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * 收到的某种方法（"HEAD"、"GET" 等）的请求数，"*" 表示全部请求
+     */
+    public long requestCount(String method) {
+        AtomicLong n = requestCounts.get(method);
+        return n == null ? 0 : n.get();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        requestCounts.computeIfAbsent(ex.getRequestMethod(), k -> new AtomicLong()).incrementAndGet();
+        requestCounts.computeIfAbsent("*", k -> new AtomicLong()).incrementAndGet();
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            dispatch(ex);
+        } catch (Exception e) {
+            send(ex, 500, error("InternalError", String.valueOf(e)));
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void dispatch(HttpExchange ex) throws Exception {
+        String method = ex.getRequestMethod();
+        String rawPath = ex.getRequestURI().getRawPath();
+        Map<String, String> query = parseQuery(ex.getRequestURI().getRawQuery());
+        byte[] body = readAll(ex.getRequestBody());
+        String path = URLDecoder.decode(rawPath.replace("+", "%2B"), "UTF-8");
+        if ("/".equals(path)) {
+            listBuckets(ex);
+            return;
+        }
+        int slash = path.indexOf('/', 1);
+        String bucket = slash < 0 ? path.substring(1) : path.substring(1, slash);
+        String key = slash < 0 || slash == path.length() - 1 ? null : path.substring(slash + 1);
+        if (key == null) {
+            bucketRequest(ex, method, bucket, query, body);
+        } else {
+            objectRequest(ex, method, bucket, key, query, body);
+        }
+    }
+
+    private void listBuckets(HttpExchange ex) throws IOException {
+        StringBuilder xml = new StringBuilder("<ListAllMyBucketsResult><Owner><ID>stand-in</ID></Owner><Buckets>");
+        for (String name : new TreeSet<>(buckets.keySet())) {
+            xml.append("<Bucket><Name>").append(escape(name)).append("</Name><CreationDate>")
+                    .append(isoNow()).append("</CreationDate></Bucket>");
+        }
+        xml.append("</Buckets></ListAllMyBucketsResult>");
+        send(ex, 200, xml.toString());
+    }
+
+    private void bucketRequest(HttpExchange ex, String method, String bucket,
+                               Map<String, String> query, byte[] body) throws IOException {
+        NavigableMap<String, StoredObject> objects = buckets.get(bucket);
+        if ("PUT".equals(method)) {
+            buckets.putIfAbsent(bucket, new ConcurrentSkipListMap<>());
+            send(ex, 200, (byte[]) null);
+            return;
+        }
+        if (objects == null) {
+            send(ex, 404, "HEAD".equals(method) ? null : error("NoSuchBucket", bucket));
+            return;
+        }
+        if ("HEAD".equals(method)) {
+            send(ex, 200, (byte[]) null);
+        } else if ("GET".equals(method) && query.containsKey("location")) {
+            send(ex, 200, "<LocationConstraint></LocationConstraint>");
+        } else if ("GET".equals(method) && query.containsKey("uploads")) {
+            listUploads(ex, bucket, query);
+        } else if ("GET".equals(method)) {
+            listObjects(ex, bucket, objects, query);
+        } else if ("POST".equals(method) && query.containsKey("delete")) {
+            deleteObjects(ex, objects, new String(body, StandardCharsets.UTF_8));
+        } else if ("DELETE".equals(method)) {
+            buckets.remove(bucket);
+            send(ex, 204, (byte[]) null);
+        } else {
+            send(ex, 405, error("MethodNotAllowed", method));
+        }
+    }
+
+    private void listObjects(HttpExchange ex, String bucket, NavigableMap<String, StoredObject> objects,
+                             Map<String, String> query) throws IOException {
+        String prefix = query.getOrDefault("prefix", "");
+        String delimiter = query.get("delimiter");
+        if (delimiter != null && delimiter.isEmpty()) {
+            delimiter = null;
+        }
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        String token = query.get("continuation-token");
+        String startAfter = token != null ? token : query.get("start-after");
+        NavigableMap<String, StoredObject> view = objects.tailMap(prefix, true);
+        if (startAfter != null && startAfter.compareTo(prefix) >= 0) {
+            view = objects.tailMap(startAfter, false);
+        }
+        StringBuilder contents = new StringBuilder();
+        TreeSet<String> commonPrefixes = new TreeSet<>();
+        int count = 0;
+        String last = null;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : view.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            String common = null;
+            if (delimiter != null) {
+                int idx = key.indexOf(delimiter, prefix.length());
+                if (idx >= 0) {
+                    common = key.substring(0, idx + delimiter.length());
+                    if (commonPrefixes.contains(common)) {
+                        // 该目录已在本页返回
+                        last = key;
+                        continue;
+                    }
+                }
+            }
+            if (count >= maxKeys) {
+                truncated = true;
+                break;
+            }
+            if (common != null) {
+                commonPrefixes.add(common);
+                count++;
+                last = key;
+                continue;
+            }
+            StoredObject object = entry.getValue();
+            contents.append("<Contents><Key>").append(escape(key)).append("</Key><LastModified>")
+                    .append(object.isoDate()).append("</LastModified><ETag>&quot;").append(object.etag)
+                    .append("&quot;</ETag><Size>").append(object.data.length)
+                    .append("</Size><StorageClass>STANDARD</StorageClass></Contents>");
+            count++;
+            last = key;
+        }
+        StringBuilder xml = new StringBuilder("<ListBucketResult><Name>").append(escape(bucket))
+                .append("</Name><Prefix>").append(escape(prefix)).append("</Prefix><KeyCount>").append(count)
+                .append("</KeyCount><MaxKeys>").append(maxKeys).append("</MaxKeys><IsTruncated>")
+                .append(truncated).append("</IsTruncated>");
+        if (delimiter != null) {
+            xml.append("<Delimiter>").append(escape(delimiter)).append("</Delimiter>");
+        }
+        if (truncated && last != null) {
+            xml.append("<NextContinuationToken>").append(escape(last)).append("</NextContinuationToken>");
+        }
+        xml.append(contents);
+        for (String common : commonPrefixes) {
+            xml.append("<CommonPrefixes><Prefix>").append(escape(common)).append("</Prefix></CommonPrefixes>");
+        }
+        xml.append("</ListBucketResult>");
+        send(ex, 200, xml.toString());
+    }
+
+    private void deleteObjects(HttpExchange ex, NavigableMap<String, StoredObject> objects,
+                               String body) throws IOException {
+        StringBuilder xml = new StringBuilder("<DeleteResult>");
+        Matcher matcher = KEY_PATTERN.matcher(body);
+        while (matcher.find()) {
+            objects.remove(unescape(matcher.group(1)));
+        }
+        xml.append("</DeleteResult>");
+        send(ex, 200, xml.toString());
+    }
+
+    private void listUploads(HttpExchange ex, String bucket, Map<String, String> query) throws IOException {
+        String prefix = query.getOrDefault("prefix", "");
+        StringBuilder xml = new StringBuilder("<ListMultipartUploadsResult><Bucket>").append(escape(bucket))
+                .append("</Bucket><KeyMarker></KeyMarker><UploadIdMarker></UploadIdMarker>")
+                .append("<MaxUploads>1000</MaxUploads><IsTruncated>false</IsTruncated>");
+        for (Map.Entry<String, Upload> entry : uploads.entrySet()) {
+            Upload upload = entry.getValue();
+            if (upload.bucket.equals(bucket) && upload.key.startsWith(prefix)) {
+                xml.append("<Upload><Key>").append(escape(upload.key)).append("</Key><UploadId>")
+                        .append(entry.getKey()).append("</UploadId><Initiator><ID>stand-in</ID><DisplayName>stand-in</DisplayName></Initiator>")
+                        .append("<Owner><ID>stand-in</ID><DisplayName>stand-in</DisplayName></Owner>")
+                        .append("<StorageClass>STANDARD</StorageClass><Initiated>").append(isoNow())
+                        .append("</Initiated></Upload>");
+            }
+        }
+        xml.append("</ListMultipartUploadsResult>");
+        send(ex, 200, xml.toString());
+    }
+
+    private void objectRequest(HttpExchange ex, String method, String bucket, String key,
+                               Map<String, String> query, byte[] body) throws Exception {
+        NavigableMap<String, StoredObject> objects = buckets.get(bucket);
+        if (objects == null) {
+            send(ex, 404, "HEAD".equals(method) ? null : error("NoSuchBucket", bucket));
+            return;
+        }
+        Headers headers = ex.getRequestHeaders();
+        String uploadId = query.get("uploadId");
+        switch (method) {
+            case "PUT":
+                if (uploadId != null) {
+                    uploadPart(ex, bucket, uploadId, Integer.parseInt(query.get("partNumber")), body);
+                } else if (headers.getFirst("x-amz-copy-source") != null) {
+                    byte[] data = copySource(headers);
+                    if (data == null) {
+                        send(ex, 404, error("NoSuchKey", headers.getFirst("x-amz-copy-source")));
+                        return;
+                    }
+                    StoredObject source = sourceObject(headers);
+                    String ifMatch = headers.getFirst("x-amz-copy-source-if-match");
+                    if (ifMatch != null && !ifMatch.replace("\"", "").equals(source.etag)) {
+                        send(ex, 412, error("PreconditionFailed", key));
+                        return;
+                    }
+                    boolean replace = "REPLACE".equals(headers.getFirst("x-amz-metadata-directive"));
+                    StoredObject copy = new StoredObject(data, replace ? metadata(headers) : source.metadata,
+                            replace ? headers.getFirst("Content-Type") : source.contentType);
+                    objects.put(key, copy);
+                    send(ex, 200, "<CopyObjectResult><LastModified>" + copy.isoDate() + "</LastModified><ETag>&quot;"
+                            + copy.etag + "&quot;</ETag></CopyObjectResult>");
+                } else {
+                    StoredObject object = new StoredObject(body, metadata(headers), headers.getFirst("Content-Type"));
+                    objects.put(key, object);
+                    ex.getResponseHeaders().add("ETag", "\"" + object.etag + "\"");
+                    send(ex, 200, (byte[]) null);
+                }
+                return;
+            case "POST":
+                if (query.containsKey("uploads")) {
+                    String id = UUID.randomUUID().toString();
+                    uploads.put(id, new Upload(bucket, key, metadata(headers), headers.getFirst("Content-Type")));
+                    send(ex, 200, "<InitiateMultipartUploadResult><Bucket>" + escape(bucket) + "</Bucket><Key>"
+                            + escape(key) + "</Key><UploadId>" + id + "</UploadId></InitiateMultipartUploadResult>");
+                } else if (uploadId != null) {
+                    completeUpload(ex, objects, bucket, key, uploadId, new String(body, StandardCharsets.UTF_8));
+                } else {
+                    send(ex, 405, error("MethodNotAllowed", method));
+                }
+                return;
+            case "DELETE":
+                if (uploadId != null) {
+                    uploads.remove(uploadId);
+                } else {
+                    objects.remove(key);
+                }
+                send(ex, 204, (byte[]) null);
+                return;
+            case "GET":
+            case "HEAD":
+                if (uploadId != null) {
+                    listParts(ex, bucket, key, uploadId);
+                    return;
+                }
+                StoredObject object = objects.get(key);
+                boolean head = "HEAD".equals(method);
+                if (object == null) {
+                    send(ex, 404, head ? null : error("NoSuchKey", key));
+                    return;
+                }
+                String ifMatch = headers.getFirst("If-Match");
+                if (ifMatch != null && !ifMatch.replace("\"", "").equals(object.etag)) {
+                    send(ex, 412, head ? null : error("PreconditionFailed", key));
+                    return;
+                }
+                String ifNoneMatch = headers.getFirst("If-None-Match");
+                if (ifNoneMatch != null && ifNoneMatch.replace("\"", "").equals(object.etag)) {
+                    ex.getResponseHeaders().add("ETag", "\"" + object.etag + "\"");
+                    ex.sendResponseHeaders(304, -1);
+                    return;
+                }
+                getObject(ex, object, headers.getFirst("Range"), head);
+                return;
+            default:
+                send(ex, 405, error("MethodNotAllowed", method));
+        }
+    }
+
+    private void getObject(HttpExchange ex, StoredObject object, String range, boolean head) throws IOException {
+        Headers out = ex.getResponseHeaders();
+        out.add("ETag", "\"" + object.etag + "\"");
+        out.add("Last-Modified", HTTP_DATE.format(object.lastModified));
+        out.add("Content-Type", object.contentType == null ? "application/octet-stream" : object.contentType);
+        out.add("Accept-Ranges", "bytes");
+        for (Map.Entry<String, String> meta : object.metadata.entrySet()) {
+            out.add(meta.getKey(), meta.getValue());
+        }
+        long start = 0;
+        long end = object.data.length - 1L;
+        int status = 200;
+        if (range != null && range.startsWith("bytes=")) {
+            String[] bounds = range.substring(6).split("-", -1);
+            start = Long.parseLong(bounds[0]);
+            if (!bounds[1].isEmpty()) {
+                end = Math.min(end, Long.parseLong(bounds[1]));
+            }
+            status = 206;
+            out.add("Content-Range", "bytes " + start + "-" + end + "/" + object.data.length);
+        }
+        int length = (int) Math.max(0, end - start + 1);
+        if (head) {
+            out.add("Content-Length", String.valueOf(object.data.length));
+            ex.sendResponseHeaders(200, -1);
+            return;
+        }
+        ex.sendResponseHeaders(status, length == 0 ? -1 : length);
+        if (length > 0) {
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write(object.data, (int) start, length);
+            }
+        }
+    }
+
+    private void uploadPart(HttpExchange ex, String bucket, String uploadId, int partNumber,
+                            byte[] body) throws Exception {
+        Upload upload = uploads.get(uploadId);
+        if (upload == null) {
+            send(ex, 404, error("NoSuchUpload", uploadId));
+            return;
+        }
+        Headers headers = ex.getRequestHeaders();
+        byte[] data = body;
+        boolean copy = headers.getFirst("x-amz-copy-source") != null;
+        if (copy) {
+            data = copySource(headers);
+            if (data == null) {
+                send(ex, 404, error("NoSuchKey", headers.getFirst("x-amz-copy-source")));
+                return;
+            }
+        }
+        String etag = md5Hex(data);
+        upload.parts.put(partNumber, data);
+        if (copy) {
+            send(ex, 200, "<CopyPartResult><LastModified>" + isoNow() + "</LastModified><ETag>&quot;" + etag
+                    + "&quot;</ETag></CopyPartResult>");
+        } else {
+            ex.getResponseHeaders().add("ETag", "\"" + etag + "\"");
+            send(ex, 200, (byte[]) null);
+        }
+    }
+
+    private void listParts(HttpExchange ex, String bucket, String key, String uploadId) throws Exception {
+        Upload upload = uploads.get(uploadId);
+        if (upload == null) {
+            send(ex, 404, error("NoSuchUpload", uploadId));
+            return;
+        }
+        StringBuilder xml = new StringBuilder("<ListPartsResult><Bucket>").append(escape(bucket))
+                .append("</Bucket><Key>").append(escape(key)).append("</Key><UploadId>").append(uploadId)
+                .append("</UploadId><PartNumberMarker>0</PartNumberMarker><NextPartNumberMarker>0</NextPartNumberMarker>")
+                .append("<Initiator><ID>stand-in</ID><DisplayName>stand-in</DisplayName></Initiator>")
+                .append("<Owner><ID>stand-in</ID><DisplayName>stand-in</DisplayName></Owner>")
+                .append("<StorageClass>STANDARD</StorageClass>")
+                .append("<MaxParts>1000</MaxParts><IsTruncated>false</IsTruncated>");
+        for (Map.Entry<Integer, byte[]> part : upload.parts.entrySet()) {
+            xml.append("<Part><PartNumber>").append(part.getKey()).append("</PartNumber><LastModified>")
+                    .append(isoNow()).append("</LastModified><ETag>&quot;").append(md5Hex(part.getValue()))
+                    .append("&quot;</ETag><Size>").append(part.getValue().length).append("</Size></Part>");
+        }
+        xml.append("</ListPartsResult>");
+        send(ex, 200, xml.toString());
+    }
+
+    private void completeUpload(HttpExchange ex, NavigableMap<String, StoredObject> objects, String bucket,
+                                String key, String uploadId, String body) throws Exception {
+        Upload upload = uploads.remove(uploadId);
+        if (upload == null) {
+            send(ex, 404, error("NoSuchUpload", uploadId));
+            return;
+        }
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ByteArrayOutputStream digests = new ByteArrayOutputStream();
+        Matcher matcher = PART_PATTERN.matcher(body);
+        int count = 0;
+        while (matcher.find()) {
+            byte[] part = upload.parts.get(Integer.parseInt(matcher.group(1)));
+            if (part == null) {
+                send(ex, 400, error("InvalidPart", matcher.group(1)));
+                return;
+            }
+            data.write(part);
+            digests.write(MessageDigest.getInstance("MD5").digest(part));
+            count++;
+        }
+        StoredObject object = new StoredObject(data.toByteArray(), upload.metadata, upload.contentType);
+        object.etag = md5Hex(digests.toByteArray()) + "-" + count;
+        objects.put(key, object);
+        send(ex, 200, "<CompleteMultipartUploadOutput xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"><Location>"
+                + escape(bucket + "/" + key) + "</Location><Bucket>" + escape(bucket) + "</Bucket><Key>" + escape(key)
+                + "</Key><ETag>&quot;" + object.etag + "&quot;</ETag></CompleteMultipartUploadOutput>");
+    }
+
+    private StoredObject sourceObject(Headers headers) throws IOException {
+        String source = URLDecoder.decode(headers.getFirst("x-amz-copy-source").replace("+", "%2B"), "UTF-8");
+        if (source.startsWith("/")) {
+            source = source.substring(1);
+        }
+        int slash = source.indexOf('/');
+        NavigableMap<String, StoredObject> objects = buckets.get(source.substring(0, slash));
+        return objects == null ? null : objects.get(source.substring(slash + 1));
+    }
+
+    private byte[] copySource(Headers headers) throws IOException {
+        StoredObject object = sourceObject(headers);
+        if (object == null) {
+            return null;
+        }
+        String range = headers.getFirst("x-amz-copy-source-range");
+        if (range == null) {
+            return object.data;
+        }
+        String[] bounds = range.substring("bytes=".length()).split("-");
+        int start = Integer.parseInt(bounds[0]);
+        int end = Integer.parseInt(bounds[1]);
+        byte[] data = new byte[end - start + 1];
+        System.arraycopy(object.data, start, data, 0, data.length);
+        return data;
+    }
+
+    private static Map<String, String> metadata(Headers headers) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            String name = entry.getKey().toLowerCase();
+            if (name.startsWith("x-amz-meta-")) {
+                metadata.put(name, entry.getValue().get(0));
+            }
+        }
+        return metadata;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> query = new TreeMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), "UTF-8");
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1).replace("+", "%2B"), "UTF-8");
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[64 * 1024];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static void send(HttpExchange ex, int status, String xml) throws IOException {
+        send(ex, status, xml == null ? null : xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange ex, int status, byte[] body) throws IOException {
+        if (body != null) {
+            ex.getResponseHeaders().add("Content-Type", "application/xml");
+        }
+        ex.sendResponseHeaders(status, body == null || body.length == 0 ? -1 : body.length);
+        if (body != null && body.length > 0) {
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+
+    private static String error(String code, String message) {
+        return "<Error><Code>" + code + "</Code><Message>" + escape(message) + "</Message><RequestId>stand-in"
+                + "</RequestId></Error>";
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String unescape(String s) {
+        return s.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&amp;", "&");
+    }
+
+    /**
+     * minio-java 按 yyyy-MM-dd'T'HH:mm:ss'Z' 解析响应中的时间，不能带小数秒
+     */
+    private static String isoNow() {
+        return ZonedDateTime.now(ZoneOffset.UTC).withNano(0).format(DateTimeFormatter.ISO_INSTANT);
+    }
+
+    private static String md5Hex(byte[] data) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("MD5").digest(data)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static final class StoredObject {
+
+        private final byte[] data;
+
+        private final Map<String, String> metadata;
+
+        private final String contentType;
+
+        private final ZonedDateTime lastModified = ZonedDateTime.now(ZoneOffset.UTC).withNano(0);
+
+        private String etag;
+
+        StoredObject(byte[] data, Map<String, String> metadata, String contentType) throws IOException {
+            this.data = data;
+            this.metadata = metadata;
+            this.contentType = contentType;
+            try {
+                this.etag = md5Hex(data);
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+
+        String isoDate() {
+            return lastModified.format(DateTimeFormatter.ISO_INSTANT);
+        }
+    }
+
+    private static final class Upload {
+
+        private final String bucket;
+
+        private final String key;
+
+        private final Map<String, String> metadata;
+
+        private final String contentType;
+
+        private final Map<Integer, byte[]> parts = new ConcurrentSkipListMap<>(Comparator.naturalOrder());
+
+        Upload(String bucket, String key, Map<String, String> metadata, String contentType) {
+            this.bucket = bucket;
+            this.key = key;
+            this.metadata = metadata;
+            this.contentType = contentType;
+        }
+    }
+}
@@ -1,14 +1,33 @@
 package com.wzr.minio;
 
+import com.wzr.minio.client.MinioAsyncUtils;
+import com.wzr.minio.client.MinioReactiveUtils;
 import com.wzr.minio.client.MinioUtils;
+import com.wzr.minio.client.RoutingMinioClient;
+import com.wzr.minio.client.compress.CompressionCodec;
+import com.wzr.minio.client.dedup.ContentIndex;
+import com.wzr.minio.client.dedup.InMemoryContentIndex;
+import com.wzr.minio.client.fragment.FragmentStateStore;
+import com.wzr.minio.client.fragment.InMemoryFragmentStateStore;
+import com.wzr.minio.client.metrics.MicrometerMinioMetrics;
+import com.wzr.minio.client.metrics.MinioMetrics;
+import com.wzr.minio.config.MinioHttpClientCustomizer;
+import com.wzr.minio.config.MinioHttpClientFactory;
 import com.wzr.minio.config.MinioProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.minio.MinioClient;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author wzr
  * @date 2023-04-08 10:59
@@ -23,12 +42,92 @@ public class MinioAutoConfiguration {
     
     /** 供Utils类使用 */
     @Bean("minioUtils")
-    public MinioUtils minioUtils() {
-        MinioClient client = MinioClient.builder()
-                .endpoint(minioProperties.getUrl())
+    public MinioUtils minioUtils(FragmentStateStore fragmentStateStore, ContentIndex contentIndex,
+                                 ObjectProvider<MinioMetrics> minioMetrics,
+                                 ObjectProvider<CompressionCodec> compressionCodecs,
+                                 ObjectProvider<MinioHttpClientCustomizer> httpClientCustomizers) throws Exception {
+        OkHttpClient minioHttpClient = minioHttpClient(httpClientCustomizers);
+        MinioClient client;
+        List<String> endpoints = minioProperties.getEndpoints();
+        if (endpoints.isEmpty()) {
+            client = minioClient(minioProperties.getUrl(), minioHttpClient);
+        } else {
+            // 多节点：每个节点一个客户端，共用同一个连接池
+            List<MinioClient> clients = new ArrayList<>(endpoints.size());
+            for (String endpoint : endpoints) {
+                clients.add(minioClient(endpoint, minioHttpClient));
+            }
+            client = new RoutingMinioClient(clients, minioHttpClient, minioProperties.getRouting());
+        }
+        MinioUtils minioUtils = new MinioUtils(client, minioProperties);
+        minioUtils.setFragmentStateStore(fragmentStateStore);
+        minioUtils.setContentIndex(contentIndex);
+        minioUtils.setMetrics(minioMetrics.getIfAvailable(() -> MinioMetrics.NOOP));
+        compressionCodecs.orderedStream().forEach(minioUtils::registerCodec);
+        return minioUtils;
+    }
+    
+    /** MinioClient 使用的 HTTP 客户端（见 minio-util.http），可注册 MinioHttpClientCustomizer 定制 */
+    private OkHttpClient minioHttpClient(ObjectProvider<MinioHttpClientCustomizer> customizers) throws Exception {
+        OkHttpClient.Builder builder = MinioHttpClientFactory.create(minioProperties.getHttp()).newBuilder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
+    }
+    
+    private MinioClient minioClient(String endpoint, OkHttpClient httpClient) {
+        return MinioClient.builder()
+                .endpoint(endpoint)
                 .credentials(minioProperties.getAccessKey(), minioProperties.getSecretKey())
+                .httpClient(httpClient)
                 .build();
-        return new MinioUtils(client);
+    }
+    
+    /** MinioUtils 的异步版本 */
+    @Bean("minioAsyncUtils")
+    public MinioAsyncUtils minioAsyncUtils(MinioUtils minioUtils) {
+        return new MinioAsyncUtils(minioUtils, minioProperties.getAsync());
+    }
+    
+    /** 分片上传状态存储，可注册自定义实现替换 */
+    @Bean
+    @ConditionalOnMissingBean
+    public FragmentStateStore fragmentStateStore() {
+        return new InMemoryFragmentStateStore(minioProperties.getFragment().getStateIdleTimeout());
+    }
+    
+    /** 秒传的内容索引，可注册自定义实现替换 */
+    @Bean
+    @ConditionalOnMissingBean
+    public ContentIndex contentIndex() {
+        return new InMemoryContentIndex();
+    }
+    
+    /** classpath 中存在 reactor 时，提供响应式接口 */
+    @Configuration
+    @ConditionalOnClass(name = "reactor.core.publisher.Flux")
+    static class ReactiveConfiguration {
+        
+        @Bean("minioReactiveUtils")
+        public MinioReactiveUtils minioReactiveUtils(MinioUtils minioUtils, MinioProperties minioProperties) {
+            return new MinioReactiveUtils(minioUtils, minioProperties.getReactive());
+        }
+    }
+    
+    /** classpath 中存在 Micrometer 时，把操作耗时、流量等指标记录到 MeterRegistry */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MetricsConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public MinioMetrics minioMetrics(ObjectProvider<MeterRegistry> meterRegistry, MinioProperties minioProperties) {
+            MinioProperties.Metrics metrics = minioProperties.getMetrics();
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (!metrics.isEnabled() || registry == null) {
+                return MinioMetrics.NOOP;
+            }
+            return new MicrometerMinioMetrics(registry, metrics.isPercentileHistogram());
+        }
     }
     
 }
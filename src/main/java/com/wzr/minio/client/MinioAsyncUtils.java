@@ -0,0 +1,327 @@
+package com.wzr.minio.client;
+
+import com.wzr.minio.client.copy.CopyResult;
+import com.wzr.minio.client.remove.RemoveProgressListener;
+import com.wzr.minio.client.remove.RemoveResult;
+import com.wzr.minio.config.ContentType;
+import com.wzr.minio.config.MinioProperties;
+import com.wzr.minio.config.NamedThreadFactory;
+import io.minio.ObjectWriteResponse;
+import io.minio.Result;
+import io.minio.StatObjectResponse;
+import io.minio.messages.DeleteError;
+import io.minio.messages.Item;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MinioUtils 的异步版本
+ * <p>每个方法都在独立的有界线程池（或虚拟线程）中执行对应的 MinioUtils 方法，并返回 CompletableFuture，
+ * 调用方可以同时发起大量请求而不占用自己的请求线程。异常通过 CompletableFuture 返回（包装为 CompletionException）。</p>
+ * <p>线程池的等待队列（minio-util.async.queue-capacity）即积压任务数的上限：队列满时不会在调用线程中执行任务
+ * （调用线程可能是请求线程或 Netty/Reactor 的事件循环），返回的 CompletableFuture 以 RejectedExecutionException 失败，
+ * 由调用方决定重试或降级。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 16:30
+ */
+public class MinioAsyncUtils {
+
+    private static final Log log = LogFactory.getLog(MinioAsyncUtils.class);
+
+    private final MinioUtils minioUtils;
+
+    private final ExecutorService executor;
+
+    public MinioAsyncUtils(MinioUtils minioUtils) {
+        this(minioUtils, new MinioProperties.Async());
+    }
+
+    public MinioAsyncUtils(MinioUtils minioUtils, MinioProperties.Async properties) {
+        this(minioUtils, createExecutor(properties));
+    }
+
+    /**
+     * @param executor 执行异步任务的线程池，调用 {@link #shutdown()} 时会被关闭
+     */
+    public MinioAsyncUtils(MinioUtils minioUtils, ExecutorService executor) {
+        this.minioUtils = minioUtils;
+        this.executor = executor;
+    }
+
+    /**
+     * 使用MultipartFile进行文件上传
+     */
+    public CompletableFuture<ObjectWriteResponse> uploadFile(String bucketName, MultipartFile file,
+                                                             String fileName, ContentType contentType) {
+        return async(() -> minioUtils.uploadFile(bucketName, file, fileName, contentType));
+    }
+
+    /**
+     * 使用MultipartFile进行文件上传，自动识别 Content-Type
+     */
+    public CompletableFuture<ObjectWriteResponse> uploadFile(String bucketName, MultipartFile file, String fileName) {
+        return async(() -> minioUtils.uploadFile(bucketName, file, fileName));
+    }
+
+    /**
+     * 上传本地文件
+     */
+    public CompletableFuture<ObjectWriteResponse> uploadFile(String bucketName, String fileName, String filePath) {
+        return async(() -> minioUtils.uploadFile(bucketName, fileName, filePath));
+    }
+
+    /**
+     * 通过流上传文件，流会在上传结束后关闭
+     */
+    public CompletableFuture<ObjectWriteResponse> uploadFileStream(String bucketName, String fileName,
+                                                                   InputStream inputStream) {
+        return async(() -> {
+            try (InputStream in = inputStream) {
+                return minioUtils.uploadFileStream(bucketName, fileName, in);
+            }
+        });
+    }
+
+    /**
+     * 将文件进行分片上传
+     * @see MinioUtils#uploadFileFragment(MultipartFile, Integer, Integer, String)
+     */
+    public CompletableFuture<FragResult> uploadFileFragment(MultipartFile file,
+                                                            Integer currIndex, Integer totalPieces, String md5) {
+        return async(() -> minioUtils.uploadFileFragment(file, currIndex, totalPieces, md5));
+    }
+
+    /**
+     * 将文件进行分片上传，并预先指定合并后的目标文件
+     * @see MinioUtils#uploadFileFragment(String, String, MultipartFile, Integer, Integer, String)
+     */
+    public CompletableFuture<FragResult> uploadFileFragment(String bucketName, String targetName, MultipartFile file,
+                                                            Integer currIndex, Integer totalPieces, String md5) {
+        return async(() -> minioUtils.uploadFileFragment(bucketName, targetName, file, currIndex, totalPieces, md5));
+    }
+
+    /**
+     * 合并分片文件
+     * @see MinioUtils#composeFileFragment(String, String, Integer, String)
+     */
+    public CompletableFuture<Boolean> composeFileFragment(String bucketName, String targetName,
+                                                          Integer totalPieces, String md5) {
+        return async(() -> minioUtils.composeFileFragment(bucketName, targetName, totalPieces, md5));
+    }
+
+    /**
+     * 放弃分片上传
+     * @see MinioUtils#abortFileFragment(String, String, Integer, String)
+     */
+    public CompletableFuture<Void> abortFileFragment(String bucketName, String targetName,
+                                                     Integer totalPieces, String md5) {
+        return async(() -> {
+            minioUtils.abortFileFragment(bucketName, targetName, totalPieces, md5);
+            return null;
+        });
+    }
+
+    /**
+     * 判断文件是否存在
+     */
+    public CompletableFuture<Boolean> isFileExist(String bucketName, String fileName) {
+        return async(() -> minioUtils.isFileExist(bucketName, fileName));
+    }
+
+    /**
+     * 获取文件信息，文件不存在时以异常结束
+     */
+    public CompletableFuture<StatObjectResponse> getFileStatusInfo(String bucketName, String fileName) {
+        return async(() -> minioUtils.getFileStatusInfo(bucketName, fileName));
+    }
+
+    /**
+     * 根据文件前缀查询文件
+     */
+    public CompletableFuture<List<Item>> getAllFilesByPrefix(String bucketName, String prefix, boolean recursive) {
+        return async(() -> minioUtils.getAllFilesByPrefix(bucketName, prefix, recursive));
+    }
+
+    /**
+     * 获取文件的二进制流，使用完毕后需关闭
+     */
+    public CompletableFuture<InputStream> getFileStream(String bucketName, String fileName) {
+        return async(() -> minioUtils.getFileStream(bucketName, fileName));
+    }
+
+    /**
+     * 断点下载，使用完毕后需关闭流
+     */
+    public CompletableFuture<InputStream> getFileStream(String bucketName, String fileName, long offset, long length) {
+        return async(() -> minioUtils.getFileStream(bucketName, fileName, offset, length));
+    }
+
+    /**
+     * 下载文件到本地
+     */
+    public CompletableFuture<StatObjectResponse> downloadFile(String bucketName, String fileName, String filePath) {
+        return async(() -> minioUtils.downloadFile(bucketName, fileName, filePath));
+    }
+
+    /**
+     * 拷贝文件
+     */
+    public CompletableFuture<ObjectWriteResponse> copyFile(String bucketName, String fileName,
+                                                           String srcBucketName, String srcFileName) {
+        return async(() -> minioUtils.copyFile(bucketName, fileName, srcBucketName, srcFileName));
+    }
+
+    /**
+     * 删除文件
+     */
+    public CompletableFuture<Void> removeFile(String bucketName, String fileName) {
+        return async(() -> {
+            minioUtils.removeFile(bucketName, fileName);
+            return null;
+        });
+    }
+
+    /**
+     * 批量删除文件
+     * @return 删除失败的对象（删除请求在异步任务中执行完毕）
+     */
+    public CompletableFuture<List<DeleteError>> removeFiles(String bucketName, List<String> filePaths) {
+        return async(() -> {
+            List<DeleteError> errors = new ArrayList<>();
+            for (Result<DeleteError> result : minioUtils.removeFiles(bucketName, filePaths)) {
+                errors.add(result.get());
+            }
+            return errors;
+        });
+    }
+
+    /**
+     * 按前缀批量拷贝文件
+     * @see MinioUtils#copyFilesByPrefix(String, String, String, String)
+     */
+    public CompletableFuture<CopyResult> copyFilesByPrefix(String srcBucketName, String srcPrefix,
+                                                           String bucketName, String prefix) {
+        return async(() -> minioUtils.copyFilesByPrefix(srcBucketName, srcPrefix, bucketName, prefix));
+    }
+
+    /**
+     * 按前缀批量移动文件
+     * @see MinioUtils#moveFilesByPrefix(String, String, String, String)
+     */
+    public CompletableFuture<CopyResult> moveFilesByPrefix(String srcBucketName, String srcPrefix,
+                                                           String bucketName, String prefix) {
+        return async(() -> minioUtils.moveFilesByPrefix(srcBucketName, srcPrefix, bucketName, prefix));
+    }
+
+    /**
+     * 删除文件夹，包括其下的全部文件和子目录
+     * @see MinioUtils#removeFolder(String, String, RemoveProgressListener)
+     */
+    public CompletableFuture<RemoveResult> removeFolder(String bucketName, String folderName,
+                                                        RemoveProgressListener listener) {
+        return async(() -> minioUtils.removeFolder(bucketName, folderName, listener));
+    }
+
+    /**
+     * 获取文件外链
+     * @param expires 外链有效时间（单位：秒）
+     */
+    public CompletableFuture<String> getPresignedObjectUrl(String bucketName, String fileName, Integer expires) {
+        return async(() -> minioUtils.getPresignedObjectUrl(bucketName, fileName, expires));
+    }
+
+    /**
+     * 获取文件外链
+     */
+    public CompletableFuture<String> getPresignedObjectUrl(String bucketName, String fileName) {
+        return async(() -> minioUtils.getPresignedObjectUrl(bucketName, fileName));
+    }
+
+    /**
+     * 发起预签名分片上传
+     * @see MinioUtils#createPresignedUploadSession(String, String, Integer, Integer)
+     */
+    public CompletableFuture<PresignedUploadSession> createPresignedUploadSession(String bucketName, String fileName,
+                                                                                  Integer partCount, Integer expires) {
+        return async(() -> minioUtils.createPresignedUploadSession(bucketName, fileName, partCount, expires));
+    }
+
+    /**
+     * 完成预签名分片上传
+     */
+    public CompletableFuture<ObjectWriteResponse> completePresignedUpload(String bucketName, String fileName,
+                                                                          String uploadId, Map<Integer, String> partETags) {
+        return async(() -> minioUtils.completePresignedUpload(bucketName, fileName, uploadId, partETags));
+    }
+
+    /**
+     * 取消预签名分片上传
+     */
+    public CompletableFuture<Void> abortPresignedUpload(String bucketName, String fileName, String uploadId) {
+        return async(() -> {
+            minioUtils.abortPresignedUpload(bucketName, fileName, uploadId);
+            return null;
+        });
+    }
+
+    /**
+     * 关闭内部线程池（容器销毁Bean时自动调用）
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> async(Callable<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            // 队列已满或线程池已关闭，通过返回值通知调用方，不阻塞调用线程
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    /**
+     * 开启虚拟线程且 JDK 支持时，每个任务一个虚拟线程；否则使用有界线程池
+     */
+    private static ExecutorService createExecutor(MinioProperties.Async properties) {
+        if (properties.isVirtualThreads()) {
+            try {
+                // 通过反射调用，保证在 JDK 8 下也能编译和运行
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("[minio-starter] Virtual threads are not supported by this JDK, falling back to a thread pool");
+            }
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new NamedThreadFactory("minio-async"), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
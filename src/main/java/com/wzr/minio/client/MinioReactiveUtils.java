@@ -0,0 +1,162 @@
+package com.wzr.minio.client;
+
+import com.wzr.minio.client.reactive.DataBufferInputStream;
+import com.wzr.minio.config.MinioProperties;
+import io.minio.ObjectWriteResponse;
+import io.minio.StatObjectResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 响应式（WebFlux）上传、下载接口
+ * <p>上传时边接收边分片上传，不会把整个请求体读入内存；下载时按下游的请求量逐块读取。
+ * minio 客户端本身是阻塞的，所有阻塞调用都在 boundedElastic 调度器上执行，不占用事件循环线程。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 17:10
+ */
+public class MinioReactiveUtils {
+
+    private final MinioUtils minioUtils;
+
+    private final int prefetch;
+
+    private final int bufferSize;
+
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    public MinioReactiveUtils(MinioUtils minioUtils) {
+        this(minioUtils, new MinioProperties.Reactive());
+    }
+
+    public MinioReactiveUtils(MinioUtils minioUtils, MinioProperties.Reactive properties) {
+        this.minioUtils = minioUtils;
+        this.prefetch = properties.getPrefetch();
+        this.bufferSize = (int) properties.getBufferSize().toBytes();
+    }
+
+    /**
+     * 上传文件
+     * <p>最多预取 prefetch 个数据块，超过一个分片大小时按分片并发上传（见 minio-util.upload 配置）；上传失败时取消上游，
+     * 已预取但未读取的数据块随之释放。</p>
+     * @param bucketName 存储桶
+     * @param fileName 文件名
+     * @param content 文件内容，例如 FilePart.content()
+     */
+    public Mono<ObjectWriteResponse> uploadFile(String bucketName, String fileName, Flux<DataBuffer> content) {
+        return Mono.using(
+                () -> new PrefetchedBuffers(content, prefetch),
+                buffers -> Mono.fromCallable(() -> {
+                    try (InputStream in = new DataBufferInputStream(buffers)) {
+                        return minioUtils.uploadFileStream(bucketName, fileName, in);
+                    }
+                }),
+                PrefetchedBuffers::close)
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * 下载文件
+     * @param bucketName 存储桶
+     * @param fileName 文件名
+     * @return 文件内容，下游请求时才读取下一块
+     */
+    public Flux<DataBuffer> getFile(String bucketName, String fileName) {
+        return DataBufferUtils.readInputStream(() -> minioUtils.getFileStream(bucketName, fileName),
+                bufferFactory, bufferSize)
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * 断点下载
+     * @param offset 起始字节的位置
+     * @param length 要读取的长度
+     */
+    public Flux<DataBuffer> getFile(String bucketName, String fileName, long offset, long length) {
+        return DataBufferUtils.readInputStream(() -> minioUtils.getFileStream(bucketName, fileName, offset, length),
+                bufferFactory, bufferSize)
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * 获取文件信息，文件不存在时以异常结束
+     */
+    public Mono<StatObjectResponse> getFileStatusInfo(String bucketName, String fileName) {
+        return Mono.fromCallable(() -> minioUtils.getFileStatusInfo(bucketName, fileName))
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * 按 prefetch 预取的数据块
+     * <p>取消时上游丢弃的数据块由 doOnDiscard 释放；Flux.toStream 自身队列中剩余的数据块取消时不会被丢弃（reactor 3.4），
+     * 这里记录已预取、还未取走的数据块，关闭时一并释放。</p>
+     */
+    private static final class PrefetchedBuffers implements Iterator<DataBuffer> {
+
+        private final Set<DataBuffer> pending = Collections.synchronizedSet(
+                Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        private final Stream<DataBuffer> stream;
+
+        private final Iterator<DataBuffer> iterator;
+
+        private volatile boolean closed;
+
+        PrefetchedBuffers(Flux<DataBuffer> content, int prefetch) {
+            this.stream = content.doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doOnNext(buffer -> {
+                        pending.add(buffer);
+                        // 关闭之后才到达的
+                        if (closed) {
+                            releasePending();
+                        }
+                    })
+                    .toStream(prefetch);
+            this.iterator = stream.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public DataBuffer next() {
+            DataBuffer buffer = iterator.next();
+            pending.remove(buffer);
+            return buffer;
+        }
+
+        void close() {
+            closed = true;
+            stream.close();
+            releasePending();
+        }
+
+        private void releasePending() {
+            List<DataBuffer> buffers;
+            synchronized (pending) {
+                buffers = new ArrayList<>(pending);
+                pending.clear();
+            }
+            buffers.forEach(DataBufferUtils::release);
+        }
+    }
+}
@@ -1,29 +1,84 @@
 package com.wzr.minio.client;
 
-import com.google.common.collect.Sets;
+import com.wzr.minio.client.cache.BucketCache;
+import com.wzr.minio.client.cache.DiskCacheStats;
+import com.wzr.minio.client.cache.DiskObjectCache;
+import com.wzr.minio.client.cache.MetadataCacheStats;
+import com.wzr.minio.client.cache.ObjectMetadataCache;
+import com.wzr.minio.client.compress.CompressingInputStream;
+import com.wzr.minio.client.compress.CompressionCodec;
+import com.wzr.minio.client.compress.CompressionPolicy;
+import com.wzr.minio.client.copy.CopyResult;
+import com.wzr.minio.client.dedup.ContentDeduplicator;
+import com.wzr.minio.client.dedup.ContentIndex;
+import com.wzr.minio.client.dedup.InMemoryContentIndex;
+import com.wzr.minio.client.copy.PrefixCopier;
+import com.wzr.minio.client.fragment.ComposePlanner;
+import com.wzr.minio.client.fragment.FragmentBackend;
+import com.wzr.minio.client.fragment.FragmentChecksums;
+import com.wzr.minio.client.fragment.FragmentComposer;
+import com.wzr.minio.client.fragment.FragmentStateStore;
+import com.wzr.minio.client.fragment.InMemoryFragmentStateStore;
+import com.wzr.minio.client.fragment.MultipartFragmentBackend;
+import com.wzr.minio.client.fragment.TempBucketFragmentBackend;
+import com.wzr.minio.client.list.ObjectPage;
+import com.wzr.minio.client.list.PagedObjectSpliterator;
+import com.wzr.minio.client.list.ParallelObjectLister;
+import com.wzr.minio.client.metrics.MeteredFragmentStateStore;
+import com.wzr.minio.client.metrics.MeteredInputStream;
+import com.wzr.minio.client.metrics.MinioMetrics;
+import com.wzr.minio.client.pack.PackStore;
+import com.wzr.minio.client.presign.PresignRequest;
+import com.wzr.minio.client.presign.PresignSigner;
+import com.wzr.minio.client.presign.PresignedUrlCache;
+import com.wzr.minio.client.remove.BatchRemover;
+import com.wzr.minio.client.remove.RemoveProgressListener;
+import com.wzr.minio.client.remove.RemoveResult;
+import com.wzr.minio.client.transfer.ParallelDownloader;
+import com.wzr.minio.client.transfer.ParallelUploader;
 import com.wzr.minio.config.ContentType;
+import com.wzr.minio.config.MimeTypes;
 import com.wzr.minio.config.GlobalException;
 import com.wzr.minio.config.MinioProperties;
+import com.wzr.minio.config.NamedThreadFactory;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
 import io.minio.*;
 import io.minio.http.Method;
 import io.minio.messages.Bucket;
 import io.minio.messages.DeleteError;
 import io.minio.messages.DeleteObject;
 import io.minio.messages.Item;
+import io.minio.messages.Part;
+import okhttp3.Headers;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 封装java-minio的操作
@@ -34,37 +89,147 @@ import java.util.stream.Stream;
 
 public class MinioUtils {
     
-    private final MinioClient client;
+    private static final Log log = LogFactory.getLog(MinioUtils.class);
+    
+    private final MultipartMinioClient client;
+    
+    /** 上传、下载引擎共用的有界线程池 */
+    private final ExecutorService transferExecutor;
+    
+    private final ParallelUploader uploader;
+    
+    private final ParallelDownloader downloader;
+    
+    private final BatchRemover remover;
+    
+    private final PrefixCopier copier;
+    
+    private final ComposePlanner composePlanner;
+    
+    private final FragmentComposer fragmentComposer;
+    
+    private final BucketCache bucketCache;
+    
+    private final ObjectMetadataCache metadataCache;
+    
+    /** 本地磁盘缓存，未开启时为空 */
+    private final DiskObjectCache diskCache;
+    
+    private final PresignedUrlCache presignedUrlCache;
+    
+    private final MinioProperties.Listing listing;
+    
+    /** 并行列举使用的线程池 */
+    private final ForkJoinPool listingPool;
+    
+    private final ParallelObjectLister parallelLister;
+    
+    private final MinioProperties.Fragment.Backend fragmentBackendType;
+    
+    /** 分片上传状态，默认保存在内存中 */
+    private FragmentStateStore fragmentStateStore;
+    
+    private FragmentBackend fragmentBackend;
+    
+    /** 分片上传的 md5 校验，未开启时为空 */
+    private final FragmentChecksums fragmentChecksums;
+    
+    private final MinioProperties.Dedup dedup;
+    
+    /** 秒传的内容索引，默认保存在内存中 */
+    private ContentIndex contentIndex = new InMemoryContentIndex();
+    
+    /** 秒传，未开启时为空 */
+    private ContentDeduplicator deduplicator;
+    
+    /** 指标记录，默认不记录 */
+    private MinioMetrics metrics = MinioMetrics.NOOP;
+
+    private final MimeTypes mimeTypes;
+
+    /** 后缀无法识别时是否根据内容识别类型 */
+    private final boolean sniffContentType;
+
+    /** 小对象打包存储，未开启时为空 */
+    private final PackStore packStore;
+
+    /** 传输压缩，未开启时只负责读取已压缩的对象 */
+    private final CompressionPolicy compression;
     
     public MinioUtils(MinioClient client) {
-        this.client = client;
+        this(client, new MinioProperties());
+    }
+    
+    public MinioUtils(MinioClient client, MinioProperties properties) {
+        this.client = client instanceof MultipartMinioClient
+                ? (MultipartMinioClient) client : new MultipartMinioClient(client);
+        int threads = properties.getTransferThreads();
+        this.transferExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("minio-transfer"));
+        MinioProperties.Upload upload = properties.getUpload();
+        this.uploader = new ParallelUploader(this.client, transferExecutor,
+                upload.getPartSize().toBytes(), upload.getParallelism());
+        MinioProperties.Download download = properties.getDownload();
+        this.downloader = new ParallelDownloader(this.client, transferExecutor,
+                download.getRangeSize().toBytes(), download.getParallelism());
+        MinioProperties.Fragment fragment = properties.getFragment();
+        this.remover = new BatchRemover(this.client, transferExecutor, fragment.getRemoveParallelism());
+        this.composePlanner = new ComposePlanner(fragment.getComposeMaxSources());
+        MinioProperties.Copy copy = properties.getCopy();
+        this.copier = new PrefixCopier(this.client, transferExecutor, remover,
+                copy.getMultipartThreshold().toBytes(), copy.getPartSize().toBytes(), copy.getParallelism());
+        this.fragmentComposer = new FragmentComposer(this.client, transferExecutor, remover);
+        this.bucketCache = new BucketCache(this.client, properties.getBucketCacheTtl());
+        MinioProperties.MetadataCache metadata = properties.getMetadataCache();
+        this.metadataCache = new ObjectMetadataCache(this.client, metadata.getMaximumSize(),
+                metadata.getTtl(), metadata.getNegativeTtl());
+        this.diskCache = createDiskCache(properties.getDiskCache());
+        this.listing = properties.getListing();
+        this.listingPool = new ForkJoinPool(listing.getParallelism(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("minio-list-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.parallelLister = new ParallelObjectLister(this.client, listingPool, listing.getPageSize());
+        MinioProperties.Presign presign = properties.getPresign();
+        this.presignedUrlCache = new PresignedUrlCache(new PresignSigner(this.client),
+                presign.getCacheSize(), presign.getMinRemainingRatio());
+        this.fragmentBackendType = fragment.getBackend();
+        this.fragmentStateStore = new InMemoryFragmentStateStore(fragment.getStateIdleTimeout());
+        this.fragmentChecksums = fragment.isVerifyMd5() ? new FragmentChecksums(fragment.getStateIdleTimeout()) : null;
+        this.fragmentBackend = createFragmentBackend();
+        this.dedup = properties.getDedup();
+        this.deduplicator = createDeduplicator();
+        MinioProperties.Mime mime = properties.getMime();
+        this.mimeTypes = mime.getTypes().isEmpty() && !mime.isAllowActiveTypes()
+                ? MimeTypes.getDefault() : new MimeTypes(mime.getTypes(), mime.isAllowActiveTypes());
+        this.sniffContentType = mime.isSniff();
+        this.packStore = properties.getPack().isEnabled() ? new PackStore(this.client, properties.getPack()) : null;
+        this.compression = new CompressionPolicy(properties.getCompression());
     }
     
     private static final String DEFAULT_TEMP_BUCKET_NAME = "temp-bucket";
     
+    /** 秒传成功时 FragResult 的附加说明 */
+    public static final String INSTANT_UPLOAD = "instant";
+    
     
-    /**
-     * 判断Bucket是否存在
-     * @return true：存在，false：不存在
-     */
-    private boolean bucketExists(String bucketName) throws Exception {
-        return client.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
-    }
-
     /**
      * 如果一个桶不存在，则创建该桶
+     * <p>桶是否存在的结果会被缓存（见 minio-util.bucket-cache-ttl），同一个桶同时只会发出一次创建请求</p>
      */
     public void createBucket(String bucketName) throws Exception {
-        if (!bucketExists( bucketName )) {
-            client.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
-        }
+        record("createBucket", bucketName, () -> {
+            bucketCache.createIfAbsent(bucketName);
+            return null;
+        });
     }
 
     /**
-     * 获取 Bucket 的相关信息
+     * 获取 Bucket 的相关信息（桶列表会被缓存，见 minio-util.bucket-cache-ttl）
      */
     public Optional<Bucket> getBucketInfo(String bucketName) throws Exception {
-        return client.listBuckets().stream().filter(b -> b.name().equals(bucketName)).findFirst();
+        return record("getBucketInfo", bucketName, () -> Optional.ofNullable(bucketCache.buckets().get(bucketName)));
     }
 
     /**
@@ -78,20 +243,52 @@ public class MinioUtils {
      */
     public ObjectWriteResponse uploadFile(String bucketName, MultipartFile file,
                                           String fileName, ContentType contentType) throws Exception {
-        InputStream inputStream = file.getInputStream();
-        return client.putObject(
-                PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .contentType(contentType.getValue())
-                        .stream(inputStream, inputStream.available(), -1)
-                        .build());
+        return record("uploadFile", bucketName, () -> {
+            if (isPacked(bucketName) && file.getSize() <= packStore.getMaxObjectSize()) {
+                byte[] data = file.getBytes();
+                return uploadPacked(bucketName, fileName, data, data.length, contentType.getValue());
+            }
+            try (InputStream inputStream = file.getInputStream()) {
+                return putStream(bucketName, fileName, inputStream, contentType.getValue());
+            } finally {
+                invalidate(bucketName, fileName);
+            }
+        });
+    }
+
+    /**
+     * 使用MultipartFile进行文件上传，Content-Type 根据对象名的后缀自动识别，
+     * 无法识别时根据文件内容识别（见 minio-util.mime）。客户端给出的原始文件名不参与识别
+     * @param bucketName 存储桶
+     * @param file 文件
+     * @param fileName 对象名
+     */
+    public ObjectWriteResponse uploadFile(String bucketName, MultipartFile file, String fileName) throws Exception {
+        return record("uploadFile", bucketName, () -> {
+            String contentType = mimeTypes.forFileName(fileName);
+            if (isPacked(bucketName) && file.getSize() <= packStore.getMaxObjectSize()) {
+                byte[] data = file.getBytes();
+                return uploadPacked(bucketName, fileName, data, data.length, contentType);
+            }
+            try (InputStream inputStream = file.getInputStream()) {
+                InputStream in = inputStream;
+                if (contentType == null && sniffContentType) {
+                    in = MimeTypes.markable(inputStream);
+                    contentType = MimeTypes.sniff(in);
+                }
+                return putStream(bucketName, fileName, in, contentType == null ? MimeTypes.DEFAULT : contentType);
+            } finally {
+                invalidate(bucketName, fileName);
+            }
+        });
     }
 
     /**
      * 将文件进行分片上传
-     * <p>有一个未处理的bug（虽然概率很低很低）：</p>
-     * 当两个线程同时上传md5相同的文件时，由于两者会定位到同一个桶的同一个临时目录，两个线程会相互产生影响！
+     * <p>已上传的索引记录在 {@link FragmentStateStore} 中，每次调用无需列举临时桶；
+     * 只有状态不存在时（例如应用重启后）才会从服务端重建一次状态。</p>
+     * <p>两个线程同时上传md5相同的文件时，索引的记录是原子的，只有上传最后一个分片的那次调用会返回"completed"。
+     * 多实例部署时，需要注册基于外部存储的 FragmentStateStore 才能得到相同的保证。</p>
      * 
      * @param file 分片文件
      * @param currIndex 当前文件的分片索引
@@ -101,43 +298,57 @@ public class MinioUtils {
      */
     public FragResult uploadFileFragment(MultipartFile file,
                                   Integer currIndex, Integer totalPieces, String md5) throws Exception {
-        checkNull(currIndex, totalPieces, md5);
-        // 把当前分片上传至临时桶
-        if ( !this.bucketExists(DEFAULT_TEMP_BUCKET_NAME) ) {
-            this.createBucket(DEFAULT_TEMP_BUCKET_NAME);
-        }
-        this.uploadFileStream(DEFAULT_TEMP_BUCKET_NAME, this.getFileTempPath(md5, currIndex, totalPieces), file.getInputStream());
-        // 得到已上传的文件索引
-        Iterable<Result<Item>> results = this.getFilesByPrefix(DEFAULT_TEMP_BUCKET_NAME, md5.concat("/"), false);
-        Set<Integer> savedIndex = Sets.newHashSet();
-        boolean fileExists = false;
-        for (Result<Item> item : results) {
-            Integer idx = Integer.valueOf( getContentAfterSlash(item.get().objectName()) );
-            if (currIndex.equals( idx )) {
-                fileExists = true;
-            }
-            savedIndex.add( idx );
-        }
-        // 得到未上传的文件索引
-        Set<Integer> remainIndex = Sets.newTreeSet();
-        for (int i = 0; i < totalPieces; i++) {
-            if ( !savedIndex.contains(i) ) {
-                remainIndex.add(i);
+        return record("uploadFileFragment", DEFAULT_TEMP_BUCKET_NAME, () -> {
+            checkNull(currIndex, totalPieces, md5);
+            checkIndex(currIndex, totalPieces);
+            bucketCache.createIfAbsent(DEFAULT_TEMP_BUCKET_NAME);
+            FragResult result = fragmentBackend.upload(null, null, file, currIndex, totalPieces, md5);
+            metrics.bytesUploaded(DEFAULT_TEMP_BUCKET_NAME, file.getSize());
+            return result;
+        });
+    }
+
+    /**
+     * 将文件进行分片上传，并预先指定合并后的目标文件
+     * <p>使用 multipart 方式（minio-util.fragment.backend=multipart）且未开启 md5 校验时，分片会直接上传到目标对象上，
+     * 合并时无需再拷贝一次数据。合并时请传入相同的桶名和文件名。</p>
+     * <p>开启秒传且关闭 minio-util.dedup.require-strong-hash 时，会话的第一个分片到达时先按 md5 在目标桶中查找已有文件，
+     * 找到时直接在服务端拷贝为目标文件，返回 allCompleted 为 true、message 为 {@link #INSTANT_UPLOAD} 的结果，无需再调用 composeFileFragment。</p>
+     *
+     * @param bucketName 目标文件桶名
+     * @param targetName 目标文件名（含完整路径）
+     * @param file 分片文件
+     * @param currIndex 当前文件的分片索引
+     * @param totalPieces 切片总数（对于同一个文件，请确保切片总数始终不变）
+     * @param md5 整体文件MD5
+     * @return 剩余未上传的文件索引集合
+     */
+    public FragResult uploadFileFragment(String bucketName, String targetName, MultipartFile file,
+                                         Integer currIndex, Integer totalPieces, String md5) throws Exception {
+        return record("uploadFileFragment", bucketName, () -> {
+            checkNull(bucketName, targetName, currIndex, totalPieces, md5);
+            checkIndex(currIndex, totalPieces);
+            if (deduplicator != null && !fragmentBackend.isStarted(bucketName, targetName, totalPieces, md5)
+                    && instantCopy(bucketName, targetName, md5, null) != null) {
+                return new FragResult(true, Collections.emptySet(), INSTANT_UPLOAD);
             }
-        }
-        if (fileExists) {
-            return new FragResult(false, remainIndex, "index [" + currIndex + "] exists");
-        }
-        // 还剩一个索引未上传，当前上传索引刚好是未上传索引，上传完当前索引后就完全结束了。
-        if ( remainIndex.size() == 1 && remainIndex.contains(currIndex) ) {
-            return new FragResult(true, null, "completed");
-        }
-        return new FragResult(false, remainIndex, "index [" + currIndex + "] has been uploaded");
+            bucketCache.createIfAbsent(DEFAULT_TEMP_BUCKET_NAME);
+            FragResult result = fragmentBackend.upload(bucketName, targetName, file, currIndex, totalPieces, md5);
+            metrics.bytesUploaded(bucketName, file.getSize());
+            return result;
+        });
     }
 
     /**
      * 合并分片文件，并放到指定目录
      * 前提是之前已把所有分片上传完毕。
+     * <p>compose 方式下，分片数量超过 minio-util.fragment.compose-max-sources 时，会先分组并发合并为中间对象，再逐层合并；
+     * 小于 5MB 的相邻分片会先拼接为一个对象。合并成功后，临时分片会被并发地分批删除。</p>
+     * <p>multipart 方式下，只需一次 completeMultipartUpload。</p>
+     * <p>开启 md5 校验时（minio-util.fragment.verify-md5），合并前校验整个文件的 md5，不符时抛出 GlobalException，
+     * 不会生成目标文件，请调用 abortFileFragment 后重新上传。上传时按顺序到达的分片已经边上传边计算了摘要，
+     * 其余分片在合并时从服务端读取一次。</p>
+     * <p>开启秒传时，合并完成的文件会按 md5 登记；关闭 require-strong-hash 时，没有任何分片记录时先尝试秒传。</p>
      * 
      * @param bucketName 目标文件桶名
      * @param targetName 目标文件名（含完整路径）
@@ -147,89 +358,193 @@ public class MinioUtils {
      */
     public boolean composeFileFragment(String bucketName, String targetName, 
                                                    Integer totalPieces, String md5) throws Exception {
-        checkNull(bucketName, targetName, totalPieces, md5);
-        // 检查文件索引是否都上传完毕
-        Iterable<Result<Item>> results = this.getFilesByPrefix(DEFAULT_TEMP_BUCKET_NAME, md5.concat("/"), false);
-        Set<String> savedIndex = Sets.newTreeSet();
-        for (Result<Item> item : results) {
-            savedIndex.add( item.get().objectName() );
-        }
-        if (savedIndex.size() == totalPieces) {
-            // 文件路径 转 文件合并对象
-            List<ComposeSource> sourceObjectList = savedIndex.stream()
-                    .map(filePath -> ComposeSource.builder()
-                            .bucket(DEFAULT_TEMP_BUCKET_NAME)
-                            .object( filePath )
-                            .build())
-                    .collect(Collectors.toList());
-            ObjectWriteResponse objectWriteResponse = client.composeObject(
-                    ComposeObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(targetName)
-                            .sources(sourceObjectList)
-                            .build());
-            // 上传成功，则删除所有的临时分片文件
-            List<String> filePaths = Stream.iterate(0, i -> ++i)
-                    .limit(totalPieces)
-                    .map(i -> this.getFileTempPath(md5, i, totalPieces) )
-                    .collect(Collectors.toList());
-            Iterable<Result<DeleteError>> deleteResults = this.removeFiles(DEFAULT_TEMP_BUCKET_NAME, filePaths);
-            // 遍历错误集合（无元素则成功）
-            for (Result<DeleteError> result : deleteResults) {
-                DeleteError error = result.get();
-                System.err.printf("[Bigfile] 分片'%s'删除失败! 错误信息: %s", error.objectName(), error.message());
+        return record("composeFileFragment", bucketName, () -> {
+            checkNull(bucketName, targetName, totalPieces, md5);
+            if (deduplicator != null && !fragmentBackend.isStarted(bucketName, targetName, totalPieces, md5)
+                    && instantCopy(bucketName, targetName, md5, null) != null) {
+                return true;
+            }
+            try {
+                fragmentBackend.compose(bucketName, targetName, totalPieces, md5);
+            } finally {
+                invalidate(bucketName, targetName);
+            }
+            metrics.sessionCompleted(MinioMetrics.SessionType.FRAGMENT);
+            if (deduplicator != null) {
+                registerContent(bucketName, targetName, md5);
             }
             return true;
+        });
+    }
+
+    /**
+     * 放弃分片上传，清理已上传的分片和上传状态
+     * <p>参数与上传分片时相同；上传时未指定目标文件的，bucketName 和 targetName 传空即可</p>
+     *
+     * @param bucketName 目标文件桶名，可为空
+     * @param targetName 目标文件名（含完整路径），可为空
+     * @param totalPieces 切片总数
+     * @param md5 文件md5
+     */
+    public void abortFileFragment(String bucketName, String targetName,
+                                  Integer totalPieces, String md5) throws Exception {
+        record("abortFileFragment", bucketName, () -> {
+            checkNull(totalPieces, md5);
+            fragmentBackend.abort(bucketName, targetName, totalPieces, md5);
+            metrics.sessionAbandoned(MinioMetrics.SessionType.FRAGMENT);
+            return null;
+        });
+    }
+
+    /**
+     * 秒传：已有内容相同的文件时，在服务端拷贝一份，不传输任何数据
+     * <p>需要开启 minio-util.dedup，并关闭 require-strong-hash（否则请使用带 sha256 的重载）。
+     * 只查找同一个桶中的文件。第一次使用某个已登记的文件前，会读取一次该文件校验 md5。</p>
+     * @param bucketName 存储桶
+     * @param fileName 文件名
+     * @param md5 整体文件MD5
+     * @return 拷贝结果；未开启秒传，或没有内容相同的文件时返回 null，此时需要正常上传
+     */
+    public ObjectWriteResponse instantUpload(String bucketName, String fileName, String md5) throws Exception {
+        return instantUpload(bucketName, fileName, md5, null);
+    }
+
+    /**
+     * 秒传，同时要求文件的 sha256 相同（避免仅凭 md5 拿到他人的文件）
+     * @see #instantUpload(String, String, String)
+     * @param sha256 整体文件的 sha256（十六进制）
+     */
+    public ObjectWriteResponse instantUpload(String bucketName, String fileName,
+                                             String md5, String sha256) throws Exception {
+        return record("instantUpload", bucketName, () -> {
+            checkNull(bucketName, fileName, md5);
+            return deduplicator == null ? null : instantCopy(bucketName, fileName, md5, sha256);
+        });
+    }
+
+    private ObjectWriteResponse instantCopy(String bucketName, String fileName, String md5, String sha256) throws Exception {
+        try {
+            return deduplicator.copy(md5, sha256, bucketName, fileName);
+        } finally {
+            invalidate(bucketName, fileName);
+        }
+    }
+
+    /**
+     * 登记失败只影响之后的秒传，不影响本次上传
+     */
+    private void registerContent(String bucketName, String fileName, String md5) {
+        try {
+            bucketCache.createIfAbsent(dedup.getIndexBucket());
+            deduplicator.register(md5, bucketName, fileName);
+        } catch (Exception e) {
+            log.warn("[minio-starter] Failed to register " + bucketName + "/" + fileName
+                    + " in the content index: " + e);
         }
-        throw new GlobalException("The fragment index is not complete. Please check parameters [totalPieces] or [md5]");
     }
 
     /**
      * 上传本地文件
+     * <p>超过一个分片大小的文件会被切分，并发上传（见 minio-util.upload 配置）</p>
+     * <p>Content-Type 根据文件名的后缀自动识别，无法识别时读取文件开头的几个字节识别</p>
      * @param bucketName 存储桶
      * @param fileName 文件名称
      * @param filePath 本地文件路径
      */
     public ObjectWriteResponse uploadFile(String bucketName, String fileName,
                                           String filePath) throws Exception {
-        return client.uploadObject(
-                UploadObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .filename(filePath)
-                        .build());
+        return record("uploadFile", bucketName, () -> {
+            String contentType = mimeTypes.forFileName(fileName);
+            if (contentType == null) {
+                contentType = mimeTypes.forFileName(filePath);
+            }
+            File file = new File(filePath);
+            if (isPacked(bucketName) && file.length() <= packStore.getMaxObjectSize()) {
+                byte[] data = Files.readAllBytes(file.toPath());
+                return uploadPacked(bucketName, fileName, data, data.length, contentType);
+            }
+            try {
+                if (contentType == null && sniffContentType) {
+                    try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+                        byte[] header = new byte[MimeTypes.SNIFF_LENGTH];
+                        contentType = MimeTypes.sniff(header, ByteStreams.read(in, header, 0, header.length));
+                    }
+                }
+                if (contentType == null) {
+                    contentType = MimeTypes.DEFAULT;
+                }
+                if (compression.codecFor(fileName, contentType) != null) {
+                    try (InputStream in = Files.newInputStream(file.toPath())) {
+                        return putStream(bucketName, fileName, in, contentType);
+                    }
+                }
+                ObjectWriteResponse response = uploader.uploadFile(bucketName, fileName, filePath, contentType);
+                unpack(bucketName, fileName);
+                metrics.bytesUploaded(bucketName, file.length());
+                return response;
+            } finally {
+                invalidate(bucketName, fileName);
+            }
+        });
     }
 
     /**
      * 通过流上传文件
+     * <p>无需预先知道流的长度，超过一个分片大小时会并发分片上传</p>
+     * <p>Content-Type 根据文件名的后缀自动识别，无法识别时根据流开头的几个字节识别（读取的字节不会丢失）</p>
+     * <p>命中压缩规则时边读边压缩（见 minio-util.compression），读取时自动解压</p>
      *
      * @param bucketName 存储桶
      * @param fileName 文件名
      * @param inputStream 文件流
      */
     public ObjectWriteResponse uploadFileStream(String bucketName, String fileName, InputStream inputStream) throws Exception {
-        return client.putObject(
-                PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .stream(inputStream, inputStream.available(), -1)
-                        .build());
+        return record("uploadFileStream", bucketName, () -> {
+            InputStream in = inputStream;
+            if (isPacked(bucketName)) {
+                // 先读取不超过打包大小上限的内容，流更长时退回已读取的内容，按普通对象上传
+                int limit = (int) packStore.getMaxObjectSize() + 1;
+                in = in.markSupported() ? in : new BufferedInputStream(in, limit);
+                in.mark(limit);
+                byte[] head = new byte[limit];
+                int length = ByteStreams.read(in, head, 0, limit);
+                if (length < limit) {
+                    return uploadPacked(bucketName, fileName, head, length, null);
+                }
+                in.reset();
+            }
+            String contentType = mimeTypes.forFileName(fileName);
+            if (contentType == null && sniffContentType) {
+                in = MimeTypes.markable(in);
+                contentType = MimeTypes.sniff(in);
+            }
+            try {
+                return putStream(bucketName, fileName, in, contentType == null ? MimeTypes.DEFAULT : contentType);
+            } finally {
+                invalidate(bucketName, fileName);
+            }
+        });
     }
 
     /**
      * 判断文件是否存在
+     * <p>结果会被缓存（见 minio-util.metadata-cache）。只有服务端明确返回对象或桶不存在时才返回 false，
+     * 网络等其他错误会以 GlobalException 抛出。</p>
      * @param bucketName 存储桶
      * @param fileName 文件名
      * @return true: 存在
      */
     public boolean isFileExist(String bucketName, String fileName) {
-        boolean exist = true;
-        try {
-            client.statObject(StatObjectArgs.builder().bucket(bucketName).object(fileName).build());
-        } catch (Exception e) {
-            exist = false;
-        }
-        return exist;
+        return record("isFileExist", bucketName, () -> {
+            try {
+                if (isPacked(bucketName) && packStore.get(bucketName, fileName) != null) {
+                    return true;
+                }
+                return metadataCache.get(bucketName, fileName) != null;
+            } catch (Exception e) {
+                throw new GlobalException("Failed to stat object [" + bucketName + "/" + fileName + "]: " + e.getMessage(), e);
+            }
+        });
     }
 
     /**
@@ -240,23 +555,25 @@ public class MinioUtils {
      */
     public boolean isFolderExist(String bucketName, String folderName) {
         // 去掉头"/"，才能搜索到相关前缀
-        folderName = trimHead(folderName);
-        boolean exist = false;
-        try {
-            Iterable<Result<Item>> results = client.listObjects(
-                    ListObjectsArgs.builder().bucket(bucketName).prefix(folderName).recursive(false).build());
-            for (Result<Item> result : results) {
-                Item item = result.get();
-                // 增加尾"/"，才能匹配到目录名字
-                String objectName = addTail( folderName );
-                if (item.isDir() && objectName.equals( item.objectName() )) {
-                    exist = true;
+        String prefix = trimHead(folderName);
+        return record("isFolderExist", bucketName, () -> {
+            boolean exist = false;
+            try {
+                Iterable<Result<Item>> results = client.listObjects(
+                        ListObjectsArgs.builder().bucket(bucketName).prefix(prefix).recursive(false).build());
+                for (Result<Item> result : results) {
+                    Item item = result.get();
+                    // 增加尾"/"，才能匹配到目录名字
+                    String objectName = addTail( prefix );
+                    if (item.isDir() && objectName.equals( item.objectName() )) {
+                        exist = true;
+                    }
                 }
+            } catch (Exception e) {
+                exist = false;
             }
-        } catch (Exception e) {
-            exist = false;
-        }
-        return exist;
+            return exist;
+        });
     }
 
     /**
@@ -266,31 +583,52 @@ public class MinioUtils {
      */
     public ObjectWriteResponse createFolder(String bucketName, String folderName) throws Exception {
         // 这是minio的bug，只有在路径的尾巴加上"/"，才能当成文件夹。
-        folderName = addTail(folderName);
-        return client.putObject(
-                PutObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(folderName)
-                        .stream(new ByteArrayInputStream(new byte[]{}), 0, -1)
-                        .build());
+        String objectName = addTail(folderName);
+        return record("createFolder", bucketName, () -> {
+            try {
+                return client.putObject(
+                        PutObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .stream(new ByteArrayInputStream(new byte[]{}), 0, -1)
+                                .build());
+            } finally {
+                invalidate(bucketName, objectName);
+            }
+        });
     }
 
     /**
      * 获取文件信息, 如果抛出异常则说明文件不存在
+     * <p>结果会被缓存（见 minio-util.metadata-cache）</p>
      *
      * @param bucketName 存储桶
      * @param fileName 文件名称
      */
     public StatObjectResponse getFileStatusInfo(String bucketName, String fileName) throws Exception {
-        return client.statObject(
-                StatObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .build());
+        return record("getFileStatusInfo", bucketName, () -> {
+            StatObjectResponse packed = isPacked(bucketName) ? packStore.stat(bucketName, fileName) : null;
+            return packed != null ? packed : metadataCache.getOrThrow(bucketName, fileName);
+        });
+    }
+
+    /**
+     * 对象元数据缓存的命中统计
+     */
+    public MetadataCacheStats getMetadataCacheStats() {
+        return metadataCache.stats();
+    }
+
+    /**
+     * 本地磁盘缓存的命中统计，未开启时返回 null
+     */
+    public DiskCacheStats getDiskCacheStats() {
+        return diskCache == null ? null : diskCache.stats();
     }
 
     /**
      * 根据文件前缀查询文件
+     * <p>结果会全部读入内存，对象较多时请使用 {@link #streamFilesByPrefix(String, String, boolean)}</p>
      * @param bucketName 存储桶
      * @param prefix 前缀
      * @param recursive 是否使用递归查询
@@ -299,16 +637,74 @@ public class MinioUtils {
     public List<Item> getAllFilesByPrefix(String bucketName,
                                           String prefix,
                                           boolean recursive) throws Exception {
-        List<Item> list = new ArrayList<>();
-        Iterable<Result<Item>> objectsIterator = client.listObjects(
-                ListObjectsArgs.builder().bucket(bucketName).prefix(prefix).recursive(recursive).build());
-        if (objectsIterator != null) {
-            for (Result<Item> o : objectsIterator) {
-                Item item = o.get();
-                list.add(item);
+        return record("getAllFilesByPrefix", bucketName, () -> {
+            List<Item> list = new ArrayList<>();
+            Iterable<Result<Item>> objectsIterator = client.listObjects(
+                    ListObjectsArgs.builder().bucket(bucketName).prefix(prefix).recursive(recursive).build());
+            if (objectsIterator != null) {
+                for (Result<Item> o : objectsIterator) {
+                    Item item = o.get();
+                    list.add(item);
+                }
             }
-        }
-        return list;
+            return list;
+        });
+    }
+
+    /**
+     * 根据文件前缀懒加载地列举文件
+     * <p>与 getAllFilesByPrefix 不同，这里按页请求（见 minio-util.listing 配置），
+     * 只有当前页被消费完时才会请求下一页，因此可以列举任意多的对象，且拿到第一页后就能开始处理。
+     * 使用完毕后请关闭流，以取消尚未完成的预取。</p>
+     * @param bucketName 存储桶
+     * @param prefix 前缀
+     * @param recursive 是否使用递归查询
+     * @return 按对象名排序的流（非递归时，每页中的目录排在文件之后）
+     */
+    public Stream<Item> streamFilesByPrefix(String bucketName, String prefix, boolean recursive) {
+        return streamFilesByPrefix(bucketName, prefix, recursive, null);
+    }
+
+    /**
+     * 根据文件前缀懒加载地列举文件，从指定对象之后开始
+     * <p>处理中断后，可以传入最后一个处理完的对象名继续列举</p>
+     * @param startAfter 从该对象名之后开始列举，可为空
+     */
+    public Stream<Item> streamFilesByPrefix(String bucketName, String prefix, boolean recursive, String startAfter) {
+        PagedObjectSpliterator spliterator = new PagedObjectSpliterator(client, bucketName, prefix,
+                recursive ? null : "/", startAfter, listing.getPageSize(),
+                listing.isPrefetch() ? transferExecutor : null);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * 按第一级目录分片，并行地递归列举前缀下的全部对象
+     * <p>适合对象数量巨大的场景（如盘点、对账），各分片的请求在独立的 ForkJoinPool 中并发进行
+     * （并行度见 minio-util.listing.parallelism）。第一级目录越多，并行效果越好。使用完毕后请关闭流。</p>
+     * @param bucketName 存储桶
+     * @param prefix 前缀
+     * @param ordered 是否按对象名排序输出；不要求顺序时传 false，吞吐更高
+     */
+    public Stream<Item> parallelStreamFilesByPrefix(String bucketName, String prefix, boolean ordered) {
+        return parallelLister.list(bucketName, prefix, ordered);
+    }
+
+    /**
+     * 列举一页文件
+     * @param bucketName 存储桶
+     * @param prefix 前缀
+     * @param recursive 是否使用递归查询
+     * @param startAfter 从该对象名之后开始列举，可为空
+     * @param continuationToken 上一页返回的续列令牌，获取第一页时为空
+     * @param maxKeys 每页最多返回的对象数（不超过 1000）
+     * @return 一页结果，其中包含获取下一页所需的续列令牌
+     */
+    public ObjectPage listFilesPage(String bucketName, String prefix, boolean recursive,
+                                    String startAfter, String continuationToken, int maxKeys) throws Exception {
+        return record("listFilesPage", bucketName, () -> {
+            return ObjectPage.of(client.listObjectsPage(bucketName, prefix, recursive ? null : "/",
+                    startAfter, continuationToken, maxKeys));
+        });
     }
 
     /**
@@ -331,16 +727,25 @@ public class MinioUtils {
 
     /**
      * 获取文件的二进制流
+     * <p>开启了本地磁盘缓存时（见 minio-util.disk-cache），优先读取本地缓存</p>
+     * <p>压缩保存的对象（见 minio-util.compression）在读取时边读边解压</p>
      * @param bucketName 存储桶
      * @param fileName 文件名
      * @return 二进制流
      */
     public InputStream getFileStream(String bucketName, String fileName) throws Exception {
-        return client.getObject(GetObjectArgs.builder().bucket(bucketName).object(fileName).build());
+        return record("getFileStream", bucketName, () -> {
+            InputStream packed = isPacked(bucketName) ? packStore.read(bucketName, fileName, 0, -1) : null;
+            if (packed != null) {
+                return metered(bucketName, packed);
+            }
+            return openObject(bucketName, fileName);
+        });
     }
 
     /**
      * 断点下载
+     * <p>压缩保存的对象无法直接按区间读取，会从头解压并跳过 offset 之前的内容</p>
      * @param bucketName 存储桶
      * @param fileName 文件名称
      * @param offset 起始字节的位置
@@ -348,13 +753,71 @@ public class MinioUtils {
      * @return 二进制流
      */
     public InputStream getFileStream(String bucketName, String fileName, long offset, long length) throws Exception {
-        return client.getObject(
-                GetObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .offset(offset)
-                        .length(length)
-                        .build());
+        return record("getFileStream", bucketName, () -> {
+            InputStream packed = isPacked(bucketName) ? packStore.read(bucketName, fileName, offset, length) : null;
+            if (packed != null) {
+                return metered(bucketName, packed);
+            }
+            GetObjectResponse response = diskCache != null
+                    ? diskCache.get(bucketName, fileName, offset, length)
+                    : client.getObject(
+                            GetObjectArgs.builder()
+                                    .bucket(bucketName)
+                                    .object(fileName)
+                                    .offset(offset)
+                                    .length(length)
+                                    .build());
+            if (!compression.isCompressed(response.headers())) {
+                return metered(bucketName, response);
+            }
+            // 区间对应的是压缩后的数据，改为读取整个对象
+            response.close();
+            InputStream in = openObject(bucketName, fileName);
+            try {
+                ByteStreams.skipFully(in, offset);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            return ByteStreams.limit(in, length);
+        });
+    }
+
+    /**
+     * 下载文件到本地
+     * <p>对象会被切分为多个区间并发下载，直接写入本地文件的对应位置；
+     * 中途失败或进程崩溃后，再次调用会从进度文件（本地路径 + ".minio-progress"）中记录的位置续传。</p>
+     * <p>压缩保存的对象不按区间下载，而是边下载边解压写入本地文件，不支持续传</p>
+     * @param bucketName 存储桶
+     * @param fileName 文件名称
+     * @param filePath 本地文件路径
+     * @return 对象信息
+     */
+    public StatObjectResponse downloadFile(String bucketName, String fileName, String filePath) throws Exception {
+        return record("downloadFile", bucketName, () -> {
+            StatObjectResponse packed = isPacked(bucketName) ? packStore.stat(bucketName, fileName) : null;
+            InputStream packedStream = packed == null ? null : packStore.read(bucketName, fileName, 0, -1);
+            if (packedStream != null) {
+                try (InputStream in = packedStream) {
+                    Files.copy(in, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+                }
+                metrics.bytesDownloaded(bucketName, packed.size());
+                return packed;
+            }
+            StatObjectResponse stat = metadataCache.getOrThrow(bucketName, fileName);
+            if (!compression.isCompressed(stat.headers())) {
+                stat = downloader.download(bucketName, fileName, filePath);
+                if (!compression.isCompressed(stat.headers())) {
+                    metrics.bytesDownloaded(bucketName, stat.size());
+                    return stat;
+                }
+                // 缓存的元数据已过期，对象已被替换为压缩保存的版本
+            }
+            try (InputStream in = openObject(bucketName, fileName)) {
+                Files.copy(in, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return stat;
+        });
     }
 
     /**
@@ -367,57 +830,123 @@ public class MinioUtils {
      */
     public ObjectWriteResponse copyFile(String bucketName, String fileName,
                                         String srcBucketName, String srcFileName) throws Exception {
-        return client.copyObject(
-                CopyObjectArgs.builder()
-                        .source(CopySource.builder().bucket(bucketName).object(fileName).build())
-                        .bucket(srcBucketName)
-                        .object(srcFileName)
-                        .build());
+        return record("copyFile", bucketName, () -> {
+            // 打包存储的对象无法在服务端拷贝，读出后重新写入
+            InputStream packed = isPacked(bucketName) ? packStore.read(bucketName, fileName, 0, -1) : null;
+            if (packed != null) {
+                try (InputStream in = packed) {
+                    return uploadFileStream(srcBucketName, srcFileName, in);
+                }
+            }
+            try {
+                ObjectWriteResponse response = client.copyObject(
+                        CopyObjectArgs.builder()
+                                .source(CopySource.builder().bucket(bucketName).object(fileName).build())
+                                .bucket(srcBucketName)
+                                .object(srcFileName)
+                                .build());
+                unpack(srcBucketName, srcFileName);
+                return response;
+            } finally {
+                invalidate(srcBucketName, srcFileName);
+            }
+        });
+    }
+
+    /**
+     * 按前缀批量拷贝文件（服务端拷贝）
+     * <p>边列举边拷贝，多个拷贝请求同时进行；超过 minio-util.copy.multipart-threshold 的对象使用分片拷贝，
+     * 各分片并发进行，因此也支持超过 5GB 的对象。目标对象名为 prefix + 源对象名去掉 srcPrefix 后的部分。</p>
+     * @param srcBucketName 源存储桶
+     * @param srcPrefix 源前缀
+     * @param bucketName 目标存储桶
+     * @param prefix 目标前缀
+     * @return 拷贝结果，包含拷贝失败的对象
+     */
+    public CopyResult copyFilesByPrefix(String srcBucketName, String srcPrefix,
+                                        String bucketName, String prefix) throws Exception {
+        return copyFilesByPrefix(srcBucketName, srcPrefix, bucketName, prefix, false);
     }
 
     /**
-     * 删除文件夹(未完成)
+     * 按前缀批量移动文件：先拷贝，拷贝成功的源对象再分批删除
+     * @see #copyFilesByPrefix(String, String, String, String)
+     * @return 拷贝结果，包含拷贝失败的对象以及删除源对象的结果
+     */
+    public CopyResult moveFilesByPrefix(String srcBucketName, String srcPrefix,
+                                        String bucketName, String prefix) throws Exception {
+        return copyFilesByPrefix(srcBucketName, srcPrefix, bucketName, prefix, true);
+    }
+
+    private CopyResult copyFilesByPrefix(String srcBucketName, String srcPrefix,
+                                         String bucketName, String prefix, boolean move) throws Exception {
+        return record(move ? "moveFilesByPrefix" : "copyFilesByPrefix", srcBucketName, () -> {
+            checkNull(srcBucketName, bucketName);
+            String from = srcPrefix == null ? "" : srcPrefix;
+            String to = prefix == null ? "" : prefix;
+            // 源与目标范围重叠时，新拷贝的对象会再次被列举出来
+            if (srcBucketName.equals(bucketName) && (from.startsWith(to) || to.startsWith(from))) {
+                throw new GlobalException("Source and target prefixes overlap: [" + from + "] and [" + to + "]");
+            }
+            try (Stream<Item> items = streamFilesByPrefix(srcBucketName, from, true)) {
+                Iterator<Item> iterator = items
+                        .peek(item -> {
+                            invalidate(bucketName, PrefixCopier.targetName(from, to, item.objectName()));
+                            if (move) {
+                                invalidate(srcBucketName, item.objectName());
+                            }
+                        })
+                        .iterator();
+                return copier.copy(srcBucketName, from, bucketName, to, iterator, move);
+            }
+        });
+    }
+
+    /**
+     * 删除文件夹，包括其下的全部文件和子目录
      * @param bucketName 存储桶
-     * @param fileName 路径
-     */
-    @Deprecated
-    public void removeFolder(String bucketName, String fileName) throws Exception {
-//        try {
-//            path = addTail(path);
-//            Iterable<Result<Item>> listObjects = this.minioClient.listObjects(ListObjectsArgs.builder()
-//                    .bucket(bucketName)
-//                    .prefix(path)
-//                    .build());
-//            List<DeleteObject> objects = new LinkedList<>();
-//            listObjects.forEach(item -> {
-//                try {
-//                    objects.add(new DeleteObject(item.get().objectName()));
-//                } catch (Exception ex) {
-//                    ex.printStackTrace();
-//                }
-//            });
-//            if (objects.size() > 0) {
-//                Iterable<Result<DeleteError>> results = this.minioClient.removeObjects(RemoveObjectsArgs.builder()
-//                        .bucket(bucketName)
-//                        .objects(objects)
-//                        .build());
-//                for (Result<DeleteError> result : results) {
-//                    DeleteError error = result.get();
-//                    log.error("删除对象 ---> " + error.objectName() + " 发生错误 --->" + error.message());
-//                }
-//            }
-//        } catch (Exception e) {
-//            e.printStackTrace();
-//            return false;
-//        }
-//        return true;
-        // 加尾
-        fileName = addTail(fileName);
-        client.removeObject(
-                RemoveObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .build());
+     * @param folderName 目录路径：本项目约定路径是以"/"开头，不以"/"结尾
+     * @return 删除结果，包含删除失败的对象
+     */
+    public RemoveResult removeFolder(String bucketName, String folderName) throws Exception {
+        return removeFolder(bucketName, folderName, null);
+    }
+
+    /**
+     * 删除文件夹，包括其下的全部文件和子目录
+     * <p>边列举边删除：列举结果按每批 1000 个对象分批删除，多个批次同时在途（见 minio-util.fragment.remove-parallelism），
+     * 内存占用与目录下的对象数无关</p>
+     * @param bucketName 存储桶
+     * @param folderName 目录路径：本项目约定路径是以"/"开头，不以"/"结尾
+     * @param listener 每个批次完成后的进度回调，可为空
+     * @return 删除结果，包含删除失败的对象
+     */
+    public RemoveResult removeFolder(String bucketName, String folderName,
+                                     RemoveProgressListener listener) throws Exception {
+        return record("removeFolder", bucketName, () -> {
+            checkNull(bucketName, folderName);
+            String prefix = addTail(folderName.startsWith("/") ? trimHead(folderName) : folderName);
+            if ("/".equals(prefix)) {
+                throw new GlobalException("Refusing to remove the root folder of bucket [" + bucketName + "]");
+            }
+            try (Stream<Item> items = streamFilesByPrefix(bucketName, prefix, true)) {
+                // 删除请求发出前使缓存失效
+                Iterator<String> objectNames = items.map(Item::objectName)
+                        .peek(objectName -> invalidate(bucketName, objectName))
+                        .iterator();
+                RemoveResult result = remover.remove(bucketName, objectNames, listener);
+                // createFolder 创建的目录对象保留了开头的"/"，列举时匹配不到，单独删除
+                String marker = addTail(folderName);
+                if (!marker.equals(prefix)) {
+                    try {
+                        client.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(marker).build());
+                    } finally {
+                        invalidate(bucketName, marker);
+                    }
+                }
+                return result;
+            }
+        });
     }
 
     /**
@@ -427,12 +956,22 @@ public class MinioUtils {
      */
     public void removeFile(String bucketName, String fileName) throws Exception {
         // 掐头
-        fileName = trimHead(fileName);
-        client.removeObject(
-                RemoveObjectArgs.builder()
-                        .bucket(bucketName)
-                        .object(fileName)
-                        .build());
+        String objectName = trimHead(fileName);
+        record("removeFile", bucketName, () -> {
+            try {
+                if (isPacked(bucketName)) {
+                    packStore.remove(bucketName, Collections.singletonList(objectName));
+                }
+                client.removeObject(
+                        RemoveObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .build());
+            } finally {
+                invalidate(bucketName, objectName);
+            }
+            return null;
+        });
     }
 
     /**
@@ -445,41 +984,155 @@ public class MinioUtils {
         List<DeleteObject> objectPaths = filePaths.stream()
                 .map(filePath -> new DeleteObject(filePath))
                 .collect(Collectors.toList());
+        // 删除请求在遍历返回结果时才会发出，这里提前使缓存失效
+        filePaths.forEach(filePath -> invalidate(bucketName, filePath));
+        try {
+            if (isPacked(bucketName)) {
+                packStore.remove(bucketName, filePaths);
+            }
+        } catch (Exception e) {
+            throw new GlobalException("Failed to remove packed objects from [" + bucketName + "]: " + e.getMessage(), e);
+        }
         return client.removeObjects(
                 RemoveObjectsArgs.builder().bucket(bucketName).objects(objectPaths).build());
     }
 
     /**
      * 获取文件外链
+     * <p>外链会被缓存，剩余有效时间足够时直接返回之前签名的外链（见 minio-util.presign 配置）</p>
      * @param bucketName 存储桶
      * @param fileName 文件名
-     * @param expires 过期时间 <=7 秒 （外链有效时间（单位：秒））
+     * @param expires 过期时间 <=7 天 （外链有效时间（单位：秒））
      * @return url
      * @throws Exception
      */
     public String getPresignedObjectUrl(String bucketName, String fileName, Integer expires) throws Exception {
-        GetPresignedObjectUrlArgs args = GetPresignedObjectUrlArgs.builder()
-                .method(Method.GET)
-                .expiry(expires, TimeUnit.SECONDS)
-                .bucket(bucketName)
-                .object(fileName)
-                .build();
-        return client.getPresignedObjectUrl(args);
+        return record("getPresignedObjectUrl", bucketName, () -> {
+            checkNull(bucketName, fileName, expires);
+            return presignedUrlCache.get(new PresignRequest(bucketName, fileName, Method.GET, expires));
+        });
     }
 
     /**
-     * 获得文件外链
+     * 获得文件外链（有效时间 7 天）
      * @param bucketName
      * @param fileName
      * @return url
      * @throws Exception
      */
     public String getPresignedObjectUrl(String bucketName, String fileName) throws Exception {
-        GetPresignedObjectUrlArgs args = GetPresignedObjectUrlArgs.builder()
-                .bucket(bucketName)
-                .object(fileName)
-                .method(Method.GET).build();
-        return client.getPresignedObjectUrl(args);
+        return record("getPresignedObjectUrl", bucketName, () -> {
+            checkNull(bucketName, fileName);
+            return presignedUrlCache.get(new PresignRequest(bucketName, fileName));
+        });
+    }
+
+    /**
+     * 批量获取外链
+     * <p>未命中缓存的请求一次性签名，共用认证信息、签名时间和签名密钥</p>
+     * @param requests 外链请求
+     * @return 与请求一一对应的外链
+     */
+    public List<String> presign(List<PresignRequest> requests) throws Exception {
+        return record("presign", null, () -> {
+            checkNull(requests);
+            return presignedUrlCache.get(requests);
+        });
+    }
+
+    /**
+     * 发起预签名分片上传：创建分片上传任务，并为每个分片生成一个 PUT 外链
+     * <p>客户端直接把分片上传到 minio，应用服务只处理发起、完成、取消这几个很小的请求。
+     * 除最后一片外，每片不能小于 5MB，最多 10000 片。</p>
+     * @param bucketName 存储桶
+     * @param fileName 文件名
+     * @param partCount 分片数量
+     * @param expires 外链有效时间（单位：秒），为空时使用 minio 默认的 7 天
+     * @return 上传会话
+     */
+    public PresignedUploadSession createPresignedUploadSession(String bucketName, String fileName,
+                                                               Integer partCount, Integer expires) throws Exception {
+        return record("createPresignedUploadSession", bucketName, () -> {
+            checkNull(bucketName, fileName, partCount);
+            checkPartRange(1, partCount);
+            String uploadId = client.createMultipartUpload(bucketName, fileName, null);
+            List<String> partUrls = getPresignedPartUrls(bucketName, fileName, uploadId, 1, partCount, expires);
+            metrics.sessionStarted(MinioMetrics.SessionType.PRESIGNED);
+            return new PresignedUploadSession(bucketName, fileName, uploadId, partUrls);
+        });
+    }
+
+    /**
+     * 为已有的预签名上传会话重新生成一批分片外链（例如外链过期后续传）
+     * @param uploadId 上传任务ID
+     * @param startPart 起始分片序号（从1开始）
+     * @param count 外链数量
+     * @param expires 外链有效时间（单位：秒），为空时使用 minio 默认的 7 天
+     * @return 第 i 个地址对应 partNumber = startPart + i
+     */
+    public List<String> getPresignedPartUrls(String bucketName, String fileName, String uploadId,
+                                             Integer startPart, Integer count, Integer expires) throws Exception {
+        return record("getPresignedPartUrls", bucketName, () -> {
+            checkNull(bucketName, fileName, uploadId, startPart, count);
+            checkPartRange(startPart, count);
+            List<String> urls = new ArrayList<>(count);
+            Map<String, String> queryParams = new HashMap<>();
+            queryParams.put("uploadId", uploadId);
+            for (int partNumber = startPart; partNumber < startPart + count; partNumber++) {
+                queryParams.put("partNumber", String.valueOf(partNumber));
+                GetPresignedObjectUrlArgs.Builder builder = GetPresignedObjectUrlArgs.builder()
+                        .method(Method.PUT)
+                        .bucket(bucketName)
+                        .object(fileName)
+                        .extraQueryParams(queryParams);
+                if (expires != null) {
+                    builder.expiry(expires, TimeUnit.SECONDS);
+                }
+                urls.add(client.getPresignedObjectUrl(builder.build()));
+            }
+            return urls;
+        });
+    }
+
+    /**
+     * 完成预签名分片上传
+     * @param uploadId 上传任务ID
+     * @param partETags 分片序号 -> 客户端上传分片后得到的 ETag
+     * @return minio原生对象，记录了文件上传信息
+     */
+    public ObjectWriteResponse completePresignedUpload(String bucketName, String fileName, String uploadId,
+                                                       Map<Integer, String> partETags) throws Exception {
+        return record("completePresignedUpload", bucketName, () -> {
+            checkNull(bucketName, fileName, uploadId, partETags);
+            if (partETags.isEmpty()) {
+                throw new GlobalException("Part ETags must not be empty");
+            }
+            Part[] parts = new TreeMap<>(partETags).entrySet().stream()
+                    .map(e -> new Part(e.getKey(), e.getValue()))
+                    .toArray(Part[]::new);
+            checkPartRange(parts[0].partNumber(), 1);
+            checkPartRange(parts[parts.length - 1].partNumber(), 1);
+            try {
+                ObjectWriteResponse response = client.completeMultipartUpload(bucketName, fileName, uploadId, parts);
+                metrics.sessionCompleted(MinioMetrics.SessionType.PRESIGNED);
+                return response;
+            } finally {
+                invalidate(bucketName, fileName);
+            }
+        });
+    }
+
+    /**
+     * 取消预签名分片上传，服务端会清理已上传的分片
+     * @param uploadId 上传任务ID
+     */
+    public void abortPresignedUpload(String bucketName, String fileName, String uploadId) throws Exception {
+        record("abortPresignedUpload", bucketName, () -> {
+            checkNull(bucketName, fileName, uploadId);
+            client.abortMultipartUpload(bucketName, fileName, uploadId);
+            metrics.sessionAbandoned(MinioMetrics.SessionType.PRESIGNED);
+            return null;
+        });
     }
 
     /**
@@ -493,22 +1146,173 @@ public class MinioUtils {
     }
 
     /**
-     * 通过文件的md5，以及分片文件的索引，构造分片文件的临时存储路径
-     * @param md5 文件md5
-     * @param currIndex 分片文件索引（从0开始）
-     * @param totalPieces 总分片
-     * @return 临时存储路径
+     * 替换分片上传状态的存储实现
      */
-    private String getFileTempPath(String md5, Integer currIndex, Integer totalPieces) {
+    public void setFragmentStateStore(FragmentStateStore fragmentStateStore) {
+        this.fragmentStateStore = fragmentStateStore;
+        this.fragmentBackend = createFragmentBackend();
+    }
+
+    /**
+     * 替换秒传的内容索引实现
+     */
+    public void setContentIndex(ContentIndex contentIndex) {
+        this.contentIndex = contentIndex;
+        this.deduplicator = createDeduplicator();
+    }
+
+    /**
+     * 注册压缩算法（例如 zstd、lz4），可以在压缩规则中按算法名引用，同名的算法会被替换
+     */
+    public void registerCodec(CompressionCodec codec) {
+        compression.register(codec);
+    }
+
+    /**
+     * 设置指标记录的实现（例如 {@link com.wzr.minio.client.metrics.MicrometerMinioMetrics}）
+     */
+    public void setMetrics(MinioMetrics metrics) {
+        this.metrics = metrics == null ? MinioMetrics.NOOP : metrics;
+        this.fragmentBackend = createFragmentBackend();
+    }
+
+    private FragmentBackend createFragmentBackend() {
+        if (fragmentStateStore instanceof InMemoryFragmentStateStore) {
+            // 空闲过期的会话记为放弃
+            ((InMemoryFragmentStateStore) fragmentStateStore).setExpirationListener(
+                    (md5, totalPieces) -> metrics.sessionAbandoned(MinioMetrics.SessionType.FRAGMENT));
+        }
+        // 第一个分片上传成功时记录会话开始
+        FragmentStateStore stateStore = metrics == MinioMetrics.NOOP
+                ? fragmentStateStore : new MeteredFragmentStateStore(fragmentStateStore, metrics);
+        if (fragmentBackendType == MinioProperties.Fragment.Backend.MULTIPART) {
+            return new MultipartFragmentBackend(client, DEFAULT_TEMP_BUCKET_NAME, stateStore, fragmentChecksums);
+        }
+        return new TempBucketFragmentBackend(client, DEFAULT_TEMP_BUCKET_NAME, stateStore,
+                composePlanner, fragmentComposer, fragmentChecksums);
+    }
+
+    private ContentDeduplicator createDeduplicator() {
+        return dedup.isEnabled() ? new ContentDeduplicator(client, contentIndex, dedup.getIndexBucket(),
+                dedup.isRequireStrongHash()) : null;
+    }
+
+    @FunctionalInterface
+    private interface Operation<T, E extends Exception> {
+        T call() throws E;
+    }
 
-        int zeroCnt = countDigits(totalPieces) - countDigits(currIndex);
-        StringBuilder name = new StringBuilder(md5);
-        name.append("/");
-        for (int i = 0; i < zeroCnt; i++) {
-            name.append(0);
+    /**
+     * 执行一次操作并记录耗时和结果
+     */
+    private <T, E extends Exception> T record(String operation, String bucketName,
+                                              Operation<T, E> action) throws E {
+        MinioMetrics.Sample sample = metrics.start(operation, bucketName);
+        T result;
+        try {
+            result = action.call();
+        } catch (Throwable e) {
+            sample.stop(e);
+            throw e;
         }
-        name.append(currIndex);
-        return name.toString();
+        sample.stop(null);
+        return result;
+    }
+
+    /**
+     * 对象被修改或删除后，使各级缓存失效
+     */
+    private void invalidate(String bucketName, String objectName) {
+        metadataCache.invalidate(bucketName, objectName);
+        if (diskCache != null) {
+            diskCache.invalidate(bucketName, objectName);
+        }
+    }
+
+    private DiskObjectCache createDiskCache(MinioProperties.DiskCache disk) {
+        if (!disk.isEnabled()) {
+            return null;
+        }
+        try {
+            return new DiskObjectCache(client, Paths.get(disk.getDirectory()), disk.getMaxSize().toBytes(),
+                    disk.getMaxObjectSize().toBytes(), disk.getRevalidateAfter());
+        } catch (IOException e) {
+            throw new GlobalException("Failed to initialize disk cache in " + disk.getDirectory(), e);
+        }
+    }
+
+    /**
+     * 该桶是否开启了打包存储（见 minio-util.pack），开启时确保打包桶存在
+     */
+    private boolean isPacked(String bucketName) throws Exception {
+        if (packStore == null || !packStore.isPacked(bucketName)) {
+            return false;
+        }
+        bucketCache.createIfAbsent(packStore.getPackBucket());
+        return true;
+    }
+
+    /**
+     * 小对象写入打包存储
+     * @param contentType 为空时根据内容识别
+     */
+    private ObjectWriteResponse uploadPacked(String bucketName, String fileName, byte[] data, int length,
+                                             String contentType) throws Exception {
+        if (contentType == null) {
+            contentType = mimeTypes.forFileName(fileName);
+        }
+        if (contentType == null && sniffContentType) {
+            contentType = MimeTypes.sniff(data, length);
+        }
+        try {
+            String etag = packStore.put(bucketName, fileName, data, length,
+                    contentType == null ? MimeTypes.DEFAULT : contentType);
+            metrics.bytesUploaded(bucketName, length);
+            return new ObjectWriteResponse(new Headers.Builder().build(), bucketName, null, fileName, etag, null);
+        } finally {
+            invalidate(bucketName, fileName);
+        }
+    }
+
+    /**
+     * 对象已单独保存后，删除打包存储中的同名对象，否则读取时仍会读到打包的旧内容
+     */
+    private void unpack(String bucketName, String objectName) throws Exception {
+        if (isPacked(bucketName)) {
+            packStore.remove(bucketName, Collections.singletonList(objectName));
+        }
+    }
+
+    /**
+     * 通过输入流上传对象（不打包），命中压缩规则时边读边压缩，记录实际上传的字节数
+     */
+    private ObjectWriteResponse putStream(String bucketName, String fileName, InputStream in,
+                                          String contentType) throws Exception {
+        CompressionCodec codec = compression.codecFor(fileName, contentType);
+        CountingInputStream counting = new CountingInputStream(
+                codec == null ? in : new CompressingInputStream(in, codec));
+        ObjectWriteResponse response = uploader.uploadStream(bucketName, fileName, counting, contentType,
+                codec == null ? null : compression.headers(codec));
+        unpack(bucketName, fileName);
+        metrics.bytesUploaded(bucketName, counting.getCount());
+        return response;
+    }
+
+    /**
+     * 读取整个对象（不含打包存储），压缩保存的对象自动解压
+     */
+    private InputStream openObject(String bucketName, String fileName) throws Exception {
+        GetObjectResponse response = diskCache != null
+                ? diskCache.get(bucketName, fileName)
+                : client.getObject(GetObjectArgs.builder().bucket(bucketName).object(fileName).build());
+        return compression.decompress(response.headers(), metered(bucketName, response));
+    }
+
+    /**
+     * 下载流关闭时记录读取的字节数
+     */
+    private InputStream metered(String bucketName, InputStream in) {
+        return metrics == MinioMetrics.NOOP ? in : new MeteredInputStream(in, metrics, bucketName);
     }
 
     /**
@@ -529,23 +1333,6 @@ public class MinioUtils {
         return projectPath + "/";
     }
 
-    /**
-     * 获取数值的位数（用于构造临时文件名）
-     * @param number
-     * @return
-     */
-    private static int countDigits(int number) {
-        if (number == 0) {
-            return 1;  // 0 本身有一位
-        }
-        int count = 0;
-        while (number != 0) {
-            number /= 10;
-            count++;
-        }
-        return count;
-    }
-
     private static void checkNull(Object ... objects) {
         for (Object o : objects) {
             if (o == null) {
@@ -557,24 +1344,37 @@ public class MinioUtils {
         }
     }
 
-    /**
-     * 给定一个字符串，返回其"/"符号后面的字符串
-     * @param input
-     * @return
-     */
-    private static String getContentAfterSlash(String input) {
-        if (input == null || input.isEmpty()) {
-            return "";
+    private static void checkIndex(int currIndex, int totalPieces) {
+        if (currIndex < 0 || currIndex >= totalPieces) {
+            throw new GlobalException("Index [" + currIndex + "] out of range [0, " + totalPieces + ")");
         }
-        int slashIndex = input.indexOf("/");
-        if (slashIndex != -1 && slashIndex < input.length() - 1) {
-            return input.substring(slashIndex + 1);
+    }
+
+    private static void checkPartRange(int startPart, int count) {
+        if (startPart < 1 || count < 1 || startPart + count - 1 > ParallelUploader.MAX_PARTS) {
+            throw new GlobalException("Part number out of range [1, " + ParallelUploader.MAX_PARTS + "]");
         }
-        return "";
     }
 
     private static boolean isEmpty(String s) {
         return s == null || "".equals(s.trim());
     }
+
+    /**
+     * 关闭内部线程池（容器销毁Bean时自动调用）
+     */
+    public void shutdown() {
+        transferExecutor.shutdown();
+        listingPool.shutdown();
+        if (client instanceof RoutingMinioClient) {
+            ((RoutingMinioClient) client).shutdown();
+        }
+        if (packStore != null) {
+            packStore.shutdown();
+        }
+        if (diskCache != null) {
+            diskCache.shutdown();
+        }
+    }
     
 }
@@ -0,0 +1,234 @@
+package com.wzr.minio.client;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListPartsResponse;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.credentials.Credentials;
+import io.minio.errors.InvalidResponseException;
+import io.minio.http.Method;
+import io.minio.messages.ListBucketResultV2;
+import io.minio.messages.Part;
+import okhttp3.HttpUrl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 对 MinioClient 的扩展
+ * <p>minio 8.2.x 中分片上传(multipart upload)相关的接口都是 protected 的，这里将其公开，供上传引擎使用。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 10:12
+ */
+public class MultipartMinioClient extends MinioClient {
+
+    private static final Pattern RESPONSE_CODE = Pattern.compile("Response code: (\\d+)");
+
+    public MultipartMinioClient(MinioClient client) {
+        super(client);
+    }
+
+    /**
+     * 初始化一个分片上传任务
+     * @param bucketName 存储桶
+     * @param objectName 对象名
+     * @param contentType 文件类型，可为空
+     * @return uploadId
+     */
+    public String createMultipartUpload(String bucketName, String objectName, String contentType) throws Exception {
+        return createMultipartUpload(bucketName, objectName, contentType, null);
+    }
+
+    /**
+     * 初始化一个分片上传任务
+     * @param contentType 文件类型，可为空
+     * @param userMetadata 自定义元数据（不含 x-amz-meta- 前缀），可为空
+     * @return uploadId
+     */
+    public String createMultipartUpload(String bucketName, String objectName, String contentType,
+                                        Map<String, String> userMetadata) throws Exception {
+        return createMultipartUpload(bucketName, objectName, contentType, userMetadata, null);
+    }
+
+    /**
+     * 初始化一个分片上传任务
+     * @param contentType 文件类型，可为空
+     * @param userMetadata 自定义元数据（不含 x-amz-meta- 前缀），可为空
+     * @param extraHeaders 附加的请求头（例如 Content-Encoding），可为空
+     * @return uploadId
+     */
+    public String createMultipartUpload(String bucketName, String objectName, String contentType,
+                                        Map<String, String> userMetadata,
+                                        Map<String, String> extraHeaders) throws Exception {
+        Multimap<String, String> headers = HashMultimap.create();
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+        if (userMetadata != null) {
+            userMetadata.forEach((key, value) -> headers.put("x-amz-meta-" + key, value));
+        }
+        if (extraHeaders != null) {
+            extraHeaders.forEach(headers::put);
+        }
+        return super.createMultipartUpload(bucketName, null, objectName, headers, null)
+                .result()
+                .uploadId();
+    }
+
+    /**
+     * 上传一个分片
+     * @param data 分片数据，支持 RandomAccessFile(从当前位置读取)、BufferedInputStream、byte[]
+     * @param length 分片长度
+     * @param partNumber 分片序号（从1开始）
+     * @return 分片的 etag
+     */
+    public String uploadPart(String bucketName, String objectName, String uploadId,
+                             int partNumber, Object data, int length) throws Exception {
+        return super.uploadPart(bucketName, null, objectName, data, length, uploadId, partNumber, null, null)
+                .etag();
+    }
+
+    /**
+     * 从已有对象中拷贝一段作为分片（服务端拷贝，数据不经过客户端）
+     * @param srcETag 源对象的 etag，源对象被覆盖时拷贝失败，可为空
+     * @param offset 源对象中的起始位置
+     * @param length 拷贝长度，不超过 5GB
+     * @return 分片的 etag
+     */
+    public String uploadPartCopy(String bucketName, String objectName, String uploadId, int partNumber,
+                                 String srcBucketName, String srcObjectName, String srcETag,
+                                 long offset, long length) throws Exception {
+        Multimap<String, String> headers = HashMultimap.create();
+        headers.put("x-amz-copy-source", encodeCopySource(srcBucketName + "/" + srcObjectName));
+        headers.put("x-amz-copy-source-range", "bytes=" + offset + "-" + (offset + length - 1));
+        if (srcETag != null) {
+            headers.put("x-amz-copy-source-if-match", srcETag);
+        }
+        return super.uploadPartCopy(bucketName, null, objectName, uploadId, partNumber, headers, null)
+                .result()
+                .etag();
+    }
+
+    /**
+     * 完成分片上传，服务端将所有分片合并为最终对象
+     * @param parts 按 partNumber 升序排列的分片
+     */
+    public ObjectWriteResponse completeMultipartUpload(String bucketName, String objectName,
+                                                       String uploadId, Part[] parts) throws Exception {
+        return super.completeMultipartUpload(bucketName, null, objectName, uploadId, parts, null, null);
+    }
+
+    /**
+     * 取消分片上传，服务端会清理已上传的分片
+     */
+    public void abortMultipartUpload(String bucketName, String objectName, String uploadId) throws Exception {
+        super.abortMultipartUpload(bucketName, null, objectName, uploadId, null, null);
+    }
+
+    /**
+     * 列出已上传的全部分片（自动翻页）
+     * @return 按 partNumber 升序排列的分片
+     */
+    public List<Part> listParts(String bucketName, String objectName, String uploadId) throws Exception {
+        List<Part> parts = new ArrayList<>();
+        Integer marker = null;
+        while (true) {
+            ListPartsResponse response = super.listParts(bucketName, null, objectName, 1000, marker, uploadId, null, null);
+            parts.addAll(response.result().partList());
+            if (!response.result().isTruncated()) {
+                return parts;
+            }
+            marker = response.result().nextPartNumberMarker();
+        }
+    }
+
+    /**
+     * 列举一页对象（ListObjectsV2）
+     * @param delimiter 分隔符，为空时递归列举
+     * @param startAfter 从该对象名之后开始列举，可为空
+     * @param continuationToken 上一页返回的续列令牌，可为空
+     * @param maxKeys 每页最多返回的对象数（不超过 1000）
+     */
+    public ListBucketResultV2 listObjectsPage(String bucketName, String prefix, String delimiter, String startAfter,
+                                              String continuationToken, int maxKeys) throws Exception {
+        return super.listObjectsV2(bucketName, null, delimiter, "url", startAfter, maxKeys, prefix,
+                continuationToken, false, false, null, null).result();
+    }
+
+    /**
+     * 条件读取对象（If-None-Match）
+     * @param etag 本地副本的 etag
+     * @return 对象未修改（服务端返回 304，不传输数据）时返回 null
+     */
+    public GetObjectResponse getObjectIfNoneMatch(String bucketName, String objectName, String etag) throws Exception {
+        try {
+            return getObject(GetObjectArgs.builder().bucket(bucketName).object(objectName).notMatchETag(etag).build());
+        } catch (InvalidResponseException e) {
+            if (responseCode(e) == 304) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 非 XML 错误响应的状态码
+     * <p>minio 8.2.x 把 304、网关返回的 5xx 页面等"非 XML 的错误响应"抛出为 InvalidResponseException，
+     * 异常中没有单独的状态码字段，只能从异常信息（"Response code: 502, ..."）中解析。</p>
+     * @return 无法解析时返回 -1
+     */
+    static int responseCode(InvalidResponseException e) {
+        Matcher matcher = e.getMessage() == null ? null : RESPONSE_CODE.matcher(e.getMessage());
+        return matcher != null && matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * 获取存储桶所在的区域（minio 内部有缓存）
+     */
+    public String regionOf(String bucketName) throws Exception {
+        return super.getRegion(bucketName, null);
+    }
+
+    /**
+     * 构造对象的请求地址（按配置使用 path-style 或 virtual-host-style），未签名
+     * @param queryParams 附加的查询参数，可为空
+     */
+    public HttpUrl objectUrl(Method method, String bucketName, String objectName, String region,
+                             Multimap<String, String> queryParams) throws Exception {
+        return super.buildUrl(method, bucketName, objectName, region,
+                queryParams == null ? HashMultimap.create() : queryParams);
+    }
+
+    /**
+     * 获取当前的认证信息，匿名访问时返回 null
+     */
+    public Credentials credentials() {
+        return provider == null ? null : provider.fetch();
+    }
+
+    /**
+     * 按 x-amz-copy-source 的要求编码 "桶/对象名"：除 "/" 与非保留字符外全部百分号编码
+     */
+    private static String encodeCopySource(String path) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : path.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || c == '/') {
+                sb.append(c);
+            } else {
+                sb.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return sb.toString();
+    }
+
+}
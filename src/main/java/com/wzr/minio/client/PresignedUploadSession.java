@@ -0,0 +1,46 @@
+package com.wzr.minio.client;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 预签名分片上传会话
+ * <p>客户端按顺序用 PUT 请求把每个分片直接上传到对应的 URL，记录响应头中的 ETag，全部上传后再提交给服务端完成合并。</p>
+ * @author wzr
+ * @date 2026-10-16 16:05
+ */
+@Data
+public class PresignedUploadSession {
+
+    /**
+     * 存储桶
+     */
+    private String bucketName;
+
+    /**
+     * 对象名
+     */
+    private String objectName;
+
+    /**
+     * 分片上传任务ID，完成或取消上传时需要传回
+     */
+    private String uploadId;
+
+    /**
+     * 分片上传地址，第 i 个地址对应 partNumber = i + 1
+     */
+    private List<String> partUrls;
+
+    public PresignedUploadSession() {
+
+    }
+
+    public PresignedUploadSession(String bucketName, String objectName, String uploadId, List<String> partUrls) {
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.uploadId = uploadId;
+        this.partUrls = partUrls;
+    }
+}
@@ -0,0 +1,247 @@
+package com.wzr.minio.client;
+
+import com.google.common.collect.Multimap;
+import com.wzr.minio.config.GlobalException;
+import com.wzr.minio.config.MinioProperties;
+import com.wzr.minio.config.NamedThreadFactory;
+import io.minio.MinioClient;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.InsufficientDataException;
+import io.minio.errors.InternalException;
+import io.minio.errors.InvalidResponseException;
+import io.minio.errors.ServerException;
+import io.minio.errors.XmlParserException;
+import io.minio.http.Method;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 多节点的 MinioClient：把请求分发到多个 minio 节点（同一个分布式集群的不同节点，数据是共享的）
+ * <p>minio 的所有请求最终都经过 S3Base#execute，这里重写该方法，按在途请求数或延迟的指数移动平均选择节点，
+ * 其余逻辑（签名、解析响应等）不变。</p>
+ * <p>请求失败（网络异常或 5xx）的节点会被摘除一段时间；后台定期探测各节点的健康检查接口，
+ * 探测失败同样摘除，探测成功立即恢复。所有节点都被摘除时，仍然在全部节点中选择。
+ * GET、HEAD 请求失败时会换一个节点重试，其他请求不重试（请求体可能已被读取）。</p>
+ * <p>外链签名使用第一个节点的地址。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 23:30
+ */
+public class RoutingMinioClient extends MultipartMinioClient {
+
+    private static final Log log = LogFactory.getLog(RoutingMinioClient.class);
+
+    /** 延迟 EWMA 的平滑系数 */
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final List<Node> nodes;
+
+    private final MinioProperties.Routing routing;
+
+    private final OkHttpClient probeClient;
+
+    private final ScheduledExecutorService prober;
+
+    /** 在途请求数相同时轮流选择 */
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * @param clients 每个节点一个客户端，认证信息应当相同
+     * @param httpClient 用于健康检查的 HTTP 客户端
+     */
+    public RoutingMinioClient(List<MinioClient> clients, OkHttpClient httpClient, MinioProperties.Routing routing) {
+        super(clients.get(0));
+        this.routing = routing;
+        this.nodes = new ArrayList<>(clients.size());
+        for (MinioClient client : clients) {
+            nodes.add(new Node(client));
+        }
+        long timeout = routing.getHealthCheckTimeout().toMillis();
+        this.probeClient = httpClient.newBuilder()
+                .connectTimeout(timeout, TimeUnit.MILLISECONDS)
+                .readTimeout(timeout, TimeUnit.MILLISECONDS)
+                .build();
+        long interval = routing.getHealthCheckInterval().toMillis();
+        if (interval > 0) {
+            this.prober = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("minio-health"));
+            prober.scheduleWithFixedDelay(this::probe, 0, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.prober = null;
+        }
+    }
+
+    @Override
+    protected Response execute(Method method, String bucketName, String objectName, String region,
+                               Headers headers, Multimap<String, String> queryParamMap, Object body, int length)
+            throws ErrorResponseException, InsufficientDataException, InternalException, InvalidKeyException,
+            InvalidResponseException, IOException, NoSuchAlgorithmException, ServerException, XmlParserException {
+        boolean retryable = routing.isFailover() && (method == Method.GET || method == Method.HEAD);
+        List<Node> tried = new ArrayList<>(1);
+        while (true) {
+            Node node = choose(tried);
+            tried.add(node);
+            node.inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                Response response = node.send(method, bucketName, objectName, region, headers, queryParamMap,
+                        body, length);
+                node.recordLatency(System.nanoTime() - start);
+                return response;
+            } catch (IOException | ServerException | ErrorResponseException | InvalidResponseException e) {
+                if (!isNodeFailure(e)) {
+                    node.recordLatency(System.nanoTime() - start);
+                    throw e;
+                }
+                eject(node, e);
+                if (!retryable || tried.size() >= nodes.size()) {
+                    throw e;
+                }
+            } finally {
+                node.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 选择节点：跳过已尝试的节点，优先选择未被摘除的节点
+     */
+    private Node choose(List<Node> tried) {
+        long now = System.nanoTime();
+        Node best = null;
+        boolean bestAvailable = false;
+        double bestScore = 0;
+        int offset = Math.floorMod(cursor.getAndIncrement(), nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get((offset + i) % nodes.size());
+            if (tried.contains(node)) {
+                continue;
+            }
+            boolean available = node.ejectedUntil.get() - now <= 0;
+            double score = score(node);
+            if (best == null || (available && !bestAvailable) || (available == bestAvailable && score < bestScore)) {
+                best = node;
+                bestAvailable = available;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private double score(Node node) {
+        int inFlight = node.inFlight.get();
+        if (routing.getStrategy() == MinioProperties.Routing.Strategy.LATENCY_EWMA) {
+            // 按当前负载放大延迟，避免所有请求都涌向最快的节点
+            return Double.longBitsToDouble(node.latencyEwma.get()) * (inFlight + 1);
+        }
+        return inFlight;
+    }
+
+    /**
+     * 连接失败、超时、5xx（包括负载均衡、网关返回的非 XML 错误页）视为节点故障；4xx、304 等与节点无关
+     */
+    private static boolean isNodeFailure(Exception e) {
+        if (e instanceof ErrorResponseException) {
+            Response response = ((ErrorResponseException) e).response();
+            return response != null && response.code() >= 500;
+        }
+        if (e instanceof InvalidResponseException) {
+            return responseCode((InvalidResponseException) e) >= 500;
+        }
+        return true;
+    }
+
+    private void eject(Node node, Exception e) {
+        long until = System.nanoTime() + routing.getEjectDuration().toNanos();
+        if (node.ejectedUntil.getAndSet(until) - System.nanoTime() <= 0) {
+            log.warn("[minio-starter] Endpoint " + node.baseUrl() + " ejected for "
+                    + routing.getEjectDuration().getSeconds() + "s: " + e);
+        }
+    }
+
+    /**
+     * 探测所有节点的健康检查接口
+     */
+    private void probe() {
+        for (Node node : nodes) {
+            Request request = new Request.Builder()
+                    .url(node.baseUrl().newBuilder().encodedPath(routing.getHealthCheckPath()).build())
+                    .get()
+                    .build();
+            try (Response response = probeClient.newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    throw new GlobalException("health check returned HTTP " + response.code());
+                }
+                if (node.ejectedUntil.getAndSet(System.nanoTime()) - System.nanoTime() > 0) {
+                    log.info("[minio-starter] Endpoint " + node.baseUrl() + " is healthy again");
+                }
+            } catch (Exception e) {
+                eject(node, e);
+            }
+        }
+    }
+
+    /**
+     * 停止健康检查
+     */
+    public void shutdown() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    /**
+     * 一个节点，负责实际发送请求
+     */
+    private static final class Node extends MultipartMinioClient {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        /** 延迟（纳秒）的 EWMA，以 double 的位模式保存 */
+        final AtomicLong latencyEwma = new AtomicLong(Double.doubleToLongBits(0));
+
+        /** 摘除到该时刻（System.nanoTime）为止 */
+        final AtomicLong ejectedUntil = new AtomicLong(System.nanoTime());
+
+        Node(MinioClient client) {
+            super(client);
+        }
+
+        Response send(Method method, String bucketName, String objectName, String region, Headers headers,
+                      Multimap<String, String> queryParamMap, Object body, int length) throws ErrorResponseException,
+                InsufficientDataException, InternalException, InvalidKeyException, InvalidResponseException,
+                IOException, NoSuchAlgorithmException, ServerException, XmlParserException {
+            return super.execute(method, bucketName, objectName, region, headers, queryParamMap, body, length);
+        }
+
+        HttpUrl baseUrl() {
+            return baseUrl;
+        }
+
+        void recordLatency(long nanos) {
+            while (true) {
+                long bits = latencyEwma.get();
+                double current = Double.longBitsToDouble(bits);
+                double next = current == 0 ? nanos : current + EWMA_ALPHA * (nanos - current);
+                if (latencyEwma.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    return;
+                }
+            }
+        }
+    }
+}
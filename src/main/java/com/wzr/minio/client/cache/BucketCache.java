@@ -0,0 +1,124 @@
+package com.wzr.minio.client.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Striped;
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Bucket;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 存储桶信息缓存
+ * <p>缓存 bucketExists 的结果以及 listBuckets 的结果，过期时间由 minio-util.bucket-cache-ttl 配置。
+ * 同一个 key 同时未命中时只会发出一次请求，其余线程等待该请求的结果。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 17:40
+ */
+public class BucketCache {
+
+    /** listBuckets 结果只有一份，用固定的 key 存放 */
+    private static final String ALL_BUCKETS = "";
+
+    private final LoadingCache<String, Boolean> exists;
+
+    private final LoadingCache<String, Map<String, Bucket>> buckets;
+
+    private final Striped<Lock> createLocks = Striped.lock(64);
+
+    private final MinioClient client;
+
+    public BucketCache(MinioClient client, Duration ttl) {
+        this.client = client;
+        long ttlMillis = ttl.toMillis();
+        this.exists = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .build(new CacheLoader<String, Boolean>() {
+                    @Override
+                    public Boolean load(String bucketName) throws Exception {
+                        return client.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
+                    }
+                });
+        this.buckets = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .build(new CacheLoader<String, Map<String, Bucket>>() {
+                    @Override
+                    public Map<String, Bucket> load(String key) throws Exception {
+                        Map<String, Bucket> map = new LinkedHashMap<>();
+                        for (Bucket bucket : client.listBuckets()) {
+                            map.put(bucket.name(), bucket);
+                        }
+                        return Collections.unmodifiableMap(map);
+                    }
+                });
+    }
+
+    /**
+     * 判断存储桶是否存在
+     */
+    public boolean exists(String bucketName) throws Exception {
+        return get(exists, bucketName);
+    }
+
+    /**
+     * 获取全部存储桶，桶名 -> 桶信息
+     */
+    public Map<String, Bucket> buckets() throws Exception {
+        return get(buckets, ALL_BUCKETS);
+    }
+
+    /**
+     * 存储桶不存在时创建该桶。同一个桶同时只有一个线程会发出创建请求
+     */
+    public void createIfAbsent(String bucketName) throws Exception {
+        if (exists(bucketName)) {
+            return;
+        }
+        Lock lock = createLocks.get(bucketName);
+        lock.lock();
+        try {
+            if (exists(bucketName)) {
+                return;
+            }
+            try {
+                client.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+            } catch (ErrorResponseException e) {
+                // 缓存过期前桶可能已被其他实例创建
+                if (!"BucketAlreadyOwnedByYou".equals(e.errorResponse().code())) {
+                    throw e;
+                }
+            }
+            exists.put(bucketName, Boolean.TRUE);
+            buckets.invalidateAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        exists.invalidateAll();
+        buckets.invalidateAll();
+    }
+
+    private static <K, V> V get(LoadingCache<K, V> cache, K key) throws Exception {
+        try {
+            return cache.get(key);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+}
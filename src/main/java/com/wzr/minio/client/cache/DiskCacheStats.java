@@ -0,0 +1,57 @@
+package com.wzr.minio.client.cache;
+
+import lombok.Data;
+
+/**
+ * 本地磁盘缓存的命中统计
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+@Data
+public class DiskCacheStats {
+
+    /**
+     * 命中次数（直接读取本地文件，不请求服务端）
+     */
+    private long hitCount;
+
+    /**
+     * 条件请求返回 304 的次数（只请求了服务端，没有传输对象内容）
+     */
+    private long revalidatedCount;
+
+    /**
+     * 从服务端读取对象内容的次数
+     */
+    private long missCount;
+
+    /**
+     * 当前缓存的对象数
+     */
+    private long size;
+
+    /**
+     * 当前缓存文件的总大小（字节）
+     */
+    private long bytes;
+
+    public DiskCacheStats() {
+
+    }
+
+    public DiskCacheStats(long hitCount, long revalidatedCount, long missCount, long size, long bytes) {
+        this.hitCount = hitCount;
+        this.revalidatedCount = revalidatedCount;
+        this.missCount = missCount;
+        this.size = size;
+        this.bytes = bytes;
+    }
+
+    /**
+     * 命中率（含 304），没有请求时为 0
+     */
+    public double getHitRate() {
+        long total = hitCount + revalidatedCount + missCount;
+        return total == 0 ? 0 : (double) (hitCount + revalidatedCount) / total;
+    }
+}
@@ -0,0 +1,417 @@
+package com.wzr.minio.client.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.io.ByteStreams;
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.config.GlobalException;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import okhttp3.Headers;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热点对象的本地磁盘缓存（读穿透）
+ * <p>按 桶名/对象名 缓存对象内容，记录对应的 etag；缓存文件的总大小超过 maxSize 时按最近最少使用淘汰，
+ * 超过 maxObjectSize（或长度未知）的对象不缓存。</p>
+ * <p>缓存写入超过 revalidateAfter 后，下一次读取先发出带 If-None-Match 的条件请求，
+ * 服务端返回 304 时继续使用本地文件，否则用新内容替换。命中时通过 FileChannel 读取本地文件。</p>
+ * <p>同一个对象同时未命中（或同时需要重新校验）时，只有一个线程请求服务端，其余线程等待其结果。</p>
+ * <p>本组件自身的写操作会使对应条目失效。每个实例在缓存目录下创建自己的子目录（cache-*），并在其中持有 .lock 文件的锁，
+ * 只读写自己子目录中的文件；启动时只清理锁已释放（所属进程已退出）的子目录，不会删除其他实例或其他程序的文件。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 23:50
+ */
+public class DiskObjectCache {
+
+    private static final Log log = LogFactory.getLog(DiskObjectCache.class);
+
+    private static final String FILE_SUFFIX = ".cache";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String INSTANCE_PREFIX = "cache-";
+
+    private static final String LOCK_FILE = ".lock";
+
+    private final MultipartMinioClient client;
+
+    /** 本实例的子目录 */
+    private final Path directory;
+
+    /** 持有子目录中 .lock 文件的锁，进程退出时自动释放 */
+    private final FileChannel lock;
+
+    private final long maxObjectSize;
+
+    private final long revalidateAfterNanos;
+
+    private final Cache<String, Entry> cache;
+
+    /** 正在从服务端加载的对象 */
+    private final ConcurrentMap<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder revalidations = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public DiskObjectCache(MultipartMinioClient client, Path directory, long maxSize, long maxObjectSize,
+                           Duration revalidateAfter) throws IOException {
+        this.client = client;
+        Files.createDirectories(directory);
+        cleanAbandoned(directory);
+        Path instance;
+        FileChannel lock;
+        do {
+            instance = Files.createTempDirectory(directory, INSTANCE_PREFIX);
+            lock = lock(instance);
+        } while (lock == null);
+        this.directory = instance;
+        this.lock = lock;
+        this.maxObjectSize = Math.min(maxObjectSize, maxSize);
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+        // 只有一个分段，按总大小严格淘汰
+        this.cache = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maxSize)
+                .weigher((String key, Entry entry) -> (int) Math.min(entry.size, Integer.MAX_VALUE))
+                .removalListener((RemovalListener<String, Entry>) notification -> {
+                    Entry entry = notification.getValue();
+                    bytes.addAndGet(-entry.size);
+                    entry.delete();
+                })
+                .build();
+    }
+
+    /**
+     * 读取整个对象
+     * <p>命中时返回的响应头是写入缓存时服务端返回的响应头</p>
+     */
+    public GetObjectResponse get(String bucketName, String objectName) throws Exception {
+        String key = key(bucketName, objectName);
+        while (true) {
+            Result result = lookup(key, bucketName, objectName);
+            if (result.response != null) {
+                return result.response;
+            }
+            GetObjectResponse response = result.entry.open(key, bucketName, objectName, 0, result.entry.size);
+            if (response != null) {
+                return response;
+            }
+        }
+    }
+
+    /**
+     * 读取对象的一部分
+     * <p>已缓存的对象从本地文件读取；未缓存的对象直接请求服务端，不会因为区间读取而缓存整个对象。</p>
+     */
+    public GetObjectResponse get(String bucketName, String objectName, long offset, long length) throws Exception {
+        String key = key(bucketName, objectName);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            Result result = entry.isFresh(revalidateAfterNanos) ? hit(entry) : lookup(key, bucketName, objectName);
+            if (result.response != null) {
+                result.response.close();
+            } else {
+                GetObjectResponse response = result.entry.open(key, bucketName, objectName, offset, length);
+                if (response != null) {
+                    return response;
+                }
+            }
+        }
+        return client.getObject(GetObjectArgs.builder()
+                .bucket(bucketName).object(objectName).offset(offset).length(length).build());
+    }
+
+    /**
+     * 对象被修改或删除后调用
+     */
+    public void invalidate(String bucketName, String objectName) {
+        cache.invalidate(key(bucketName, objectName));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 删除本实例的缓存文件和子目录
+     */
+    public void shutdown() {
+        cache.invalidateAll();
+        try {
+            lock.close();
+            Files.deleteIfExists(directory.resolve(LOCK_FILE));
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.warn("[minio-starter] Failed to remove cache directory " + directory + ": " + e);
+        }
+    }
+
+    /**
+     * 缓存命中统计
+     */
+    public DiskCacheStats stats() {
+        return new DiskCacheStats(hits.sum(), revalidations.sum(), misses.sum(), cache.size(), bytes.get());
+    }
+
+    private Result hit(Entry entry) {
+        hits.increment();
+        return new Result(entry, null);
+    }
+
+    private Result lookup(String key, String bucketName, String objectName) throws Exception {
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh(revalidateAfterNanos)) {
+            return hit(cached);
+        }
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            Entry entry = await(existing);
+            if (entry != null) {
+                return hit(entry);
+            }
+            // 对象不适合缓存，各自请求服务端
+            return new Result(null, client.getObject(
+                    GetObjectArgs.builder().bucket(bucketName).object(objectName).build()));
+        }
+        try {
+            Result result = load(key, bucketName, objectName, cached);
+            future.complete(result.entry);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private Result load(String key, String bucketName, String objectName, Entry cached) throws Exception {
+        GetObjectResponse response;
+        try {
+            response = cached == null
+                    ? client.getObject(GetObjectArgs.builder().bucket(bucketName).object(objectName).build())
+                    : client.getObjectIfNoneMatch(bucketName, objectName, cached.etag);
+        } catch (ErrorResponseException e) {
+            if (ObjectMetadataCache.isNotFound(e)) {
+                cache.invalidate(key);
+            }
+            throw e;
+        }
+        if (response == null) {
+            revalidations.increment();
+            cached.validatedAt = System.nanoTime();
+            return new Result(cached, null);
+        }
+        misses.increment();
+        String etag = response.headers().get("ETag");
+        long size = contentLength(response);
+        if (etag == null || size < 0 || size > maxObjectSize) {
+            cache.invalidate(key);
+            return new Result(null, response);
+        }
+        Entry entry = new Entry(etag, response.headers(), write(response, size), size);
+        bytes.addAndGet(size);
+        cache.put(key, entry);
+        return new Result(entry, null);
+    }
+
+    /**
+     * 写入临时文件后再改名，读取方不会看到写了一半的文件
+     */
+    private Path write(GetObjectResponse response, long size) throws IOException {
+        String name = UUID.randomUUID().toString();
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        try {
+            long written;
+            try (InputStream in = response; OutputStream out = Files.newOutputStream(temp)) {
+                written = ByteStreams.copy(in, out);
+            }
+            if (written != size) {
+                throw new GlobalException("Object length mismatch, expected " + size + " but read " + written);
+            }
+            return Files.move(temp, directory.resolve(name + FILE_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static long contentLength(GetObjectResponse response) {
+        String value = response.headers().get("Content-Length");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Entry await(CompletableFuture<Entry> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * 锁定子目录
+     * @return 锁定的文件；子目录正在被其他实例清理时返回 null
+     */
+    private static FileChannel lock(Path instance) throws IOException {
+        Path path = instance.resolve(LOCK_FILE);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // 加锁前文件可能已被清理的实例删除
+        if (tryLock(channel) && Files.exists(path)) {
+            return channel;
+        }
+        channel.close();
+        return null;
+    }
+
+    private static boolean tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            // 同一进程中的其他实例持有锁
+            return false;
+        }
+    }
+
+    /**
+     * 删除已退出的实例留下的子目录：子目录中的锁能被锁定时，所属进程已经退出
+     */
+    private static void cleanAbandoned(Path directory) throws IOException {
+        try (DirectoryStream<Path> instances = Files.newDirectoryStream(directory, INSTANCE_PREFIX + "*")) {
+            for (Path instance : instances) {
+                Path path = instance.resolve(LOCK_FILE);
+                if (!Files.isDirectory(instance) || !Files.exists(path)) {
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    if (!tryLock(channel)) {
+                        continue;
+                    }
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(instance,
+                            "*{" + FILE_SUFFIX + "," + TEMP_SUFFIX + "}")) {
+                        for (Path file : files) {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                    Files.deleteIfExists(path);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(instance);
+                } catch (DirectoryNotEmptyException e) {
+                    log.warn("[minio-starter] Cache directory " + instance + " contains unknown files, keeping it");
+                }
+            }
+        }
+    }
+
+    private static String key(String bucketName, String objectName) {
+        return bucketName + "/" + objectName;
+    }
+
+    private static class Result {
+
+        private final Entry entry;
+
+        /** 不缓存时直接返回服务端的响应 */
+        private final GetObjectResponse response;
+
+        Result(Entry entry, GetObjectResponse response) {
+            this.entry = entry;
+            this.response = response;
+        }
+    }
+
+    private class Entry {
+
+        private final String etag;
+
+        private final Headers headers;
+
+        private final Path path;
+
+        private final long size;
+
+        private volatile long validatedAt = System.nanoTime();
+
+        Entry(String etag, Headers headers, Path path, long size) {
+            this.etag = etag;
+            this.headers = headers;
+            this.path = path;
+            this.size = size;
+        }
+
+        boolean isFresh(long revalidateAfterNanos) {
+            return System.nanoTime() - validatedAt < revalidateAfterNanos;
+        }
+
+        /**
+         * 打开本地文件，文件已被淘汰时返回 null（已打开的文件被删除后仍然可以读完）
+         */
+        GetObjectResponse open(String key, String bucketName, String objectName,
+                               long offset, long length) throws IOException {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                cache.asMap().remove(key, this);
+                return null;
+            }
+            channel.position(offset);
+            return new GetObjectResponse(headers, bucketName, null, objectName,
+                    ByteStreams.limit(Channels.newInputStream(channel), length));
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("[minio-starter] Failed to delete cache file " + path + ": " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.wzr.minio.client.cache;
+
+import lombok.Data;
+
+/**
+ * 对象元数据缓存的命中统计
+ * @author wzr
+ * @date 2026-10-16 18:10
+ */
+@Data
+public class MetadataCacheStats {
+
+    /**
+     * 命中次数（每次命中都省去一次 HEAD 请求）
+     */
+    private long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private long missCount;
+
+    /**
+     * 当前缓存的条目数
+     */
+    private long size;
+
+    public MetadataCacheStats() {
+
+    }
+
+    public MetadataCacheStats(long hitCount, long missCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.size = size;
+    }
+
+    /**
+     * 命中率，没有请求时为 0
+     */
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
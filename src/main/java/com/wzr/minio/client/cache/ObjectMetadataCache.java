@@ -0,0 +1,148 @@
+package com.wzr.minio.client.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对象元数据（statObject 结果）缓存
+ * <p>按 桶名/对象名 缓存，超过最大条目数时按最近最少使用淘汰。对象不存在的结果也会被缓存，但有效期更短（negativeTtl）。
+ * 本组件自身的写操作（上传、拷贝、删除、合并）会使对应条目失效；其他客户端的修改在 ttl 内可能读不到。</p>
+ * <p>同一个对象同时未命中时只会发出一次 HEAD 请求。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 18:10
+ */
+public class ObjectMetadataCache {
+
+    private final MinioClient client;
+
+    private final Cache<String, Entry> cache;
+
+    private final long negativeTtlNanos;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public ObjectMetadataCache(MinioClient client, long maximumSize, Duration ttl, Duration negativeTtl) {
+        this.client = client;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    /**
+     * 获取对象信息
+     * @return 对象信息，对象不存在时返回 null
+     */
+    public StatObjectResponse get(String bucketName, String objectName) throws Exception {
+        return lookup(bucketName, objectName).stat;
+    }
+
+    /**
+     * 获取对象信息，对象不存在时抛出服务端返回的异常（与直接调用 statObject 一致）
+     */
+    public StatObjectResponse getOrThrow(String bucketName, String objectName) throws Exception {
+        Entry entry = lookup(bucketName, objectName);
+        if (entry.notFound != null) {
+            throw entry.notFound;
+        }
+        return entry.stat;
+    }
+
+    /**
+     * 对象被修改或删除后调用
+     */
+    public void invalidate(String bucketName, String objectName) {
+        cache.invalidate(key(bucketName, objectName));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 缓存命中统计
+     */
+    public MetadataCacheStats stats() {
+        return new MetadataCacheStats(hits.sum(), misses.sum(), cache.size());
+    }
+
+    private Entry lookup(String bucketName, String objectName) throws Exception {
+        String key = key(bucketName, objectName);
+        while (true) {
+            Entry cached = cache.getIfPresent(key);
+            if (cached != null) {
+                if (!cached.isExpired(negativeTtlNanos)) {
+                    hits.increment();
+                    return cached;
+                }
+                // 不存在的结果已过期，重新加载
+                cache.asMap().remove(key, cached);
+                continue;
+            }
+            misses.increment();
+            try {
+                return cache.get(key, () -> load(bucketName, objectName));
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+    }
+
+    private Entry load(String bucketName, String objectName) throws Exception {
+        try {
+            return new Entry(client.statObject(
+                    StatObjectArgs.builder().bucket(bucketName).object(objectName).build()), null);
+        } catch (ErrorResponseException e) {
+            if (isNotFound(e)) {
+                return new Entry(null, e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 是否是"对象不存在"类的错误
+     */
+    public static boolean isNotFound(ErrorResponseException e) {
+        String code = e.errorResponse().code();
+        return "NoSuchKey".equals(code) || "NoSuchObject".equals(code) || "NoSuchBucket".equals(code);
+    }
+
+    private static String key(String bucketName, String objectName) {
+        return bucketName + "/" + objectName;
+    }
+
+    private static class Entry {
+
+        private final StatObjectResponse stat;
+
+        private final ErrorResponseException notFound;
+
+        private final long createdAt = System.nanoTime();
+
+        Entry(StatObjectResponse stat, ErrorResponseException notFound) {
+            this.stat = stat;
+            this.notFound = notFound;
+        }
+
+        boolean isExpired(long negativeTtlNanos) {
+            return notFound != null && System.nanoTime() - createdAt >= negativeTtlNanos;
+        }
+    }
+}
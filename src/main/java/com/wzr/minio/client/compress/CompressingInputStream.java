@@ -0,0 +1,102 @@
+package com.wzr.minio.client.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 读取时压缩的输入流
+ * <p>每次从原始流读取一块数据，经压缩算法写入内部缓冲区，再从缓冲区读出；缓冲区只保存一块数据的压缩结果，
+ * 不使用额外的线程和临时文件。关闭时同时关闭原始流。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 02:30
+ */
+public class CompressingInputStream extends InputStream {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final InputStream source;
+
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    private final Buffer buffer = new Buffer();
+
+    private final OutputStream compressor;
+
+    private int position;
+
+    private boolean finished;
+
+    public CompressingInputStream(InputStream source, CompressionCodec codec) throws IOException {
+        this.source = source;
+        this.compressor = codec.compress(buffer);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (position == buffer.size()) {
+            if (finished) {
+                return -1;
+            }
+            fill();
+        }
+        int n = Math.min(len, buffer.size() - position);
+        System.arraycopy(buffer.bytes(), position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return buffer.size() - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!finished) {
+                finished = true;
+                compressor.close();
+            }
+        } finally {
+            source.close();
+        }
+    }
+
+    /**
+     * 压缩下一块数据；压缩算法内部有缓冲时，本次可能没有输出
+     */
+    private void fill() throws IOException {
+        buffer.reset();
+        position = 0;
+        int n = source.read(chunk);
+        if (n < 0) {
+            finished = true;
+            compressor.close();
+        } else {
+            compressor.write(chunk, 0, n);
+        }
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(CHUNK_SIZE);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
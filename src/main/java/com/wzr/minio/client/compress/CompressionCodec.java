@@ -0,0 +1,39 @@
+package com.wzr.minio.client.compress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 压缩算法（SPI）
+ * <p>内置 {@link GzipCodec}；zstd、lz4 等算法可以基于对应的压缩库实现本接口，注册为 Spring Bean 后按 {@link #name()}
+ * 在压缩规则（见 minio-util.compression.rules）中引用。对象使用的算法名记录在用户元数据中，读取时据此解压，
+ * 因此算法名一经使用就不能再修改。实现类必须是线程安全的。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 02:30
+ */
+public interface CompressionCodec {
+
+    /**
+     * 算法名，记录在对象的用户元数据中
+     */
+    String name();
+
+    /**
+     * 对应的 HTTP Content-Encoding（例如 gzip），浏览器通过外链下载时可以自动解压；没有标准取值时返回 null
+     */
+    default String contentEncoding() {
+        return null;
+    }
+
+    /**
+     * 包装输出流，写入的数据压缩后写入 out；关闭返回的流时写完剩余数据并关闭 out
+     */
+    OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * 包装输入流，读取时解压 in 中的数据；关闭返回的流时关闭 in
+     */
+    InputStream decompress(InputStream in) throws IOException;
+}
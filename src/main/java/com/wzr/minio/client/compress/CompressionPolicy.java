@@ -0,0 +1,148 @@
+package com.wzr.minio.client.compress;
+
+import com.wzr.minio.config.GlobalException;
+import com.wzr.minio.config.MinioProperties;
+import okhttp3.Headers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 传输压缩策略
+ * <p>上传时按对象名前缀和 Content-Type 匹配压缩规则（见 minio-util.compression），命中的对象在上传过程中流式压缩，
+ * 使用的算法名记录在用户元数据 {@link #METADATA_KEY} 中。读取时根据该元数据选择算法解压，
+ * 没有该元数据的对象原样返回，因此关闭压缩后，已压缩的对象仍然可以正常读取。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 02:30
+ */
+public class CompressionPolicy {
+
+    /** 记录压缩算法的用户元数据（不含 x-amz-meta- 前缀） */
+    public static final String METADATA_KEY = "compression";
+
+    private static final String METADATA_HEADER = "x-amz-meta-" + METADATA_KEY;
+
+    /** 规则中表示不压缩的算法名 */
+    private static final String NONE = "none";
+
+    private final boolean enabled;
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    private final Map<String, CompressionCodec> codecs = new ConcurrentHashMap<>();
+
+    public CompressionPolicy(MinioProperties.Compression properties) {
+        this.enabled = properties.isEnabled();
+        for (MinioProperties.Compression.Rule rule : properties.getRules()) {
+            rules.add(new Rule(rule));
+        }
+        register(new GzipCodec(properties.getGzipLevel()));
+    }
+
+    /**
+     * 注册压缩算法，同名的算法会被替换
+     */
+    public void register(CompressionCodec codec) {
+        codecs.put(codec.name(), codec);
+    }
+
+    /**
+     * 上传时使用的压缩算法
+     * @param contentType 可为空
+     * @return 不压缩时返回 null
+     */
+    public CompressionCodec codecFor(String objectName, String contentType) {
+        if (!enabled) {
+            return null;
+        }
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        for (Rule rule : rules) {
+            if (rule.matches(objectName, type)) {
+                return NONE.equals(rule.codec) ? null : codec(rule.codec);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 压缩上传时需要附加的请求头：记录算法的用户元数据，以及 Content-Encoding（算法有对应的取值时）
+     */
+    public Map<String, String> headers(CompressionCodec codec) {
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put(METADATA_HEADER, codec.name());
+        if (codec.contentEncoding() != null) {
+            headers.put("Content-Encoding", codec.contentEncoding());
+        }
+        return headers;
+    }
+
+    /**
+     * 对象是否压缩保存
+     * @param headers 对象的响应头
+     */
+    public boolean isCompressed(Headers headers) {
+        return headers.get(METADATA_HEADER) != null;
+    }
+
+    /**
+     * 对象使用的压缩算法
+     * @param headers 对象的响应头
+     * @return 未压缩时返回 null
+     */
+    public CompressionCodec codecOf(Headers headers) {
+        String name = headers.get(METADATA_HEADER);
+        return name == null ? null : codec(name);
+    }
+
+    /**
+     * 根据对象的响应头解压，未压缩的对象原样返回
+     */
+    public InputStream decompress(Headers headers, InputStream in) throws IOException {
+        try {
+            CompressionCodec codec = codecOf(headers);
+            return codec == null ? in : codec.decompress(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private CompressionCodec codec(String name) {
+        CompressionCodec codec = codecs.get(name);
+        if (codec == null) {
+            throw new GlobalException("Compression codec [" + name + "] is not registered");
+        }
+        return codec;
+    }
+
+    private static class Rule {
+
+        private final String codec;
+
+        private final List<String> contentTypes = new ArrayList<>();
+
+        private final List<String> prefixes;
+
+        Rule(MinioProperties.Compression.Rule rule) {
+            this.codec = rule.getCodec();
+            for (String type : rule.getContentTypes()) {
+                contentTypes.add(type.toLowerCase(Locale.ROOT));
+            }
+            this.prefixes = rule.getPrefixes() == null
+                    ? Collections.emptyList() : new ArrayList<>(rule.getPrefixes());
+        }
+
+        boolean matches(String objectName, String contentType) {
+            return (prefixes.isEmpty() || prefixes.stream().anyMatch(objectName::startsWith))
+                    && (contentTypes.isEmpty() || contentTypes.stream().anyMatch(contentType::startsWith));
+        }
+    }
+}
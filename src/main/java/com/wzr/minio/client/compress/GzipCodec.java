@@ -0,0 +1,59 @@
+package com.wzr.minio.client.compress;
+
+import com.wzr.minio.config.GlobalException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip 压缩（JDK 内置）
+ *
+ * @author wzr
+ * @date 2026-10-17 02:30
+ */
+public class GzipCodec implements CompressionCodec {
+
+    public static final String NAME = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int level;
+
+    /**
+     * @param level 压缩级别（1-9）
+     */
+    public GzipCodec(int level) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new GlobalException("Gzip level must be between 1 and 9");
+        }
+        this.level = level;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String contentEncoding() {
+        return NAME;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new GZIPInputStream(in, BUFFER_SIZE);
+    }
+}
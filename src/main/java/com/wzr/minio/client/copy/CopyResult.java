@@ -0,0 +1,53 @@
+package com.wzr.minio.client.copy;
+
+import com.wzr.minio.client.remove.RemoveResult;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量拷贝/移动的结果对象
+ * @author wzr
+ * @date 2026-10-16 21:40
+ */
+@Data
+public class CopyResult {
+
+    /**
+     * 拷贝成功的对象数
+     */
+    private long copiedCount;
+
+    /**
+     * 拷贝成功的字节数
+     */
+    private long copiedBytes;
+
+    /**
+     * 拷贝失败的源对象名（失败原因见日志）
+     */
+    private List<String> failedObjects;
+
+    /**
+     * 移动时删除源对象的结果，拷贝时为空
+     */
+    private RemoveResult removeResult;
+
+    public CopyResult() {
+
+    }
+
+    public CopyResult(long copiedCount, long copiedBytes, List<String> failedObjects, RemoveResult removeResult) {
+        this.copiedCount = copiedCount;
+        this.copiedBytes = copiedBytes;
+        this.failedObjects = failedObjects;
+        this.removeResult = removeResult;
+    }
+
+    /**
+     * 是否全部拷贝（及删除）成功
+     */
+    public boolean isSuccess() {
+        return failedObjects.isEmpty() && (removeResult == null || removeResult.isSuccess());
+    }
+}
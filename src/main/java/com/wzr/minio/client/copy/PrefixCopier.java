@@ -0,0 +1,307 @@
+package com.wzr.minio.client.copy;
+
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.client.remove.BatchRemover;
+import com.wzr.minio.client.remove.RemoveResult;
+import com.wzr.minio.config.GlobalException;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.messages.Item;
+import io.minio.messages.Part;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按前缀批量拷贝/移动对象（服务端拷贝，数据不经过客户端）
+ * <p>逐个读取源对象并发拷贝：不超过 multipartThreshold 的对象使用一次 copyObject，
+ * 更大的对象使用分片拷贝（uploadPartCopy），各分片按字节区间并发拷贝。
+ * 所有拷贝请求（包括大对象的每个分片）共用同一个并发上限，任务之间互不等待。</p>
+ * <p>移动时，源对象在拷贝成功后才会被删除：攒够一批（1000 个）就交给 {@link BatchRemover} 删除，
+ * 内存占用与对象总数无关。拷贝失败的源对象不会被删除。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 21:45
+ */
+public class PrefixCopier {
+
+    private static final Log log = LogFactory.getLog(PrefixCopier.class);
+
+    /** S3 单个分片上传任务最多的分片数 */
+    private static final int MAX_PARTS = 10000;
+
+    /** S3 要求的最小分片大小 */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /** S3 单次拷贝（copyObject 或 uploadPartCopy）的最大字节数 */
+    private static final long MAX_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
+    private final MultipartMinioClient client;
+
+    private final ExecutorService executor;
+
+    private final BatchRemover remover;
+
+    private final long multipartThreshold;
+
+    private final long partSize;
+
+    private final int parallelism;
+
+    public PrefixCopier(MultipartMinioClient client, ExecutorService executor, BatchRemover remover,
+                        long multipartThreshold, long partSize, int parallelism) {
+        if (multipartThreshold < 1 || multipartThreshold > MAX_COPY_SIZE) {
+            throw new GlobalException("Multipart copy threshold must be between 1 byte and 5GB");
+        }
+        if (partSize < MIN_PART_SIZE || partSize > MAX_COPY_SIZE) {
+            throw new GlobalException("Copy part size must be between 5MB and 5GB");
+        }
+        if (parallelism < 1) {
+            throw new GlobalException("Copy parallelism must be positive");
+        }
+        this.client = client;
+        this.executor = executor;
+        this.remover = remover;
+        this.multipartThreshold = multipartThreshold;
+        this.partSize = partSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 拷贝或移动对象
+     * @param items 源对象（递归列举结果），按需读取；目录项会被跳过
+     * @param move 是否在拷贝成功后删除源对象
+     */
+    public CopyResult copy(String srcBucketName, String srcPrefix, String bucketName, String prefix,
+                           Iterator<Item> items, boolean move) throws InterruptedException {
+        Job job = new Job(srcBucketName, srcPrefix, bucketName, prefix, move);
+        while (items.hasNext()) {
+            Item item = items.next();
+            if (item.isDir()) {
+                continue;
+            }
+            if (item.size() > multipartThreshold) {
+                job.copyMultipart(item.objectName());
+            } else {
+                job.copySingle(item.objectName(), item.size());
+            }
+            if (move && job.removable.get() >= BatchRemover.MAX_BATCH_SIZE) {
+                job.removeCopied();
+            }
+        }
+        job.permits.acquire(parallelism);
+        job.permits.release(parallelism);
+        if (move) {
+            job.removeCopied();
+        }
+        return new CopyResult(job.copied.get(), job.copiedBytes.get(), new ArrayList<>(job.failed),
+                move ? job.removeResult : null);
+    }
+
+    /**
+     * 目标对象名：把源对象名的前缀替换为目标前缀
+     */
+    public static String targetName(String srcPrefix, String prefix, String srcObjectName) {
+        return prefix + srcObjectName.substring(srcPrefix.length());
+    }
+
+    /**
+     * 一次批量拷贝的状态
+     */
+    private final class Job {
+
+        final String srcBucketName;
+
+        final String srcPrefix;
+
+        final String bucketName;
+
+        final String prefix;
+
+        final boolean move;
+
+        final Semaphore permits = new Semaphore(parallelism);
+
+        final AtomicLong copied = new AtomicLong();
+
+        final AtomicLong copiedBytes = new AtomicLong();
+
+        final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+
+        /** 拷贝成功、等待删除的源对象 */
+        final Queue<String> copiedSources = new ConcurrentLinkedQueue<>();
+
+        final AtomicInteger removable = new AtomicInteger();
+
+        RemoveResult removeResult = new RemoveResult(0, new ArrayList<>(), new ArrayList<>());
+
+        Job(String srcBucketName, String srcPrefix, String bucketName, String prefix, boolean move) {
+            this.srcBucketName = srcBucketName;
+            this.srcPrefix = srcPrefix;
+            this.bucketName = bucketName;
+            this.prefix = prefix;
+            this.move = move;
+        }
+
+        void copySingle(String srcObjectName, long size) throws InterruptedException {
+            String objectName = targetName(srcPrefix, prefix, srcObjectName);
+            submit(() -> {
+                try {
+                    client.copyObject(CopyObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .source(CopySource.builder().bucket(srcBucketName).object(srcObjectName).build())
+                            .build());
+                    succeeded(srcObjectName, size);
+                } catch (Exception e) {
+                    failed(srcObjectName, e);
+                }
+            });
+        }
+
+        /**
+         * 分片拷贝：在调用线程中初始化任务，各分片提交到线程池，最后完成的分片负责合并（或失败时取消）
+         */
+        void copyMultipart(String srcObjectName) throws InterruptedException {
+            String objectName = targetName(srcPrefix, prefix, srcObjectName);
+            StatObjectResponse stat;
+            String uploadId;
+            try {
+                stat = client.statObject(StatObjectArgs.builder().bucket(srcBucketName).object(srcObjectName).build());
+                // 目标对象沿用源对象的 Content-Type、Content-Encoding 和自定义元数据
+                String contentEncoding = stat.headers().get("Content-Encoding");
+                uploadId = client.createMultipartUpload(bucketName, objectName, stat.contentType(), stat.userMetadata(),
+                        contentEncoding == null ? null : Collections.singletonMap("Content-Encoding", contentEncoding));
+            } catch (Exception e) {
+                failed(srcObjectName, e);
+                return;
+            }
+            long size = stat.size();
+            long actualPartSize = Math.max(partSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+            int partCount = (int) ((size + actualPartSize - 1) / actualPartSize);
+            Part[] parts = new Part[partCount];
+            AtomicInteger remaining = new AtomicInteger(partCount);
+            AtomicBoolean partFailed = new AtomicBoolean();
+            int submitted = 0;
+            for (; submitted < partCount && !partFailed.get(); submitted++) {
+                int partNumber = submitted + 1;
+                long offset = submitted * actualPartSize;
+                long length = Math.min(actualPartSize, size - offset);
+                submit(() -> {
+                    try {
+                        if (!partFailed.get()) {
+                            parts[partNumber - 1] = new Part(partNumber, client.uploadPartCopy(bucketName, objectName,
+                                    uploadId, partNumber, srcBucketName, srcObjectName, stat.etag(), offset, length));
+                        }
+                    } catch (Exception e) {
+                        if (partFailed.compareAndSet(false, true)) {
+                            failed(srcObjectName, e);
+                        }
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        finishMultipart(srcObjectName, objectName, uploadId, parts, size, partFailed.get());
+                    }
+                });
+            }
+            // 有分片失败后不再提交剩余分片，扣除它们的计数，保证任务最终会被取消
+            int skipped = partCount - submitted;
+            if (skipped > 0 && remaining.addAndGet(-skipped) == 0) {
+                finishMultipart(srcObjectName, objectName, uploadId, parts, size, true);
+            }
+        }
+
+        void finishMultipart(String srcObjectName, String objectName, String uploadId,
+                             Part[] parts, long size, boolean partFailed) {
+            try {
+                if (partFailed) {
+                    client.abortMultipartUpload(bucketName, objectName, uploadId);
+                    return;
+                }
+                client.completeMultipartUpload(bucketName, objectName, uploadId, parts);
+                succeeded(srcObjectName, size);
+            } catch (Exception e) {
+                failed(srcObjectName, e);
+            }
+        }
+
+        void succeeded(String srcObjectName, long size) {
+            copied.incrementAndGet();
+            copiedBytes.addAndGet(size);
+            if (move) {
+                copiedSources.add(srcObjectName);
+                removable.incrementAndGet();
+            }
+        }
+
+        void failed(String srcObjectName, Exception e) {
+            log.warn("[minio-starter] Failed to copy '" + srcObjectName + "' from " + srcBucketName, e);
+            failed.add(srcObjectName);
+        }
+
+        /**
+         * 在途拷贝达到上限时阻塞
+         */
+        void submit(Runnable task) throws InterruptedException {
+            permits.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        /**
+         * 删除已拷贝成功的源对象
+         */
+        void removeCopied() throws InterruptedException {
+            Iterator<String> objectNames = new Iterator<String>() {
+
+                private String next = poll();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public String next() {
+                    String current = next;
+                    next = poll();
+                    return current;
+                }
+
+                private String poll() {
+                    String objectName = copiedSources.poll();
+                    if (objectName != null) {
+                        removable.decrementAndGet();
+                    }
+                    return objectName;
+                }
+            };
+            RemoveResult result = remover.remove(srcBucketName, objectNames);
+            removeResult.setRemovedCount(removeResult.getRemovedCount() + result.getRemovedCount());
+            removeResult.getErrors().addAll(result.getErrors());
+            removeResult.getFailedObjects().addAll(result.getFailedObjects());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.wzr.minio.client.dedup;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.client.cache.ObjectMetadataCache;
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetObjectArgs;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import okhttp3.Headers;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 秒传：上传前按内容哈希查找已存在的规范对象，找到时在服务端拷贝一份，不传输任何数据
+ * <p>记录先查 {@link ContentIndex}，没有时再查索引桶中以 存储桶/md5 命名的空对象（元数据中记录了规范对象的位置），
+ * 查到后放回 ContentIndex。</p>
+ * <p>只在目标桶内查找：规范对象总是与目标对象在同一个存储桶中，不会把其他桶中的文件拷贝出来。
+ * 默认还要求调用方给出 sha256（见 minio-util.dedup.require-strong-hash），仅凭客户端给出的 md5 不会拷贝，
+ * 避免知道或猜到 md5、构造 md5 碰撞就能拿到或覆盖他人的文件。</p>
+ * <p>登记时的 md5 来自客户端，第一次使用某条记录前会完整读取一次规范对象，确认 md5（以及调用方给出的 sha256）
+ * 与内容相符，校验结果写回索引。拷贝时带上登记时的 etag 作为条件，规范对象被覆盖或删除后拷贝失败，
+ * 该记录随即被删除。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 00:20
+ */
+public class ContentDeduplicator {
+
+    private static final Log log = LogFactory.getLog(ContentDeduplicator.class);
+
+    /** S3 单次 copyObject 的最大字节数，超过时使用分片拷贝 */
+    private static final long MAX_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
+    private static final String META_PREFIX = "x-amz-meta-";
+
+    private static final String META_BUCKET = "bucket";
+
+    private static final String META_OBJECT = "object";
+
+    private static final String META_ETAG = "etag";
+
+    private static final String META_SIZE = "size";
+
+    private static final String META_SHA256 = "sha256";
+
+    private final MultipartMinioClient client;
+
+    private final ContentIndex index;
+
+    private final String indexBucket;
+
+    /** 是否要求调用方给出 sha256 才拷贝 */
+    private final boolean requireSha256;
+
+    public ContentDeduplicator(MultipartMinioClient client, ContentIndex index, String indexBucket,
+                               boolean requireSha256) {
+        this.client = client;
+        this.index = index;
+        this.indexBucket = indexBucket;
+        this.requireSha256 = requireSha256;
+    }
+
+    /**
+     * 目标桶中已存在相同内容时，把规范对象拷贝为目标对象
+     * @param md5 文件的 md5（十六进制）
+     * @param sha256 文件的 sha256（十六进制），可为空；不为空时还要求内容的 sha256 相符
+     * @return 拷贝结果，内容不存在（或记录已失效）时返回 null；要求 sha256 而未给出时也返回 null
+     */
+    public ObjectWriteResponse copy(String md5, String sha256, String bucketName, String objectName) throws Exception {
+        if (sha256 == null && requireSha256) {
+            return null;
+        }
+        String key = key(bucketName, md5);
+        ContentRef ref = lookup(key);
+        if (ref != null && !bucketName.equals(ref.getBucketName())) {
+            return null;
+        }
+        if (ref == null) {
+            return null;
+        }
+        try {
+            if (!ref.isVerified()) {
+                ref = verify(key, ref);
+                if (ref == null) {
+                    return null;
+                }
+            }
+            if (sha256 != null && !sha256.equalsIgnoreCase(ref.getSha256())) {
+                return null;
+            }
+            if (ref.getSize() > MAX_COPY_SIZE) {
+                return client.composeObject(ComposeObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(objectName)
+                        .sources(Collections.singletonList(ComposeSource.builder()
+                                .bucket(ref.getBucketName()).object(ref.getObjectName())
+                                .matchETag(ref.getEtag()).build()))
+                        .build());
+            }
+            return client.copyObject(CopyObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .source(CopySource.builder()
+                            .bucket(ref.getBucketName()).object(ref.getObjectName())
+                            .matchETag(ref.getEtag()).build())
+                    .build());
+        } catch (ErrorResponseException e) {
+            if (!isStale(e)) {
+                throw e;
+            }
+            forget(key, ref);
+            return null;
+        }
+    }
+
+    /**
+     * 登记一个对象的内容（例如分片合并完成后），之后同一个桶中相同内容的上传可以秒传
+     * <p>登记时只记录对象当前的 etag，不读取内容</p>
+     */
+    public void register(String md5, String bucketName, String objectName) throws Exception {
+        StatObjectResponse stat = client.statObject(StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        save(key(bucketName, md5),
+                new ContentRef(bucketName, objectName, stat.etag(), stat.size(), null, false));
+    }
+
+    private ContentRef lookup(String key) throws Exception {
+        ContentRef ref = index.get(key);
+        if (ref != null) {
+            return ref;
+        }
+        StatObjectResponse marker;
+        try {
+            marker = client.statObject(StatObjectArgs.builder().bucket(indexBucket).object(key).build());
+        } catch (ErrorResponseException e) {
+            if (ObjectMetadataCache.isNotFound(e)) {
+                return null;
+            }
+            throw e;
+        }
+        // StatObjectResponse#userMetadata 只识别小写的请求头名，这里直接从响应头中读取（不区分大小写）
+        Headers headers = marker.headers();
+        String bucketName = headers.get(META_PREFIX + META_BUCKET);
+        String objectName = headers.get(META_PREFIX + META_OBJECT);
+        String etag = headers.get(META_PREFIX + META_ETAG);
+        String size = headers.get(META_PREFIX + META_SIZE);
+        if (bucketName == null || objectName == null || etag == null || size == null) {
+            return null;
+        }
+        String sha256 = headers.get(META_PREFIX + META_SHA256);
+        ref = new ContentRef(decode(bucketName), decode(objectName), etag, Long.parseLong(size), sha256, sha256 != null);
+        index.put(key, ref);
+        return ref;
+    }
+
+    /**
+     * 读取规范对象，计算 md5 和 sha256
+     * @return 校验通过后的记录，内容与 md5 不符时返回 null
+     */
+    private ContentRef verify(String key, ContentRef ref) throws Exception {
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = new DigestInputStream(new DigestInputStream(client.getObject(GetObjectArgs.builder()
+                .bucket(ref.getBucketName()).object(ref.getObjectName()).matchETag(ref.getEtag()).build()),
+                md5), sha256)) {
+            ByteStreams.exhaust(in);
+        }
+        if (!key.endsWith("/" + hex(md5.digest()))) {
+            log.warn("[minio-starter] Content of " + ref.getBucketName() + "/" + ref.getObjectName()
+                    + " does not match registered md5 " + key + ", dropping it from the content index");
+            forget(key, ref);
+            return null;
+        }
+        ContentRef verified = new ContentRef(ref.getBucketName(), ref.getObjectName(), ref.getEtag(),
+                ref.getSize(), hex(sha256.digest()), true);
+        save(key, verified);
+        return verified;
+    }
+
+    private void save(String key, ContentRef ref) throws Exception {
+        Map<String, String> meta = new HashMap<>();
+        meta.put(META_BUCKET, encode(ref.getBucketName()));
+        meta.put(META_OBJECT, encode(ref.getObjectName()));
+        meta.put(META_ETAG, ref.getEtag());
+        meta.put(META_SIZE, String.valueOf(ref.getSize()));
+        if (ref.getSha256() != null) {
+            meta.put(META_SHA256, ref.getSha256());
+        }
+        client.putObject(PutObjectArgs.builder()
+                .bucket(indexBucket)
+                .object(key)
+                .userMetadata(meta)
+                .stream(new ByteArrayInputStream(new byte[0]), 0, -1)
+                .build());
+        index.put(key, ref);
+    }
+
+    private void forget(String key, ContentRef ref) {
+        index.remove(key);
+        try {
+            client.removeObject(RemoveObjectArgs.builder().bucket(indexBucket).object(key).build());
+        } catch (Exception e) {
+            log.warn("[minio-starter] Failed to remove content index entry " + key + " for "
+                    + ref.getBucketName() + "/" + ref.getObjectName() + ": " + e);
+        }
+    }
+
+    /**
+     * 规范对象不存在或已被覆盖（etag 条件不满足）
+     */
+    private static boolean isStale(ErrorResponseException e) {
+        return ObjectMetadataCache.isNotFound(e) || "PreconditionFailed".equals(e.errorResponse().code());
+    }
+
+    /**
+     * 内容索引的 key：存储桶/md5（小写）
+     */
+    private static String key(String bucketName, String md5) {
+        return bucketName + "/" + md5.toLowerCase(Locale.ROOT);
+    }
+
+    private static String hex(byte[] bytes) {
+        return BaseEncoding.base16().lowerCase().encode(bytes);
+    }
+
+    /**
+     * 元数据以请求头传输，对象名可能含有非 ASCII 字符
+     */
+    private static String encode(String value) throws Exception {
+        return URLEncoder.encode(value, "UTF-8");
+    }
+
+    private static String decode(String value) throws Exception {
+        return URLDecoder.decode(value, "UTF-8");
+    }
+}
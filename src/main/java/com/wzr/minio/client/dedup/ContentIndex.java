@@ -0,0 +1,30 @@
+package com.wzr.minio.client.dedup;
+
+/**
+ * 内容索引（SPI）：存储桶/md5 -> 该桶中已存在的规范对象，用于秒传
+ * <p>默认实现为进程内的 {@link InMemoryContentIndex}；索引中没有的记录，还会到 minio 上的索引桶中查找
+ * （见 minio-util.dedup.index-bucket），因此重启或多实例部署时也能命中，只是多一次 HEAD 请求。
+ * 也可以注册一个基于 Redis、数据库等外部存储的实现作为 Spring Bean 替换默认实现。实现类必须是线程安全的。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 00:20
+ */
+public interface ContentIndex {
+
+    /**
+     * 查找记录
+     * @param key 存储桶名 + "/" + 小写十六进制的 md5
+     * @return 没有记录时返回 null
+     */
+    ContentRef get(String key);
+
+    /**
+     * 新增或覆盖记录
+     */
+    void put(String key, ContentRef ref);
+
+    /**
+     * 删除记录（记录已失效时调用）
+     */
+    void remove(String key);
+}
@@ -0,0 +1,55 @@
+package com.wzr.minio.client.dedup;
+
+import lombok.Data;
+
+/**
+ * 内容索引中的一条记录：某个存储桶中某个内容（md5）对应的规范对象
+ * @author wzr
+ * @date 2026-10-17 00:20
+ */
+@Data
+public class ContentRef {
+
+    /**
+     * 规范对象所在的存储桶
+     */
+    private String bucketName;
+
+    /**
+     * 规范对象名
+     */
+    private String objectName;
+
+    /**
+     * 登记时规范对象的 etag，对象被覆盖后 etag 改变，该记录随即失效
+     */
+    private String etag;
+
+    /**
+     * 对象大小（字节）
+     */
+    private long size;
+
+    /**
+     * 对象内容的 sha256，校验过后才有值
+     */
+    private String sha256;
+
+    /**
+     * 是否已经读取对象内容、确认与 md5 相符
+     */
+    private boolean verified;
+
+    public ContentRef() {
+
+    }
+
+    public ContentRef(String bucketName, String objectName, String etag, long size, String sha256, boolean verified) {
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.etag = etag;
+        this.size = size;
+        this.sha256 = sha256;
+        this.verified = verified;
+    }
+}
@@ -0,0 +1,38 @@
+package com.wzr.minio.client.dedup;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * 基于内存的内容索引，超过最大条目数时按最近最少使用淘汰（被淘汰的记录仍然可以从索引桶中找回）
+ *
+ * @author wzr
+ * @date 2026-10-17 00:20
+ */
+public class InMemoryContentIndex implements ContentIndex {
+
+    private final Cache<String, ContentRef> refs;
+
+    public InMemoryContentIndex() {
+        this(100000);
+    }
+
+    public InMemoryContentIndex(long maximumSize) {
+        this.refs = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public ContentRef get(String key) {
+        return refs.getIfPresent(key);
+    }
+
+    @Override
+    public void put(String key, ContentRef ref) {
+        refs.put(key, ref);
+    }
+
+    @Override
+    public void remove(String key) {
+        refs.invalidate(key);
+    }
+}
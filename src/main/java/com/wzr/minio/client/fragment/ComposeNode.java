@@ -0,0 +1,74 @@
+package com.wzr.minio.client.fragment;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 合并计划中的一个节点
+ *
+ * @author wzr
+ * @date 2026-10-16 14:10
+ */
+public class ComposeNode {
+
+    /** S3 中单个 uploadPartCopy 能拷贝的最大字节数 */
+    static final long MAX_COPY_PART_SIZE = 5L * 1024 * 1024 * 1024;
+
+    public enum Type {
+        /** 已上传的分片，无需处理 */
+        PIECE,
+        /** 若干个过小的相邻分片，由客户端顺序读取后重新上传为一个对象 */
+        MERGE,
+        /** 服务端合并 */
+        COMPOSE
+    }
+
+    private final Type type;
+
+    private final String bucketName;
+
+    private final String objectName;
+
+    private final long size;
+
+    private final List<ComposeNode> children;
+
+    ComposeNode(Type type, String bucketName, String objectName, long size, List<ComposeNode> children) {
+        this.type = type;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.size = size;
+        this.children = children == null ? Collections.emptyList() : children;
+    }
+
+    static ComposeNode piece(String bucketName, String objectName, long size) {
+        return new ComposeNode(Type.PIECE, bucketName, objectName, size, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public List<ComposeNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * 作为合并源时占用的分片数（超过 5GB 的源会被拆成多个分片拷贝）
+     */
+    int partCount() {
+        return (int) Math.max(1, (size + MAX_COPY_PART_SIZE - 1) / MAX_COPY_PART_SIZE);
+    }
+}
@@ -0,0 +1,119 @@
+package com.wzr.minio.client.fragment;
+
+import com.wzr.minio.config.GlobalException;
+import io.minio.messages.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分片合并计划
+ * <p>S3 的一次合并（composeObject）最多 10000 个分片，并且除最后一个源外，每个源不能小于 5MB。本类据此生成一棵合并树：</p>
+ * <ul>
+ *     <li>连续的过小分片先在客户端顺序拼接为一个不小于 5MB 的中间对象（MERGE）；</li>
+ *     <li>源的数量超过 maxSources 时，按顺序分组，每组先合并为一个中间对象（COMPOSE），再逐层向上合并，直至根节点。</li>
+ * </ul>
+ * <p>同一层的节点之间互不依赖，可以并发执行。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 14:15
+ */
+public class ComposePlanner {
+
+    /** S3 规定除最后一个源外，合并源不能小于 5MB */
+    public static final long MIN_SOURCE_SIZE = 5L * 1024 * 1024;
+
+    /** S3 规定一次合并最多 10000 个分片 */
+    public static final int MAX_SOURCES = 10000;
+
+    private final int maxSources;
+
+    /**
+     * @param maxSources 一次合并的最大源数量，较小的值会产生更多可以并发执行的中间合并
+     */
+    public ComposePlanner(int maxSources) {
+        if (maxSources < 2 || maxSources > MAX_SOURCES) {
+            throw new GlobalException("Compose max sources must be between 2 and " + MAX_SOURCES);
+        }
+        this.maxSources = maxSources;
+    }
+
+    /**
+     * 生成合并计划
+     * @param pieces 按顺序排列的分片
+     * @param tempBucket 分片及中间对象所在的桶
+     * @param tempPrefix 中间对象的前缀
+     * @return 根节点，即合并到目标对象的节点
+     */
+    public ComposeNode plan(List<Item> pieces, String tempBucket, String tempPrefix,
+                            String bucketName, String targetName) {
+        List<ComposeNode> nodes = mergeUndersized(pieces, tempBucket, tempPrefix);
+        int level = 0;
+        while (partCount(nodes) > maxSources) {
+            List<ComposeNode> next = new ArrayList<>();
+            int group = 0;
+            int i = 0;
+            while (i < nodes.size()) {
+                List<ComposeNode> members = new ArrayList<>();
+                int parts = 0;
+                while (i < nodes.size() && (members.isEmpty() || parts + nodes.get(i).partCount() <= maxSources)) {
+                    parts += nodes.get(i).partCount();
+                    members.add(nodes.get(i++));
+                }
+                // 只有一个成员的组无需合并，直接进入上一层
+                next.add(members.size() == 1 ? members.get(0)
+                        : compose(tempBucket, tempPrefix + "_compose/" + level + "-" + group++, members));
+            }
+            if (next.size() == nodes.size()) {
+                throw new GlobalException("Too many parts to compose into [" + targetName + "]");
+            }
+            nodes = next;
+            level++;
+        }
+        return compose(bucketName, targetName, nodes);
+    }
+
+    /**
+     * 把连续的过小分片拼接起来，使除最后一个节点外，每个节点都不小于 5MB
+     */
+    private List<ComposeNode> mergeUndersized(List<Item> pieces, String tempBucket, String tempPrefix) {
+        List<ComposeNode> nodes = new ArrayList<>(pieces.size());
+        List<ComposeNode> run = new ArrayList<>();
+        long runSize = 0;
+        int merged = 0;
+        for (int i = 0; i < pieces.size(); i++) {
+            Item item = pieces.get(i);
+            ComposeNode piece = ComposeNode.piece(tempBucket, item.objectName(), item.size());
+            boolean last = i == pieces.size() - 1;
+            if (run.isEmpty() && (piece.getSize() >= MIN_SOURCE_SIZE || last)) {
+                nodes.add(piece);
+                continue;
+            }
+            run.add(piece);
+            runSize += piece.getSize();
+            if (runSize >= MIN_SOURCE_SIZE || last) {
+                nodes.add(run.size() == 1 ? run.get(0) : new ComposeNode(ComposeNode.Type.MERGE, tempBucket,
+                        tempPrefix + "_merge/" + merged++, runSize, new ArrayList<>(run)));
+                run.clear();
+                runSize = 0;
+            }
+        }
+        return nodes;
+    }
+
+    private static ComposeNode compose(String bucketName, String objectName, List<ComposeNode> children) {
+        long size = 0;
+        for (ComposeNode child : children) {
+            size += child.getSize();
+        }
+        return new ComposeNode(ComposeNode.Type.COMPOSE, bucketName, objectName, size, children);
+    }
+
+    private static int partCount(List<ComposeNode> nodes) {
+        int count = 0;
+        for (ComposeNode node : nodes) {
+            count += node.partCount();
+        }
+        return count;
+    }
+}
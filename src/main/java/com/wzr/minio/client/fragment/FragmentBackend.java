@@ -0,0 +1,47 @@
+package com.wzr.minio.client.fragment;
+
+import com.wzr.minio.client.FragResult;
+import io.minio.ObjectWriteResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 分片上传的存储方式，通过 minio-util.fragment.backend 选择
+ *
+ * @author wzr
+ * @date 2026-10-16 15:05
+ * @see TempBucketFragmentBackend
+ * @see MultipartFragmentBackend
+ */
+public interface FragmentBackend {
+
+    /**
+     * 上传一个分片
+     * @param bucketName 目标桶，可为空（此时合并时才确定目标）
+     * @param targetName 目标文件名，可为空
+     * @param file 分片文件
+     * @param currIndex 分片索引（从0开始）
+     * @param totalPieces 切片总数
+     * @param md5 整体文件MD5
+     */
+    FragResult upload(String bucketName, String targetName, MultipartFile file,
+                      int currIndex, int totalPieces, String md5) throws Exception;
+
+    /**
+     * 当前进程中是否已有该会话的上传状态（已上传过分片）
+     * @param bucketName 上传时指定的目标桶，可为空
+     * @param targetName 上传时指定的目标文件名，可为空
+     */
+    boolean isStarted(String bucketName, String targetName, int totalPieces, String md5);
+
+    /**
+     * 把所有分片合并为目标文件
+     */
+    ObjectWriteResponse compose(String bucketName, String targetName, int totalPieces, String md5) throws Exception;
+
+    /**
+     * 放弃上传会话，清理已上传的分片和会话状态
+     * @param bucketName 上传时指定的目标桶，可为空
+     * @param targetName 上传时指定的目标文件名，可为空
+     */
+    void abort(String bucketName, String targetName, int totalPieces, String md5) throws Exception;
+}
@@ -0,0 +1,212 @@
+package com.wzr.minio.client.fragment;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.wzr.minio.config.GlobalException;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分片上传的 md5 校验
+ * <p>分片流向 minio 的同时计算摘要（DigestInputStream，不额外缓冲，也不重复读取）：按索引顺序到达的分片直接累加到整个文件的 md5 中，
+ * 并记录服务端返回的分片 etag（即服务端按收到的内容计算、保存在对象元数据中的分片摘要）。</p>
+ * <p>合并前先核对各分片当前的 etag 与上传时记录的一致，保证累加的摘要对应的正是将要合并的内容；
+ * 乱序到达、由其他实例上传或重启前上传的分片，在合并前从服务端读取一次补齐。最终的 md5 与调用方给出的不符时拒绝合并。</p>
+ * <p>会话由调用方给出的标识（通常即文件 md5）和切片总数区分；状态保存在内存中，idleTimeout 内未访问的会话自动清除。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 00:50
+ */
+public class FragmentChecksums {
+
+    private final Cache<String, Session> sessions;
+
+    /**
+     * @param idleTimeout 会话在该时间内未访问时清除
+     */
+    public FragmentChecksums(Duration idleTimeout) {
+        this.sessions = CacheBuilder.newBuilder()
+                .expireAfterAccess(idleTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * 读取从某个分片开始直到文件末尾的内容
+     */
+    @FunctionalInterface
+    public interface RemainderReader {
+        InputStream open(int fromIndex) throws Exception;
+    }
+
+    /**
+     * 开始上传一个分片
+     * @param sessionId 会话标识
+     * @return 上传时应读取 {@link Piece#stream()}，上传结束后调用 {@link #completed} 或 {@link #failed}
+     */
+    public Piece start(String sessionId, int totalPieces, int index, InputStream in) throws ExecutionException {
+        Session session = sessions.get(key(sessionId, totalPieces), () -> new Session(totalPieces));
+        MessageDigest running = null;
+        synchronized (session) {
+            if (!session.busy && session.next == index) {
+                session.busy = true;
+                running = clone(session.digest);
+            }
+        }
+        return new Piece(session, index, running == null ? in : new DigestInputStream(in, running), running);
+    }
+
+    /**
+     * 分片上传成功
+     * @param etag 服务端返回的分片 etag
+     */
+    public void completed(Piece piece, String etag) {
+        Session session = piece.session;
+        synchronized (session) {
+            session.etags[piece.index] = normalize(etag);
+            if (piece.running != null) {
+                session.digest = piece.running;
+                session.next = piece.index + 1;
+                session.busy = false;
+            }
+        }
+    }
+
+    /**
+     * 分片上传失败，丢弃这次累加的摘要
+     */
+    public void failed(Piece piece) {
+        if (piece.running != null) {
+            synchronized (piece.session) {
+                piece.session.busy = false;
+            }
+        }
+    }
+
+    /**
+     * 校验整个文件的 md5
+     * @param sessionId 会话标识
+     * @param md5 调用方给出的整个文件的 md5
+     * @param etags 索引 -> 当前保存在服务端的分片 etag
+     * @param reader 读取剩余内容，为空时不读取
+     * @return 是否完成了校验；reader 为空且累加的摘要没有覆盖全部分片时返回 false
+     * @throws GlobalException md5 不符
+     */
+    public boolean verify(String sessionId, String md5, int totalPieces, Map<Integer, String> etags,
+                          RemainderReader reader) throws Exception {
+        MessageDigest digest = null;
+        int next = 0;
+        Session session = sessions.getIfPresent(key(sessionId, totalPieces));
+        if (session != null) {
+            synchronized (session) {
+                next = session.next;
+                for (int i = 0; i < next; i++) {
+                    if (!Objects.equals(session.etags[i], normalize(etags.get(i)))) {
+                        // 分片在累加摘要之后被替换过，整个文件重新读取
+                        next = 0;
+                        break;
+                    }
+                }
+                if (next > 0) {
+                    digest = clone(session.digest);
+                }
+            }
+        }
+        if (digest == null) {
+            digest = MessageDigest.getInstance("MD5");
+        }
+        if (next < totalPieces) {
+            if (reader == null) {
+                return false;
+            }
+            try (InputStream in = new DigestInputStream(reader.open(next), digest)) {
+                ByteStreams.exhaust(in);
+            }
+        }
+        String actual = BaseEncoding.base16().lowerCase().encode(digest.digest());
+        if (!actual.equalsIgnoreCase(md5)) {
+            throw new GlobalException("File md5 mismatch: expected [" + md5 + "] but the uploaded pieces hash to ["
+                    + actual + "]. Please abort the upload and upload the file again");
+        }
+        return true;
+    }
+
+    /**
+     * 删除会话状态（合并完成或放弃上传后调用）
+     */
+    public void remove(String sessionId, int totalPieces) {
+        sessions.invalidate(key(sessionId, totalPieces));
+    }
+
+    private static MessageDigest clone(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new GlobalException("MD5 digest is not cloneable", e);
+        }
+    }
+
+    private static String normalize(String etag) {
+        return etag == null ? null : etag.replace("\"", "");
+    }
+
+    private static String key(String sessionId, int totalPieces) {
+        return sessionId + "/" + totalPieces;
+    }
+
+    /**
+     * 一个正在上传的分片
+     */
+    public static final class Piece {
+
+        private final Session session;
+
+        private final int index;
+
+        private final InputStream stream;
+
+        /** 累加了之前所有分片的摘要，当前分片不是下一个顺序分片时为空 */
+        private final MessageDigest running;
+
+        Piece(Session session, int index, InputStream stream, MessageDigest running) {
+            this.session = session;
+            this.index = index;
+            this.stream = stream;
+            this.running = running;
+        }
+
+        public InputStream stream() {
+            return stream;
+        }
+    }
+
+    private static final class Session {
+
+        /** 索引 [0, next) 的分片已累加到 digest 中 */
+        MessageDigest digest;
+
+        int next;
+
+        /** 有线程正在累加下一个分片 */
+        boolean busy;
+
+        final String[] etags;
+
+        Session(int totalPieces) {
+            try {
+                this.digest = MessageDigest.getInstance("MD5");
+            } catch (Exception e) {
+                throw new GlobalException("MD5 is not available", e);
+            }
+            this.etags = new String[totalPieces];
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.wzr.minio.client.fragment;
+
+import com.wzr.minio.client.remove.BatchRemover;
+import com.wzr.minio.client.remove.RemoveResult;
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * 执行 {@link ComposePlanner} 生成的合并计划
+ * <p>子树之间互不依赖，会在线程池中并发执行；某个节点的所有子节点完成后，才开始合并该节点。
+ * 合并成功后，分片和中间对象会被并发地分批删除；合并失败时只清理中间对象，保留分片以便重试。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 14:40
+ */
+public class FragmentComposer {
+
+    private static final Log log = LogFactory.getLog(FragmentComposer.class);
+
+    private final MinioClient client;
+
+    private final ExecutorService executor;
+
+    private final BatchRemover remover;
+
+    public FragmentComposer(MinioClient client, ExecutorService executor, BatchRemover remover) {
+        this.client = client;
+        this.executor = executor;
+        this.remover = remover;
+    }
+
+    /**
+     * 执行合并计划，并删除临时对象
+     * @param root 根节点
+     * @return 根节点（目标对象）的上传结果
+     */
+    public ObjectWriteResponse compose(ComposeNode root) throws Exception {
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        ObjectWriteResponse response;
+        try {
+            response = execute(root, tasks).get();
+        } catch (ExecutionException e) {
+            // 等其余子树结束后再清理，避免中间对象在清理之后才被写入
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).handle((v, t) -> null).join();
+            removeTemporaries(root, false);
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+        removeTemporaries(root, true);
+        return response;
+    }
+
+    private CompletableFuture<ObjectWriteResponse> execute(ComposeNode node, List<CompletableFuture<?>> tasks) {
+        CompletableFuture<ObjectWriteResponse> task;
+        switch (node.getType()) {
+            case MERGE:
+                task = CompletableFuture.supplyAsync(() -> merge(node), executor);
+                break;
+            case COMPOSE:
+                List<CompletableFuture<ObjectWriteResponse>> children = node.getChildren().stream()
+                        .map(child -> execute(child, tasks))
+                        .collect(Collectors.toList());
+                task = CompletableFuture.allOf(children.toArray(new CompletableFuture<?>[0]))
+                        .thenApplyAsync(v -> composeChildren(node), executor);
+                break;
+            default:
+                return CompletableFuture.completedFuture(null);
+        }
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * 服务端合并所有子节点
+     */
+    private ObjectWriteResponse composeChildren(ComposeNode node) {
+        List<ComposeSource> sources = node.getChildren().stream()
+                .map(child -> ComposeSource.builder()
+                        .bucket(child.getBucketName())
+                        .object(child.getObjectName())
+                        .build())
+                .collect(Collectors.toList());
+        try {
+            return client.composeObject(ComposeObjectArgs.builder()
+                    .bucket(node.getBucketName())
+                    .object(node.getObjectName())
+                    .sources(sources)
+                    .build());
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * 顺序读取过小的分片，拼接后上传为一个对象。分片流按需打开，读完一个再打开下一个
+     */
+    private ObjectWriteResponse merge(ComposeNode node) {
+        Iterator<ComposeNode> children = node.getChildren().iterator();
+        Enumeration<InputStream> streams = new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return children.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                ComposeNode child = children.next();
+                try {
+                    return client.getObject(GetObjectArgs.builder()
+                            .bucket(child.getBucketName())
+                            .object(child.getObjectName())
+                            .build());
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }
+        };
+        try (InputStream in = new SequenceInputStream(streams)) {
+            return client.putObject(PutObjectArgs.builder()
+                    .bucket(node.getBucketName())
+                    .object(node.getObjectName())
+                    .stream(in, node.getSize(), -1)
+                    .build());
+        } catch (CompletionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * 删除合并过程中的临时对象
+     * @param includePieces 是否同时删除原始分片
+     */
+    private void removeTemporaries(ComposeNode root, boolean includePieces) {
+        List<ComposeNode> temporaries = new ArrayList<>();
+        collect(root, temporaries);
+        temporaries.stream()
+                .filter(node -> includePieces || node.getType() != ComposeNode.Type.PIECE)
+                .collect(Collectors.groupingBy(ComposeNode::getBucketName,
+                        Collectors.mapping(ComposeNode::getObjectName, Collectors.toList())))
+                .forEach((bucketName, objectNames) -> {
+                    try {
+                        RemoveResult result = remover.remove(bucketName, objectNames.iterator());
+                        if (!result.isSuccess()) {
+                            log.warn("[minio-starter] " + (result.getErrors().size() + result.getFailedObjects().size())
+                                    + " temporary objects were not removed from " + bucketName);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+    }
+
+    private static void collect(ComposeNode node, List<ComposeNode> temporaries) {
+        for (ComposeNode child : node.getChildren()) {
+            temporaries.add(child);
+            collect(child, temporaries);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.wzr.minio.client.fragment;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 分片上传状态存储（SPI）
+ * <p>记录每个分片上传会话（md5 + 切片总数）中哪些索引已经上传，使 uploadFileFragment 无需每次列举临时桶。
+ * 参数 md5 是会话标识，应作为不透明的字符串使用：multipart 方式下其中还包含上传目标，同一个文件上传到不同目标时是不同的会话。</p>
+ * <p>默认实现为进程内的 {@link InMemoryFragmentStateStore}；多实例部署时，可注册一个基于 Redis、数据库等外部存储的实现
+ * 作为 Spring Bean 替换默认实现。实现类必须是线程安全的，且 {@link #markUploaded} 必须是原子操作。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 13:05
+ */
+public interface FragmentStateStore {
+
+    /**
+     * 是否已有该会话的状态。没有时（例如应用重启后），调用方会列举临时桶并通过 {@link #rebuild} 重建
+     */
+    boolean contains(String md5, int totalPieces);
+
+    /**
+     * 用已上传的索引重建会话状态，与已有状态合并
+     */
+    void rebuild(String md5, int totalPieces, Collection<Integer> uploadedIndexes);
+
+    /**
+     * 索引是否已上传
+     */
+    boolean isUploaded(String md5, int totalPieces, int index);
+
+    /**
+     * 原子地记录一个索引已上传，会话不存在时自动创建
+     * @return 记录后已上传的索引数量；如果该索引之前已被记录，返回 -1
+     */
+    int markUploaded(String md5, int totalPieces, int index);
+
+    /**
+     * 尚未上传的索引（升序）
+     */
+    Set<Integer> remaining(String md5, int totalPieces);
+
+    /**
+     * 是否所有索引均已上传
+     */
+    boolean isCompleted(String md5, int totalPieces);
+
+    /**
+     * 删除会话状态（合并完成后调用）
+     */
+    void remove(String md5, int totalPieces);
+}
@@ -0,0 +1,176 @@
+package com.wzr.minio.client.fragment;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 基于内存位图的分片上传状态存储
+ * <p>每个会话使用一个 AtomicLongArray 作为位图，通过 CAS 置位，记录与查询都是 O(1)，不同会话之间互不加锁。</p>
+ * <p>状态仅在当前进程内有效，应用重启后由调用方通过列举临时桶重建。</p>
+ * <p>在 idleTimeout 内没有任何读写的会话视为放弃，在之后的读写中被清除并通知 {@link ExpirationListener}；
+ * 清除后再续传时同样由调用方列举临时桶重建。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 13:20
+ */
+public class InMemoryFragmentStateStore implements FragmentStateStore {
+
+    /** 默认的会话空闲时间 */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofDays(1);
+
+    private final Cache<String, PieceBitmap> cache;
+
+    private final ConcurrentMap<String, PieceBitmap> sessions;
+
+    private volatile ExpirationListener expirationListener;
+
+    /**
+     * 会话因空闲过期被清除
+     */
+    @FunctionalInterface
+    public interface ExpirationListener {
+        void expired(String md5, int totalPieces);
+    }
+
+    public InMemoryFragmentStateStore() {
+        this(DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * @param idleTimeout 会话在该时间内没有任何读写时清除
+     */
+    public InMemoryFragmentStateStore(Duration idleTimeout) {
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterAccess(idleTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .removalListener(this::onRemoval)
+                .build();
+        this.sessions = cache.asMap();
+    }
+
+    /**
+     * 设置会话过期的回调，例如记录放弃的会话数
+     */
+    public void setExpirationListener(ExpirationListener expirationListener) {
+        this.expirationListener = expirationListener;
+    }
+
+    @Override
+    public boolean contains(String md5, int totalPieces) {
+        return sessions.containsKey(key(md5, totalPieces));
+    }
+
+    @Override
+    public void rebuild(String md5, int totalPieces, Collection<Integer> uploadedIndexes) {
+        PieceBitmap bitmap = session(md5, totalPieces);
+        for (Integer index : uploadedIndexes) {
+            // 忽略切片总数不同的旧上传留下的索引
+            if (index >= 0 && index < totalPieces) {
+                bitmap.set(index);
+            }
+        }
+    }
+
+    @Override
+    public boolean isUploaded(String md5, int totalPieces, int index) {
+        PieceBitmap bitmap = sessions.get(key(md5, totalPieces));
+        return bitmap != null && bitmap.get(index);
+    }
+
+    @Override
+    public int markUploaded(String md5, int totalPieces, int index) {
+        // 过期的会话只在同一分段有读写时才会清除，每上传一个分片清理一次所有分段，使过期及时通知
+        cache.cleanUp();
+        return session(md5, totalPieces).set(index);
+    }
+
+    @Override
+    public Set<Integer> remaining(String md5, int totalPieces) {
+        Set<Integer> remaining = new TreeSet<>();
+        PieceBitmap bitmap = sessions.get(key(md5, totalPieces));
+        for (int i = 0; i < totalPieces; i++) {
+            if (bitmap == null || !bitmap.get(i)) {
+                remaining.add(i);
+            }
+        }
+        return remaining;
+    }
+
+    @Override
+    public boolean isCompleted(String md5, int totalPieces) {
+        PieceBitmap bitmap = sessions.get(key(md5, totalPieces));
+        return bitmap != null && bitmap.count() == totalPieces;
+    }
+
+    @Override
+    public void remove(String md5, int totalPieces) {
+        sessions.remove(key(md5, totalPieces));
+    }
+
+    private PieceBitmap session(String md5, int totalPieces) {
+        return sessions.computeIfAbsent(key(md5, totalPieces), k -> new PieceBitmap(totalPieces));
+    }
+
+    private static String key(String md5, int totalPieces) {
+        return md5 + "/" + totalPieces;
+    }
+
+    private void onRemoval(RemovalNotification<String, PieceBitmap> notification) {
+        ExpirationListener listener = expirationListener;
+        if (listener == null || notification.getCause() != RemovalCause.EXPIRED) {
+            return;
+        }
+        String key = notification.getKey();
+        int separator = key.lastIndexOf('/');
+        listener.expired(key.substring(0, separator), Integer.parseInt(key.substring(separator + 1)));
+    }
+
+    /**
+     * 无锁位图
+     */
+    private static class PieceBitmap {
+
+        private final AtomicLongArray words;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        PieceBitmap(int totalPieces) {
+            this.words = new AtomicLongArray((totalPieces + 63) >>> 6);
+        }
+
+        boolean get(int index) {
+            return (words.get(index >>> 6) & (1L << index)) != 0;
+        }
+
+        /**
+         * @return 置位后的总数；已置位返回 -1
+         */
+        int set(int index) {
+            int word = index >>> 6;
+            long mask = 1L << index;
+            while (true) {
+                long current = words.get(word);
+                if ((current & mask) != 0) {
+                    return -1;
+                }
+                if (words.compareAndSet(word, current, current | mask)) {
+                    return count.incrementAndGet();
+                }
+            }
+        }
+
+        int count() {
+            return count.get();
+        }
+    }
+}
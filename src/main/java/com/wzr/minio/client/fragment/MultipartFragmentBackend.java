@@ -0,0 +1,368 @@
+package com.wzr.minio.client.fragment;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.wzr.minio.client.FragResult;
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.client.cache.ObjectMetadataCache;
+import com.wzr.minio.config.GlobalException;
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.GetObjectArgs;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Part;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * S3 原生分片上传方式：一个分片会话（md5 + 切片总数 + 目标对象）对应一个 uploadId，每个分片直接作为 uploadPart 上传，
+ * 合并时只需一次 completeMultipartUpload，数据只写一次，也无需清理临时分片。
+ * <p>上传分片时如果已知目标桶和文件名，分片会直接上传到目标对象上；否则先上传到临时桶，合并时再由服务端拷贝到目标位置。</p>
+ * <p>创建上传任务时，uploadId 记录在临时桶的标记对象中（按 md5 + 切片总数 + 目标对象区分），重启后只会找回本会话创建的任务，
+ * 不会误用同一个对象上其他文件或其他方式发起的上传任务。已上传的索引和 md5 校验状态同样按上传任务区分：
+ * 同一个文件同时上传到不同目标时，各自的分片都会上传到自己的任务中。</p>
+ * <p>注意 S3 的限制：切片总数不能超过 10000，除最后一片外，每片不能小于 5MB。</p>
+ * <p>开启 md5 校验时，分片在合并前无法读取：分片全部按顺序上传时，合并前即可完成校验；否则在合并后读取一次补齐。
+ * 此时分片总是先上传到临时桶，校验通过后才拷贝到目标位置，md5 不符时只删除临时桶中合并出的对象。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 15:25
+ */
+public class MultipartFragmentBackend implements FragmentBackend {
+
+    /** S3 规定单个上传任务最多 10000 个分片 */
+    private static final int MAX_PARTS = 10000;
+
+    /** S3 规定除最后一片外，分片不能小于 5MB */
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final MultipartMinioClient client;
+
+    private final String tempBucketName;
+
+    private final FragmentStateStore stateStore;
+
+    /** md5 校验，未开启时为空 */
+    private final FragmentChecksums checksums;
+
+    /** 会话 -> uploadId，重启后从临时桶中的标记对象找回 */
+    private final ConcurrentMap<String, CompletableFuture<String>> uploadIds = new ConcurrentHashMap<>();
+
+    public MultipartFragmentBackend(MultipartMinioClient client, String tempBucketName, FragmentStateStore stateStore,
+                                    FragmentChecksums checksums) {
+        this.client = client;
+        this.tempBucketName = tempBucketName;
+        this.stateStore = stateStore;
+        this.checksums = checksums;
+    }
+
+    @Override
+    public FragResult upload(String bucketName, String targetName, MultipartFile file,
+                             int currIndex, int totalPieces, String md5) throws Exception {
+        if (totalPieces > MAX_PARTS) {
+            throw new GlobalException("Multipart backend supports at most " + MAX_PARTS + " pieces");
+        }
+        // 开启 md5 校验时，分片先上传到临时桶，校验通过后才拷贝到目标位置，校验失败不会覆盖目标对象
+        boolean direct = bucketName != null && targetName != null && checksums == null;
+        String uploadBucket = direct ? bucketName : tempBucketName;
+        String uploadObject = direct ? targetName : stagingName(bucketName, targetName, md5, totalPieces);
+        String uploadId = uploadId(uploadBucket, uploadObject, md5, totalPieces, true);
+        String state = stateKey(uploadBucket, uploadObject, md5);
+        if (stateStore.isUploaded(state, totalPieces, currIndex)) {
+            return new FragResult(false, stateStore.remaining(state, totalPieces), "index [" + currIndex + "] exists");
+        }
+        if (file.getSize() < MIN_PART_SIZE && currIndex != totalPieces - 1) {
+            throw new GlobalException("Every piece except the last one must be at least 5MB");
+        }
+        if (file.getSize() > Integer.MAX_VALUE) {
+            throw new GlobalException("Piece is too large: " + file.getSize());
+        }
+        try (InputStream raw = file.getInputStream()) {
+            // 摘要计算放在缓冲之下，minio 对缓冲流的 mark/reset 不会让分片内容被重复计入
+            FragmentChecksums.Piece piece = checksums == null ? null : checksums.start(state, totalPieces, currIndex, raw);
+            try (InputStream inputStream = new BufferedInputStream(piece == null ? raw : piece.stream())) {
+                String etag = client.uploadPart(uploadBucket, uploadObject, uploadId, currIndex + 1,
+                        inputStream, (int) file.getSize());
+                if (piece != null) {
+                    checksums.completed(piece, etag);
+                }
+            } catch (Exception e) {
+                if (piece != null) {
+                    checksums.failed(piece);
+                }
+                throw e;
+            }
+        }
+        int uploaded = stateStore.markUploaded(state, totalPieces, currIndex);
+        if (uploaded < 0) {
+            return new FragResult(false, stateStore.remaining(state, totalPieces), "index [" + currIndex + "] exists");
+        }
+        if (uploaded == totalPieces) {
+            return new FragResult(true, null, "completed");
+        }
+        return new FragResult(false, stateStore.remaining(state, totalPieces), "index [" + currIndex + "] has been uploaded");
+    }
+
+    @Override
+    public boolean isStarted(String bucketName, String targetName, int totalPieces, String md5) {
+        if (bucketName != null && targetName != null
+                && (stateStore.contains(stateKey(bucketName, targetName, md5), totalPieces)
+                || stateStore.contains(stateKey(tempBucketName,
+                stagingName(bucketName, targetName, md5, totalPieces), md5), totalPieces))) {
+            return true;
+        }
+        return stateStore.contains(stateKey(tempBucketName, stagingName(null, null, md5, totalPieces), md5),
+                totalPieces);
+    }
+
+    @Override
+    public ObjectWriteResponse compose(String bucketName, String targetName, int totalPieces, String md5) throws Exception {
+        // 优先查找直接上传到目标对象的会话，其次是临时桶中为该目标上传的会话，最后是上传时未指定目标的会话
+        String uploadBucket = bucketName;
+        String uploadObject = targetName;
+        String uploadId = uploadId(bucketName, targetName, md5, totalPieces, false);
+        if (uploadId == null) {
+            uploadBucket = tempBucketName;
+            uploadObject = stagingName(bucketName, targetName, md5, totalPieces);
+            uploadId = uploadId(uploadBucket, uploadObject, md5, totalPieces, false);
+        }
+        if (uploadId == null) {
+            uploadObject = stagingName(null, null, md5, totalPieces);
+            uploadId = uploadId(uploadBucket, uploadObject, md5, totalPieces, false);
+        }
+        if (uploadId == null) {
+            throw new GlobalException("No upload found. Please check parameters [totalPieces] or [md5]");
+        }
+        List<Part> parts = client.listParts(uploadBucket, uploadObject, uploadId);
+        if (parts.size() != totalPieces) {
+            throw new GlobalException("The fragment index is not complete. Please check parameters [totalPieces] or [md5]");
+        }
+        String state = stateKey(uploadBucket, uploadObject, md5);
+        Map<Integer, String> etags = new HashMap<>();
+        parts.forEach(p -> etags.put(p.partNumber() - 1, p.etag()));
+        boolean verified = checksums == null || checksums.verify(state, md5, totalPieces, etags, null);
+        ObjectWriteResponse response = client.completeMultipartUpload(uploadBucket, uploadObject, uploadId,
+                parts.stream().map(p -> new Part(p.partNumber(), p.etag())).toArray(Part[]::new));
+        uploadIds.remove(sessionKey(uploadBucket, uploadObject, md5, totalPieces));
+        removeMarker(uploadBucket, uploadObject, md5, totalPieces);
+        try {
+            if (!verified) {
+                verifyCompleted(uploadBucket, uploadObject, parts, etags, totalPieces, md5);
+            }
+        } finally {
+            // 上传任务已完成，无论校验结果如何，会话都已结束
+            stateStore.remove(state, totalPieces);
+            if (checksums != null) {
+                checksums.remove(state, totalPieces);
+            }
+        }
+        if (uploadBucket.equals(bucketName) && uploadObject.equals(targetName)) {
+            return response;
+        }
+        // 上传时未指定目标，由服务端拷贝到目标位置（超过 5GB 时会自动使用分片拷贝）
+        ObjectWriteResponse copied = client.composeObject(ComposeObjectArgs.builder()
+                .bucket(bucketName)
+                .object(targetName)
+                .sources(Collections.singletonList(
+                        ComposeSource.builder().bucket(uploadBucket).object(uploadObject).build()))
+                .build());
+        client.removeObject(RemoveObjectArgs.builder().bucket(uploadBucket).object(uploadObject).build());
+        return copied;
+    }
+
+    /**
+     * 合并后读取未累加摘要的部分完成校验，md5 不符时删除合并出的对象（临时桶中的对象，目标对象不受影响）
+     */
+    private void verifyCompleted(String bucketName, String objectName, List<Part> parts, Map<Integer, String> etags,
+                                 int totalPieces, String md5) throws Exception {
+        try {
+            checksums.verify(stateKey(bucketName, objectName, md5), md5, totalPieces, etags, from -> {
+                long offset = 0;
+                for (int i = 0; i < from; i++) {
+                    offset += parts.get(i).partSize();
+                }
+                return client.getObject(GetObjectArgs.builder()
+                        .bucket(bucketName).object(objectName).offset(offset).build());
+            });
+        } catch (GlobalException e) {
+            client.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(objectName).build());
+            throw e;
+        }
+    }
+
+    @Override
+    public void abort(String bucketName, String targetName, int totalPieces, String md5) throws Exception {
+        // 与 compose 相同，目标对象上的会话和临时桶中的会话都要查找
+        if (bucketName != null && targetName != null) {
+            abort(bucketName, targetName, md5, totalPieces);
+            abort(tempBucketName, stagingName(bucketName, targetName, md5, totalPieces), md5, totalPieces);
+        }
+        abort(tempBucketName, stagingName(null, null, md5, totalPieces), md5, totalPieces);
+    }
+
+    private void abort(String bucketName, String objectName, String md5, int totalPieces) throws Exception {
+        String uploadId = uploadId(bucketName, objectName, md5, totalPieces, false);
+        if (uploadId != null) {
+            client.abortMultipartUpload(bucketName, objectName, uploadId);
+            uploadIds.remove(sessionKey(bucketName, objectName, md5, totalPieces));
+            removeMarker(bucketName, objectName, md5, totalPieces);
+        }
+        String state = stateKey(bucketName, objectName, md5);
+        stateStore.remove(state, totalPieces);
+        if (checksums != null) {
+            checksums.remove(state, totalPieces);
+        }
+    }
+
+    /**
+     * 获取会话对应的 uploadId。内存中没有时，从标记对象中找回本会话创建的上传任务，并用已上传的分片重建状态
+     * @param create 找不到时是否发起新的上传任务
+     * @return uploadId，不存在且不创建时返回 null
+     */
+    private String uploadId(String bucketName, String objectName, String md5, int totalPieces,
+                            boolean create) throws Exception {
+        String key = sessionKey(bucketName, objectName, md5, totalPieces);
+        CompletableFuture<String> future = uploadIds.get(key);
+        if (future == null) {
+            CompletableFuture<String> created = new CompletableFuture<>();
+            future = uploadIds.putIfAbsent(key, created);
+            if (future == null) {
+                // 只有一个线程负责查找或创建，其余线程等待结果
+                future = created;
+                try {
+                    String uploadId = readMarker(bucketName, objectName, md5, totalPieces);
+                    List<Part> parts = uploadId == null ? null : listParts(bucketName, objectName, uploadId);
+                    if (uploadId != null && parts == null) {
+                        // 上传任务已完成或已取消，标记已过期
+                        removeMarker(bucketName, objectName, md5, totalPieces);
+                    }
+                    if (parts != null) {
+                        stateStore.rebuild(stateKey(bucketName, objectName, md5), totalPieces,
+                                parts.stream().map(p -> p.partNumber() - 1).collect(Collectors.toList()));
+                    } else if (create) {
+                        uploadId = client.createMultipartUpload(bucketName, objectName, null);
+                        writeMarker(bucketName, objectName, md5, totalPieces, uploadId);
+                        stateStore.rebuild(stateKey(bucketName, objectName, md5), totalPieces, Collections.emptyList());
+                    } else {
+                        uploadId = null;
+                    }
+                    created.complete(uploadId);
+                } catch (Exception e) {
+                    created.completeExceptionally(e);
+                }
+                if (created.isCompletedExceptionally() || created.getNow(null) == null) {
+                    uploadIds.remove(key, created);
+                }
+            }
+        }
+        try {
+            String uploadId = future.get();
+            return uploadId == null && create ? uploadId(bucketName, objectName, md5, totalPieces, true) : uploadId;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * 读取会话对应的 uploadId。同一个对象上可能同时有其他文件或其他方式发起的上传任务，
+     * 因此只认创建时记录在标记对象中的 uploadId
+     * @return 没有标记时返回 null
+     */
+    private String readMarker(String bucketName, String objectName, String md5, int totalPieces) throws Exception {
+        try (InputStream in = client.getObject(GetObjectArgs.builder()
+                .bucket(tempBucketName).object(markerName(bucketName, objectName, md5, totalPieces)).build())) {
+            return new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
+        } catch (ErrorResponseException e) {
+            if (ObjectMetadataCache.isNotFound(e)) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private void writeMarker(String bucketName, String objectName, String md5, int totalPieces,
+                             String uploadId) throws Exception {
+        byte[] data = uploadId.getBytes(StandardCharsets.UTF_8);
+        try {
+            client.putObject(PutObjectArgs.builder()
+                    .bucket(tempBucketName)
+                    .object(markerName(bucketName, objectName, md5, totalPieces))
+                    .stream(new ByteArrayInputStream(data), data.length, -1)
+                    .build());
+        } catch (Exception e) {
+            try {
+                client.abortMultipartUpload(bucketName, objectName, uploadId);
+            } catch (Exception suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private void removeMarker(String bucketName, String objectName, String md5, int totalPieces) throws Exception {
+        client.removeObject(RemoveObjectArgs.builder()
+                .bucket(tempBucketName).object(markerName(bucketName, objectName, md5, totalPieces)).build());
+    }
+
+    /**
+     * 列出上传任务已上传的分片
+     * @return 上传任务已完成或已取消时返回 null
+     */
+    private List<Part> listParts(String bucketName, String objectName, String uploadId) throws Exception {
+        try {
+            return client.listParts(bucketName, objectName, uploadId);
+        } catch (ErrorResponseException e) {
+            if ("NoSuchUpload".equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 记录 uploadId 的标记对象名，对象名中的 目标桶/目标对象 取摘要，避免超过对象名的长度限制
+     */
+    private static String markerName(String bucketName, String objectName, String md5, int totalPieces) {
+        return stagingName(null, null, md5, totalPieces) + ".uploads/"
+                + Hashing.sha256().hashString(bucketName + "/" + objectName, StandardCharsets.UTF_8);
+    }
+
+    private static String sessionKey(String bucketName, String objectName, String md5, int totalPieces) {
+        return bucketName + "/" + objectName + "/" + md5 + "/" + totalPieces;
+    }
+
+    /**
+     * 上传任务在 {@link FragmentStateStore} 和 {@link FragmentChecksums} 中的会话标识（代替 md5），
+     * 同一个文件上传到不同目标时各自的状态互不影响
+     */
+    private static String stateKey(String bucketName, String objectName, String md5) {
+        return md5 + "@" + Hashing.sha256().hashString(bucketName + "/" + objectName, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 分片上传到临时桶时使用的对象名。指定了目标时按目标区分，同一个文件上传到不同目标时互不影响
+     */
+    private static String stagingName(String bucketName, String targetName, String md5, int totalPieces) {
+        String name = md5 + "-" + totalPieces;
+        if (bucketName == null || targetName == null) {
+            return name;
+        }
+        return name + "." + Hashing.sha256().hashString(bucketName + "/" + targetName, StandardCharsets.UTF_8);
+    }
+}
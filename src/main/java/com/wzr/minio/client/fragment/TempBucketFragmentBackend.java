@@ -0,0 +1,280 @@
+package com.wzr.minio.client.fragment;
+
+import com.wzr.minio.client.FragResult;
+import com.wzr.minio.config.GlobalException;
+import io.minio.GetObjectArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * 临时桶方式（默认）：每个分片作为一个完整对象上传到临时桶，合并时由服务端拷贝为目标文件，再删除分片
+ *
+ * @author wzr
+ * @date 2026-10-16 15:10
+ */
+public class TempBucketFragmentBackend implements FragmentBackend {
+
+    private final MinioClient client;
+
+    private final String tempBucketName;
+
+    private final FragmentStateStore stateStore;
+
+    private final ComposePlanner composePlanner;
+
+    private final FragmentComposer fragmentComposer;
+
+    /** md5 校验，未开启时为空 */
+    private final FragmentChecksums checksums;
+
+    public TempBucketFragmentBackend(MinioClient client, String tempBucketName, FragmentStateStore stateStore,
+                                     ComposePlanner composePlanner, FragmentComposer fragmentComposer,
+                                     FragmentChecksums checksums) {
+        this.client = client;
+        this.tempBucketName = tempBucketName;
+        this.stateStore = stateStore;
+        this.composePlanner = composePlanner;
+        this.fragmentComposer = fragmentComposer;
+        this.checksums = checksums;
+    }
+
+    @Override
+    public FragResult upload(String bucketName, String targetName, MultipartFile file,
+                             int currIndex, int totalPieces, String md5) throws Exception {
+        this.loadState(md5, totalPieces);
+        if (stateStore.isUploaded(md5, totalPieces, currIndex)) {
+            return new FragResult(false, stateStore.remaining(md5, totalPieces), "index [" + currIndex + "] exists");
+        }
+        // 把当前分片上传至临时桶
+        try (InputStream inputStream = file.getInputStream()) {
+            FragmentChecksums.Piece piece = checksums == null
+                    ? null : checksums.start(md5, totalPieces, currIndex, inputStream);
+            try {
+                ObjectWriteResponse response = client.putObject(
+                        PutObjectArgs.builder()
+                                .bucket(tempBucketName)
+                                .object(getFileTempPath(md5, currIndex, totalPieces))
+                                .stream(piece == null ? inputStream : piece.stream(), file.getSize(), -1)
+                                .build());
+                if (piece != null) {
+                    checksums.completed(piece, response.etag());
+                }
+            } catch (Exception e) {
+                if (piece != null) {
+                    checksums.failed(piece);
+                }
+                throw e;
+            }
+        }
+        int uploaded = stateStore.markUploaded(md5, totalPieces, currIndex);
+        if (uploaded < 0) {
+            // 另一个线程同时上传了同一个索引
+            return new FragResult(false, stateStore.remaining(md5, totalPieces), "index [" + currIndex + "] exists");
+        }
+        // 当前索引是最后一个未上传的索引，上传完当前索引后就完全结束了。
+        if (uploaded == totalPieces) {
+            return new FragResult(true, null, "completed");
+        }
+        return new FragResult(false, stateStore.remaining(md5, totalPieces), "index [" + currIndex + "] has been uploaded");
+    }
+
+    @Override
+    public boolean isStarted(String bucketName, String targetName, int totalPieces, String md5) {
+        return stateStore.contains(md5, totalPieces);
+    }
+
+    @Override
+    public ObjectWriteResponse compose(String bucketName, String targetName, int totalPieces, String md5) throws Exception {
+        // 状态表明还有分片未上传时，无需列举临时桶
+        if (stateStore.contains(md5, totalPieces) && !stateStore.isCompleted(md5, totalPieces)) {
+            throw new GlobalException("The fragment index is not complete. Please check parameters [totalPieces] or [md5]");
+        }
+        // 检查文件索引是否都上传完毕（分片名补零对齐，按名称排序即按索引排序）
+        Map<String, Item> savedIndex = new TreeMap<>();
+        for (Result<Item> result : listPieces(md5)) {
+            Item item = result.get();
+            if (pieceIndex(item.objectName(), totalPieces) >= 0) {
+                savedIndex.put(item.objectName(), item);
+            }
+        }
+        if (savedIndex.size() != totalPieces) {
+            throw new GlobalException("The fragment index is not complete. Please check parameters [totalPieces] or [md5]");
+        }
+        if (checksums != null) {
+            Map<Integer, String> etags = new HashMap<>();
+            savedIndex.values().forEach(item -> etags.put(pieceIndex(item.objectName(), totalPieces), item.etag()));
+            checksums.verify(md5, md5, totalPieces, etags, from -> readPieces(md5, from, totalPieces));
+        }
+        ComposeNode plan = composePlanner.plan(new ArrayList<>(savedIndex.values()),
+                tempBucketName, md5.concat("-tmp/"), bucketName, targetName);
+        ObjectWriteResponse response = fragmentComposer.compose(plan);
+        stateStore.remove(md5, totalPieces);
+        if (checksums != null) {
+            checksums.remove(md5, totalPieces);
+        }
+        return response;
+    }
+
+    @Override
+    public void abort(String bucketName, String targetName, int totalPieces, String md5) throws Exception {
+        List<DeleteObject> pieces = new ArrayList<>();
+        for (Result<Item> result : listPieces(md5)) {
+            pieces.add(new DeleteObject(result.get().objectName()));
+        }
+        if (!pieces.isEmpty()) {
+            // removeObjects 是惰性的，遍历结果时才会发出请求
+            for (Result<DeleteError> result : client.removeObjects(
+                    RemoveObjectsArgs.builder().bucket(tempBucketName).objects(pieces).build())) {
+                DeleteError error = result.get();
+                throw new GlobalException("Failed to remove fragment [" + error.objectName() + "]: " + error.message());
+            }
+        }
+        stateStore.remove(md5, totalPieces);
+        if (checksums != null) {
+            checksums.remove(md5, totalPieces);
+        }
+    }
+
+    /**
+     * 依次读取 [fromIndex, totalPieces) 的分片，读完一个再打开下一个
+     */
+    private InputStream readPieces(String md5, int fromIndex, int totalPieces) {
+        return new SequenceInputStream(new Enumeration<InputStream>() {
+
+            private int index = fromIndex;
+
+            @Override
+            public boolean hasMoreElements() {
+                return index < totalPieces;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                if (index >= totalPieces) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return client.getObject(GetObjectArgs.builder()
+                            .bucket(tempBucketName)
+                            .object(getFileTempPath(md5, index++, totalPieces))
+                            .build());
+                } catch (Exception e) {
+                    throw new GlobalException("Failed to read fragment [" + (index - 1) + "]: " + e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 状态中没有该会话时，列举一次临时桶来重建状态
+     */
+    private void loadState(String md5, int totalPieces) throws Exception {
+        if (stateStore.contains(md5, totalPieces)) {
+            return;
+        }
+        List<Integer> savedIndex = new ArrayList<>();
+        for (Result<Item> item : listPieces(md5)) {
+            int index = pieceIndex(item.get().objectName(), totalPieces);
+            if (index >= 0) {
+                savedIndex.add(index);
+            }
+        }
+        stateStore.rebuild(md5, totalPieces, savedIndex);
+    }
+
+    private Iterable<Result<Item>> listPieces(String md5) {
+        return client.listObjects(
+                ListObjectsArgs.builder()
+                        .bucket(tempBucketName)
+                        .prefix(md5.concat("/"))
+                        .recursive(false)
+                        .build());
+    }
+
+    /**
+     * 通过文件的md5，以及分片文件的索引，构造分片文件的临时存储路径
+     * @param md5 文件md5
+     * @param currIndex 分片文件索引（从0开始）
+     * @param totalPieces 总分片
+     * @return 临时存储路径
+     */
+    private static String getFileTempPath(String md5, int currIndex, int totalPieces) {
+
+        int zeroCnt = countDigits(totalPieces) - countDigits(currIndex);
+        StringBuilder name = new StringBuilder(md5);
+        name.append("/");
+        for (int i = 0; i < zeroCnt; i++) {
+            name.append(0);
+        }
+        name.append(currIndex);
+        return name.toString();
+    }
+
+    /**
+     * 从分片的临时存储路径中解析索引
+     * @return 补零宽度与 totalPieces 不符（切片总数不同的旧上传留下的分片）或索引越界时返回 -1
+     */
+    private static int pieceIndex(String objectName, int totalPieces) {
+        String name = getContentAfterSlash(objectName);
+        if (name.length() != countDigits(totalPieces)) {
+            return -1;
+        }
+        try {
+            int index = Integer.parseInt(name);
+            return index < totalPieces ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 获取数值的位数（用于构造临时文件名）
+     * @param number
+     * @return
+     */
+    private static int countDigits(int number) {
+        if (number == 0) {
+            return 1;  // 0 本身有一位
+        }
+        int count = 0;
+        while (number != 0) {
+            number /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 给定一个字符串，返回其"/"符号后面的字符串
+     * @param input
+     * @return
+     */
+    private static String getContentAfterSlash(String input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        int slashIndex = input.indexOf("/");
+        if (slashIndex != -1 && slashIndex < input.length() - 1) {
+            return input.substring(slashIndex + 1);
+        }
+        return "";
+    }
+}
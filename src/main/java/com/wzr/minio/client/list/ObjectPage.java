@@ -0,0 +1,60 @@
+package com.wzr.minio.client.list;
+
+import io.minio.messages.Item;
+import io.minio.messages.ListBucketResultV2;
+import io.minio.messages.Prefix;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一页列举结果
+ * @author wzr
+ * @date 2026-10-16 19:50
+ */
+@Data
+public class ObjectPage {
+
+    /**
+     * 本页的对象（非递归列举时，目录排在文件之后）
+     */
+    private List<Item> items;
+
+    /**
+     * 获取下一页时使用的续列令牌，最后一页为空
+     */
+    private String nextContinuationToken;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean truncated;
+
+    public ObjectPage() {
+
+    }
+
+    public ObjectPage(List<Item> items, String nextContinuationToken, boolean truncated) {
+        this.items = items;
+        this.nextContinuationToken = nextContinuationToken;
+        this.truncated = truncated;
+    }
+
+    /**
+     * 转换服务端的返回结果，并按返回的编码方式解码对象名
+     */
+    public static ObjectPage of(ListBucketResultV2 result) {
+        List<Item> items = new ArrayList<>(result.contents().size() + result.commonPrefixes().size());
+        for (Item item : result.contents()) {
+            item.setEncodingType(result.encodingType());
+            items.add(item);
+        }
+        for (Prefix prefix : result.commonPrefixes()) {
+            Item item = prefix.toItem();
+            item.setEncodingType(result.encodingType());
+            items.add(item);
+        }
+        return new ObjectPage(items, result.nextContinuationToken(), result.isTruncated());
+    }
+}
@@ -0,0 +1,140 @@
+package com.wzr.minio.client.list;
+
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.config.GlobalException;
+import io.minio.messages.Item;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 按页懒加载的对象列举
+ * <p>只有当前页被消费完时才请求下一页，内存中最多保留一页（开启预取时为两页）。
+ * 开启预取时，拿到一页后立即在后台请求下一页，与当前页的处理并行。</p>
+ * <p>不支持拆分，用于并行流时也是顺序列举。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 20:00
+ */
+public class PagedObjectSpliterator implements Spliterator<Item>, AutoCloseable {
+
+    private final MultipartMinioClient client;
+
+    private final String bucketName;
+
+    private final String prefix;
+
+    private final String delimiter;
+
+    private final String startAfter;
+
+    private final int pageSize;
+
+    private final Executor prefetchExecutor;
+
+    private Iterator<Item> current = Collections.emptyIterator();
+
+    private boolean started;
+
+    private boolean lastPage;
+
+    private String continuationToken;
+
+    private CompletableFuture<ObjectPage> prefetched;
+
+    /**
+     * @param delimiter 分隔符，为空时递归列举
+     * @param startAfter 从该对象名之后开始列举（用于断点续列），可为空
+     * @param pageSize 每页对象数（不超过 1000）
+     * @param prefetchExecutor 预取下一页的线程池，为空时不预取
+     */
+    public PagedObjectSpliterator(MultipartMinioClient client, String bucketName, String prefix, String delimiter,
+                                  String startAfter, int pageSize, Executor prefetchExecutor) {
+        this.client = client;
+        this.bucketName = bucketName;
+        this.prefix = prefix;
+        this.delimiter = delimiter;
+        this.startAfter = startAfter;
+        this.pageSize = pageSize;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Item> action) {
+        while (!current.hasNext()) {
+            if (!nextPage()) {
+                return false;
+            }
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<Item> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * 取消尚未完成的预取
+     */
+    @Override
+    public void close() {
+        if (prefetched != null) {
+            prefetched.cancel(false);
+            prefetched = null;
+        }
+    }
+
+    private boolean nextPage() {
+        if (lastPage) {
+            return false;
+        }
+        ObjectPage page;
+        if (prefetched != null) {
+            try {
+                page = prefetched.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            } finally {
+                prefetched = null;
+            }
+        } else {
+            // 续列令牌存在时服务端会忽略 startAfter，这里只在第一页传入
+            page = fetch(started ? null : startAfter, continuationToken);
+        }
+        started = true;
+        lastPage = !page.isTruncated();
+        continuationToken = page.getNextContinuationToken();
+        current = page.getItems().iterator();
+        if (!lastPage && prefetchExecutor != null) {
+            String token = continuationToken;
+            prefetched = CompletableFuture.supplyAsync(() -> fetch(null, token), prefetchExecutor);
+        }
+        return true;
+    }
+
+    private ObjectPage fetch(String startAfter, String continuationToken) {
+        try {
+            return ObjectPage.of(client.listObjectsPage(bucketName, prefix, delimiter, startAfter,
+                    continuationToken, pageSize));
+        } catch (Exception e) {
+            throw new GlobalException("Failed to list objects in bucket [" + bucketName + "]: " + e.getMessage(), e);
+        }
+    }
+}
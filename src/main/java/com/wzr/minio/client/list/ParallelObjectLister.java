@@ -0,0 +1,389 @@
+package com.wzr.minio.client.list;
+
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.config.GlobalException;
+import io.minio.messages.Item;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 按前缀分片的并行列举
+ * <p>先用分隔符 "/" 列举出前缀下的第一级"目录"，每个目录作为一个分片，在 ForkJoinPool 中并行地递归列举，
+ * 结果合并为一个流。同时进行中的分片数不超过线程池的并行度，每个分片最多缓存 {@link #PAGES_PER_SHARD} 页，
+ * 消费跟不上时列举线程会阻塞等待（通过 ManagedBlocker，不会占满线程池）。</p>
+ * <p>有序模式下按对象名的字典序输出，与顺序列举的结果完全一致；无序模式下哪个分片先返回就先输出哪个，吞吐更高。
+ * 第一级目录越多，并行效果越好；只有一个目录时退化为顺序列举。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 20:40
+ */
+public class ParallelObjectLister {
+
+    /** 每个分片最多缓存的页数 */
+    static final int PAGES_PER_SHARD = 4;
+
+    private static final String DELIMITER = "/";
+
+    private final MultipartMinioClient client;
+
+    private final ForkJoinPool pool;
+
+    private final int pageSize;
+
+    public ParallelObjectLister(MultipartMinioClient client, ForkJoinPool pool, int pageSize) {
+        this.client = client;
+        this.pool = pool;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * 递归列举前缀下的全部对象
+     * <p>流是懒加载的，使用完毕后请关闭，以停止仍在进行的分片</p>
+     * @param ordered 是否按对象名排序输出
+     */
+    public Stream<Item> list(String bucketName, String prefix, boolean ordered) {
+        ShardedSpliterator spliterator = new ShardedSpliterator(bucketName, prefix == null ? "" : prefix, ordered);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * 按 UTF-8 字节序（即码点顺序）比较对象名，与服务端的排序一致
+     */
+    static int compareKeys(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * 分片交给消费端的一页数据；items 与 error 都为空时表示分片结束
+     */
+    private static final class Page {
+
+        static final Page END = new Page(null, null);
+
+        final List<Item> items;
+
+        final RuntimeException error;
+
+        Page(List<Item> items, RuntimeException error) {
+            this.items = items;
+            this.error = error;
+        }
+    }
+
+    private final class ShardedSpliterator implements Spliterator<Item> {
+
+        private final String bucketName;
+
+        private final String prefix;
+
+        private final boolean ordered;
+
+        /** 无序模式下所有分片共用的结果队列 */
+        private final BlockingQueue<Page> shared;
+
+        /** 有序模式下按对象名排列的待输出分片 */
+        private final Deque<Shard> pending = new ArrayDeque<>();
+
+        private volatile boolean cancelled;
+
+        private int running;
+
+        private Iterator<Item> current = Collections.emptyIterator();
+
+        private Iterator<Item> top = Collections.emptyIterator();
+
+        private boolean topLastPage;
+
+        private boolean topStarted;
+
+        private String topToken;
+
+        ShardedSpliterator(String bucketName, String prefix, boolean ordered) {
+            this.bucketName = bucketName;
+            this.prefix = prefix;
+            this.ordered = ordered;
+            this.shared = ordered ? null : new ArrayBlockingQueue<>(PAGES_PER_SHARD * pool.getParallelism());
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Item> action) {
+            return ordered ? tryAdvanceOrdered(action) : tryAdvanceUnordered(action);
+        }
+
+        private boolean tryAdvanceUnordered(Consumer<? super Item> action) {
+            while (!current.hasNext()) {
+                if (running < pool.getParallelism()) {
+                    Item item = nextTop();
+                    if (item != null) {
+                        if (item.isDir()) {
+                            start(item.objectName(), shared);
+                            continue;
+                        }
+                        // 第一级的文件直接输出
+                        action.accept(item);
+                        return true;
+                    }
+                }
+                if (running == 0) {
+                    return false;
+                }
+                Page page = take(shared);
+                if (page.items == null) {
+                    running--;
+                } else {
+                    current = page.items.iterator();
+                }
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        private boolean tryAdvanceOrdered(Consumer<? super Item> action) {
+            while (!current.hasNext()) {
+                fill();
+                Shard head = pending.peek();
+                if (head == null) {
+                    return false;
+                }
+                Page page = head.next();
+                if (page.items == null) {
+                    pending.poll();
+                    if (head.queue != null) {
+                        running--;
+                    }
+                } else {
+                    current = page.items.iterator();
+                }
+            }
+            action.accept(current.next());
+            return true;
+        }
+
+        /**
+         * 有序模式下按顺序读取第一级条目：目录启动一个分片，相邻的文件攒成一个本地分片，
+         * 进行中的分片数达到并行度或待输出的分片过多时暂停
+         */
+        private void fill() {
+            while (running < pool.getParallelism() && pending.size() <= 2 * pool.getParallelism()) {
+                Item item = nextTop();
+                if (item == null) {
+                    return;
+                }
+                if (item.isDir()) {
+                    BlockingQueue<Page> queue = new ArrayBlockingQueue<>(PAGES_PER_SHARD);
+                    start(item.objectName(), queue);
+                    pending.add(new Shard(queue));
+                } else {
+                    Shard tail = pending.peekLast();
+                    if (tail == null || !tail.accepts(pageSize)) {
+                        tail = new Shard(null);
+                        pending.add(tail);
+                    }
+                    tail.items.add(item);
+                }
+            }
+        }
+
+        private void start(String shardPrefix, BlockingQueue<Page> queue) {
+            pool.execute(new ShardTask(this, shardPrefix, queue));
+            running++;
+        }
+
+        /**
+         * 读取下一个第一级条目，有序模式下每页按对象名重新排序（服务端每页先返回文件、再返回目录）
+         */
+        private Item nextTop() {
+            while (!top.hasNext()) {
+                if (topLastPage) {
+                    return null;
+                }
+                ObjectPage page = fetch(prefix, DELIMITER, topStarted ? topToken : null);
+                topStarted = true;
+                topLastPage = !page.isTruncated();
+                topToken = page.getNextContinuationToken();
+                List<Item> items = page.getItems();
+                if (ordered) {
+                    items = new ArrayList<>(items);
+                    items.sort((a, b) -> compareKeys(a.objectName(), b.objectName()));
+                }
+                top = items.iterator();
+            }
+            return top.next();
+        }
+
+        ObjectPage fetch(String fetchPrefix, String delimiter, String continuationToken) {
+            try {
+                return ObjectPage.of(client.listObjectsPage(bucketName, fetchPrefix, delimiter, null,
+                        continuationToken, pageSize));
+            } catch (Exception e) {
+                throw new GlobalException("Failed to list objects in bucket [" + bucketName + "]: "
+                        + e.getMessage(), e);
+            }
+        }
+
+        private Page take(BlockingQueue<Page> queue) {
+            Page page;
+            try {
+                page = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GlobalException("Interrupted while listing bucket [" + bucketName + "]", e);
+            }
+            if (page.error != null) {
+                throw page.error;
+            }
+            return page;
+        }
+
+        @Override
+        public Spliterator<Item> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ordered ? ORDERED | NONNULL : NONNULL;
+        }
+
+        /**
+         * 停止仍在进行的分片，阻塞中的分片会在超时检查时退出
+         */
+        void close() {
+            cancelled = true;
+            if (shared != null) {
+                shared.clear();
+            }
+            for (Shard shard : pending) {
+                if (shard.queue != null) {
+                    shard.queue.clear();
+                }
+            }
+        }
+
+        /**
+         * 有序模式下待输出的一个分片：远程分片从队列中读取，本地分片是第一级中相邻的若干文件
+         */
+        private final class Shard {
+
+            final BlockingQueue<Page> queue;
+
+            final List<Item> items;
+
+            private boolean drained;
+
+            Shard(BlockingQueue<Page> queue) {
+                this.queue = queue;
+                this.items = queue == null ? new ArrayList<>() : null;
+            }
+
+            boolean accepts(int limit) {
+                return queue == null && !drained && items.size() < limit;
+            }
+
+            Page next() {
+                if (queue != null) {
+                    return take(queue);
+                }
+                if (drained) {
+                    return Page.END;
+                }
+                drained = true;
+                return new Page(items, null);
+            }
+        }
+    }
+
+    /**
+     * 在 ForkJoinPool 中递归列举一个分片，按页放入队列
+     */
+    private static final class ShardTask extends RecursiveAction {
+
+        private final ShardedSpliterator owner;
+
+        private final String prefix;
+
+        private final BlockingQueue<Page> queue;
+
+        ShardTask(ShardedSpliterator owner, String prefix, BlockingQueue<Page> queue) {
+            this.owner = owner;
+            this.prefix = prefix;
+            this.queue = queue;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                String token = null;
+                ObjectPage page;
+                do {
+                    page = owner.fetch(prefix, null, token);
+                    token = page.getNextContinuationToken();
+                    if (!page.getItems().isEmpty() && !put(new Page(page.getItems(), null))) {
+                        return;
+                    }
+                } while (page.isTruncated() && !owner.cancelled);
+                put(Page.END);
+            } catch (RuntimeException e) {
+                put(new Page(null, e));
+            }
+        }
+
+        /**
+         * 放入队列，队列满时阻塞（并通知线程池补充线程）
+         * @return 列举被取消时返回 false
+         */
+        private boolean put(Page page) {
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        while (!owner.cancelled && !queue.offer(page, 100, TimeUnit.MILLISECONDS)) {
+                            // 定期检查是否被取消
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return owner.cancelled || queue.offer(page);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return !owner.cancelled;
+        }
+    }
+}
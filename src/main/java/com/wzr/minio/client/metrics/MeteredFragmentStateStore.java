@@ -0,0 +1,64 @@
+package com.wzr.minio.client.metrics;
+
+import com.wzr.minio.client.fragment.FragmentStateStore;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 记录分片上传会话开始的 FragmentStateStore 包装
+ * <p>会话中第一个分片被记录时（markUploaded 返回 1）视为会话开始；应用重启后续传的会话会先重建状态，不会重复计数。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 22:25
+ */
+public class MeteredFragmentStateStore implements FragmentStateStore {
+
+    private final FragmentStateStore delegate;
+
+    private final MinioMetrics metrics;
+
+    public MeteredFragmentStateStore(FragmentStateStore delegate, MinioMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean contains(String md5, int totalPieces) {
+        return delegate.contains(md5, totalPieces);
+    }
+
+    @Override
+    public void rebuild(String md5, int totalPieces, Collection<Integer> uploadedIndexes) {
+        delegate.rebuild(md5, totalPieces, uploadedIndexes);
+    }
+
+    @Override
+    public boolean isUploaded(String md5, int totalPieces, int index) {
+        return delegate.isUploaded(md5, totalPieces, index);
+    }
+
+    @Override
+    public int markUploaded(String md5, int totalPieces, int index) {
+        int uploaded = delegate.markUploaded(md5, totalPieces, index);
+        if (uploaded == 1) {
+            metrics.sessionStarted(MinioMetrics.SessionType.FRAGMENT);
+        }
+        return uploaded;
+    }
+
+    @Override
+    public Set<Integer> remaining(String md5, int totalPieces) {
+        return delegate.remaining(md5, totalPieces);
+    }
+
+    @Override
+    public boolean isCompleted(String md5, int totalPieces) {
+        return delegate.isCompleted(md5, totalPieces);
+    }
+
+    @Override
+    public void remove(String md5, int totalPieces) {
+        delegate.remove(md5, totalPieces);
+    }
+}
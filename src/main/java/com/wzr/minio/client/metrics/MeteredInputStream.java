@@ -0,0 +1,63 @@
+package com.wzr.minio.client.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 统计读取字节数的输入流，关闭时把下载的字节数记录到指标中
+ *
+ * @author wzr
+ * @date 2026-10-16 22:30
+ */
+public class MeteredInputStream extends FilterInputStream {
+
+    private final MinioMetrics metrics;
+
+    private final String bucketName;
+
+    private long count;
+
+    private boolean closed;
+
+    public MeteredInputStream(InputStream in, MinioMetrics metrics, String bucketName) {
+        super(in);
+        this.metrics = metrics;
+        this.bucketName = bucketName;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count += n;
+        }
+        return n;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (!closed) {
+                closed = true;
+                metrics.bytesDownloaded(bucketName, count);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.wzr.minio.client.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于 Micrometer 的指标记录
+ * <ul>
+ *     <li>minio.operations：每次操作的耗时，标签 operation、bucket、outcome（success/error）、exception</li>
+ *     <li>minio.operations.active：正在进行的操作数</li>
+ *     <li>minio.bytes.uploaded / minio.bytes.downloaded：上传、下载的字节数，标签 bucket</li>
+ *     <li>minio.upload.sessions：上传会话数，标签 type（fragment/presigned）、state（started/completed/abandoned）</li>
+ * </ul>
+ *
+ * @author wzr
+ * @date 2026-10-16 22:20
+ */
+public class MicrometerMinioMetrics implements MinioMetrics {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    private final boolean percentileHistogram;
+
+    private final AtomicInteger active;
+
+    /**
+     * @param percentileHistogram 是否为耗时发布百分位直方图（用于在监控系统中聚合计算百分位）
+     */
+    public MicrometerMinioMetrics(MeterRegistry registry, boolean percentileHistogram) {
+        this.registry = registry;
+        this.percentileHistogram = percentileHistogram;
+        this.active = registry.gauge("minio.operations.active", new AtomicInteger());
+    }
+
+    @Override
+    public Sample start(String operation, String bucketName) {
+        long startTime = registry.config().clock().monotonicTime();
+        active.incrementAndGet();
+        return error -> {
+            active.decrementAndGet();
+            Timer.builder("minio.operations")
+                    .description("MinioUtils operation latency")
+                    .tag("operation", operation)
+                    .tag("bucket", bucketName == null ? NONE : bucketName)
+                    .tag("outcome", error == null ? "success" : "error")
+                    .tag("exception", error == null ? NONE : error.getClass().getSimpleName())
+                    .publishPercentileHistogram(percentileHistogram)
+                    .register(registry)
+                    .record(registry.config().clock().monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+        };
+    }
+
+    @Override
+    public void bytesUploaded(String bucketName, long bytes) {
+        bytes("minio.bytes.uploaded", bucketName, bytes);
+    }
+
+    @Override
+    public void bytesDownloaded(String bucketName, long bytes) {
+        bytes("minio.bytes.downloaded", bucketName, bytes);
+    }
+
+    @Override
+    public void sessionStarted(SessionType type) {
+        session(type, "started");
+    }
+
+    @Override
+    public void sessionCompleted(SessionType type) {
+        session(type, "completed");
+    }
+
+    @Override
+    public void sessionAbandoned(SessionType type) {
+        session(type, "abandoned");
+    }
+
+    private void bytes(String name, String bucketName, long bytes) {
+        Counter.builder(name)
+                .baseUnit("bytes")
+                .tag("bucket", bucketName == null ? NONE : bucketName)
+                .register(registry)
+                .increment(bytes);
+    }
+
+    private void session(SessionType type, String state) {
+        Counter.builder("minio.upload.sessions")
+                .tag("type", type.name().toLowerCase(Locale.ROOT))
+                .tag("state", state)
+                .register(registry)
+                .increment();
+    }
+}
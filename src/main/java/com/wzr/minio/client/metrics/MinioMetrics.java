@@ -0,0 +1,83 @@
+package com.wzr.minio.client.metrics;
+
+/**
+ * MinioUtils 的指标记录接口
+ * <p>默认使用 {@link #NOOP}，不产生任何开销；classpath 中存在 Micrometer 且容器中有 MeterRegistry 时，
+ * 自动配置会注入 {@link MicrometerMinioMetrics}。也可以实现该接口对接其他监控系统。</p>
+ * <p>实现类必须是线程安全的。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 22:10
+ */
+public interface MinioMetrics {
+
+    /**
+     * 不记录任何指标
+     */
+    MinioMetrics NOOP = new MinioMetrics() {
+    };
+
+    /**
+     * 一次操作的计时
+     */
+    interface Sample {
+
+        /**
+         * 操作结束
+         * @param error 操作失败时的异常，成功时为空
+         */
+        void stop(Throwable error);
+    }
+
+    /**
+     * 上传分片会话的类型
+     */
+    enum SessionType {
+        /** uploadFileFragment / composeFileFragment */
+        FRAGMENT,
+        /** 预签名分片上传 */
+        PRESIGNED
+    }
+
+    Sample NOOP_SAMPLE = error -> {
+    };
+
+    /**
+     * 开始一次操作
+     * @param operation 操作名（MinioUtils 的方法名）
+     * @param bucketName 存储桶，可为空
+     */
+    default Sample start(String operation, String bucketName) {
+        return NOOP_SAMPLE;
+    }
+
+    /**
+     * 记录上传的字节数
+     */
+    default void bytesUploaded(String bucketName, long bytes) {
+    }
+
+    /**
+     * 记录下载的字节数
+     */
+    default void bytesDownloaded(String bucketName, long bytes) {
+    }
+
+    /**
+     * 开始了一个上传会话（上传了第一个分片，或发起了预签名分片上传）
+     */
+    default void sessionStarted(SessionType type) {
+    }
+
+    /**
+     * 上传会话合并完成
+     */
+    default void sessionCompleted(SessionType type) {
+    }
+
+    /**
+     * 上传会话被取消，或分片上传会话的状态空闲过期（默认的内存存储）
+     */
+    default void sessionAbandoned(SessionType type) {
+    }
+}
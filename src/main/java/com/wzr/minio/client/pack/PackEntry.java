@@ -0,0 +1,74 @@
+package com.wzr.minio.client.pack;
+
+import com.google.common.io.BaseEncoding;
+
+/**
+ * 打包存储的一个小对象在打包对象中的位置
+ *
+ * @author wzr
+ * @date 2026-10-17 01:40
+ */
+public final class PackEntry {
+
+    final PackObject pack;
+
+    /** 最初写入的打包对象名 */
+    final String origin;
+
+    private final long offset;
+
+    private final int length;
+
+    private final byte[] md5;
+
+    private final String contentType;
+
+    PackEntry(PackObject pack, String origin, long offset, int length, byte[] md5, String contentType) {
+        this.pack = pack;
+        this.origin = origin;
+        this.offset = offset;
+        this.length = length;
+        this.md5 = md5;
+        this.contentType = contentType;
+    }
+
+    /**
+     * 所在打包对象的对象名
+     */
+    public String getPackName() {
+        return pack.name;
+    }
+
+    /**
+     * 在打包对象中的起始位置
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * 内容的 md5（十六进制），与单次上传的对象的 etag 相同
+     */
+    public String getEtag() {
+        return hex(md5);
+    }
+
+    static String hex(byte[] md5) {
+        return BaseEncoding.base16().lowerCase().encode(md5);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 写入时间（毫秒），压缩移动后仍为最初写入的时间
+     */
+    public long getLastModified() {
+        return PackObject.sequenceOf(origin);
+    }
+}
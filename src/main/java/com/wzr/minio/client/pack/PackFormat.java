@@ -0,0 +1,180 @@
+package com.wzr.minio.client.pack;
+
+import com.wzr.minio.config.GlobalException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 打包对象的格式
+ * <pre>
+ * [对象 1 的内容][对象 2 的内容]...[索引][索引长度 int][MAGIC int]
+ * 索引：写入时间 long，记录数 int，每条记录：
+ *   类型 byte（1 对象，2 删除标记），对象名 UTF，
+ *   对象：偏移量 long，长度 int，md5 16 字节，Content-Type UTF，最初写入的打包对象名 UTF
+ *   删除标记：被删除的对象所在的打包对象名 UTF，最初写入删除标记的打包对象名 UTF
+ * </pre>
+ * <p>"最初写入的打包对象名"为空字符串时表示就是当前打包对象；压缩时移动的对象和保留的删除标记记录原来的值，
+ * 同名对象的多次写入和删除按这个值的先后决定哪一次生效。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 01:40
+ */
+final class PackFormat {
+
+    /** "MPK1" */
+    static final int MAGIC = 0x4D504B31;
+
+    /** 索引长度和 MAGIC */
+    static final int TRAILER_LENGTH = 8;
+
+    private static final byte KIND_ENTRY = 1;
+
+    private static final byte KIND_TOMBSTONE = 2;
+
+    private PackFormat() {
+    }
+
+    /**
+     * 对象在打包对象中的位置
+     */
+    static final class Slot {
+
+        final String name;
+
+        final long offset;
+
+        final int length;
+
+        final byte[] md5;
+
+        final String contentType;
+
+        /** 最初写入的打包对象，为空时即为所在的打包对象 */
+        final String origin;
+
+        Slot(String name, long offset, int length, byte[] md5, String contentType, String origin) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+            this.md5 = md5;
+            this.contentType = contentType;
+            this.origin = origin;
+        }
+
+        String originIn(String packName) {
+            return origin == null ? packName : origin;
+        }
+    }
+
+    /**
+     * 删除标记：name 已被删除，删除时该对象位于打包对象 target 中
+     */
+    static final class Tombstone {
+
+        final String name;
+
+        final String target;
+
+        /** 最初写入删除标记的打包对象，为空时即为所在的打包对象 */
+        final String version;
+
+        Tombstone(String name, String target, String version) {
+            this.name = name;
+            this.target = target;
+            this.version = version;
+        }
+
+        String versionIn(String packName) {
+            return version == null ? packName : version;
+        }
+    }
+
+    static final class Footer {
+
+        final long createdAt;
+
+        final List<Slot> slots;
+
+        final List<Tombstone> tombstones;
+
+        Footer(long createdAt, List<Slot> slots, List<Tombstone> tombstones) {
+            this.createdAt = createdAt;
+            this.slots = slots;
+            this.tombstones = tombstones;
+        }
+    }
+
+    /**
+     * 写入索引和结尾
+     */
+    static void writeFooter(DataOutputStream out, Footer footer) throws IOException {
+        int start = out.size();
+        out.writeLong(footer.createdAt);
+        out.writeInt(footer.slots.size() + footer.tombstones.size());
+        for (Slot slot : footer.slots) {
+            out.writeByte(KIND_ENTRY);
+            out.writeUTF(slot.name);
+            out.writeLong(slot.offset);
+            out.writeInt(slot.length);
+            out.write(slot.md5);
+            out.writeUTF(slot.contentType);
+            out.writeUTF(slot.origin == null ? "" : slot.origin);
+        }
+        for (Tombstone tombstone : footer.tombstones) {
+            out.writeByte(KIND_TOMBSTONE);
+            out.writeUTF(tombstone.name);
+            out.writeUTF(tombstone.target);
+            out.writeUTF(tombstone.version == null ? "" : tombstone.version);
+        }
+        out.writeInt(out.size() - start);
+        out.writeInt(MAGIC);
+    }
+
+    /**
+     * 从打包对象结尾的 {@link #TRAILER_LENGTH} 个字节中读取索引长度
+     */
+    static int indexLength(byte[] trailer, int offset, String packName) {
+        ByteBuffer buffer = ByteBuffer.wrap(trailer, offset, TRAILER_LENGTH);
+        int length = buffer.getInt();
+        if (buffer.getInt() != MAGIC || length < 0) {
+            throw new GlobalException("Object [" + packName + "] is not a pack object");
+        }
+        return length;
+    }
+
+    static Footer readFooter(byte[] bytes, int offset, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, offset, length));
+        long createdAt = in.readLong();
+        int count = in.readInt();
+        List<Slot> slots = new ArrayList<>(count);
+        List<Tombstone> tombstones = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte kind = in.readByte();
+            String name = in.readUTF();
+            if (kind == KIND_ENTRY) {
+                long slotOffset = in.readLong();
+                int slotLength = in.readInt();
+                byte[] md5 = new byte[16];
+                in.readFully(md5);
+                // Content-Type 的取值很少，共用同一个字符串
+                String contentType = in.readUTF().intern();
+                slots.add(new Slot(name, slotOffset, slotLength, md5, contentType, emptyToNull(in.readUTF())));
+            } else if (kind == KIND_TOMBSTONE) {
+                tombstones.add(new Tombstone(name, in.readUTF(), emptyToNull(in.readUTF())));
+            } else {
+                throw new IOException("Unknown index record kind " + kind);
+            }
+        }
+        return new Footer(createdAt, slots, tombstones);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,161 @@
+package com.wzr.minio.client.pack;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 一个桶的打包对象和内存中的索引
+ * <p>同名对象的多次写入和删除按最初写入的打包对象名（即写入实例的时间）的先后决定哪一次生效，与打包对象的加载顺序无关：
+ * 压缩时移动的对象保留原来的值，不会覆盖其他实例之后写入或删除的结果；之后才加载到的更早的写入也不会生效。</p>
+ * <p>修改只在持有所在桶的写入锁时进行，查询可以并发。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 18:20
+ */
+final class PackIndex {
+
+    /** 对象名 -> 当前有效的位置 */
+    private final ConcurrentMap<String, PackEntry> entries = new ConcurrentHashMap<>();
+
+    /** 打包对象名 -> 打包对象，按写入顺序排列 */
+    private final NavigableMap<String, PackObject> packs = new ConcurrentSkipListMap<>();
+
+    /** 对象名 -> 最近一次删除 */
+    private final Map<String, Deletion> deletions = new HashMap<>();
+
+    PackEntry get(String objectName) {
+        return entries.get(objectName);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    NavigableMap<String, PackObject> packs() {
+        return packs;
+    }
+
+    /**
+     * 加入一个打包对象
+     */
+    void add(PackObject pack, List<PackFormat.Slot> slots) {
+        packs.put(pack.name, pack);
+        for (PackFormat.Tombstone tombstone : pack.tombstones) {
+            String version = tombstone.versionIn(pack.name);
+            Deletion deletion = deletions.get(tombstone.name);
+            int order = deletion == null ? 1 : version.compareTo(deletion.version);
+            if (order > 0) {
+                deletion = new Deletion(version, deletion);
+                deletions.put(tombstone.name, deletion);
+            } else if (order == 0) {
+                deletion.tombstones++;
+            }
+            deletion.holders.add(tombstone.target);
+            PackEntry entry = entries.get(tombstone.name);
+            if (entry != null && entry.origin.compareTo(deletion.version) < 0) {
+                entries.remove(tombstone.name);
+                entry.pack.removeLive(entry);
+                deletion.holders.add(entry.pack.name);
+            }
+        }
+        for (PackFormat.Slot slot : slots) {
+            String origin = slot.originIn(pack.name);
+            Deletion deletion = deletions.get(slot.name);
+            if (deletion != null && origin.compareTo(deletion.version) < 0) {
+                deletion.holders.add(pack.name);
+                continue;
+            }
+            PackEntry current = entries.get(slot.name);
+            if (current != null) {
+                int order = origin.compareTo(current.origin);
+                // 同一次写入的多个副本（压缩移动后）保留较新的打包对象中的那个
+                if (order < 0 || (order == 0 && pack.name.compareTo(current.pack.name) < 0)) {
+                    continue;
+                }
+            }
+            PackEntry entry = new PackEntry(pack, origin, slot.offset, slot.length, slot.md5, slot.contentType);
+            pack.addLive(entry);
+            entries.put(slot.name, entry);
+            if (current != null) {
+                current.pack.removeLive(current);
+            }
+        }
+    }
+
+    /**
+     * 移除一个已被删除的打包对象
+     */
+    void drop(String packName) {
+        PackObject pack = packs.remove(packName);
+        if (pack == null) {
+            return;
+        }
+        for (PackFormat.Tombstone tombstone : pack.tombstones) {
+            Deletion deletion = deletions.get(tombstone.name);
+            if (deletion != null && deletion.version.equals(tombstone.versionIn(pack.name))
+                    && --deletion.tombstones == 0) {
+                deletions.remove(tombstone.name);
+            }
+        }
+        // 其他实例删除打包对象前已把其中有效的对象移到新的打包对象，这里只会剩下已失效的
+        if (pack.liveCount.get() > 0) {
+            entries.values().removeIf(entry -> entry.pack == pack);
+        }
+    }
+
+    /**
+     * 打包对象中是否还有需要保留的删除标记：被删除的内容可能还保存在某个打包对象中
+     */
+    boolean hasNeededTombstones(PackObject pack) {
+        for (PackFormat.Tombstone tombstone : pack.tombstones) {
+            if (isNeeded(pack, tombstone)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isNeeded(PackObject pack, PackFormat.Tombstone tombstone) {
+        Deletion deletion = deletions.get(tombstone.name);
+        // 之后又写入过时，更早的内容总是被覆盖
+        if (deletion == null || !deletion.version.equals(tombstone.versionIn(pack.name))
+                || entries.containsKey(tombstone.name)) {
+            return false;
+        }
+        for (String holder : deletion.holders) {
+            if (!holder.equals(pack.name) && packs.containsKey(holder)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 一个对象最近一次删除
+     */
+    private static final class Deletion {
+
+        /** 最初写入删除标记的打包对象名 */
+        final String version;
+
+        /** 记录这次删除的删除标记数，压缩时删除标记会复制到新的打包对象 */
+        int tombstones = 1;
+
+        /** 可能还保存着被删除的内容的打包对象 */
+        final Set<String> holders = new HashSet<>();
+
+        Deletion(String version, Deletion previous) {
+            this.version = version;
+            if (previous != null) {
+                holders.addAll(previous.holders);
+            }
+        }
+    }
+}
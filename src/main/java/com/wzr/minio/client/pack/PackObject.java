@@ -0,0 +1,56 @@
+package com.wzr.minio.client.pack;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一个打包对象：若干小对象的内容依次拼接，末尾是这些对象的偏移量索引
+ *
+ * @author wzr
+ * @date 2026-10-17 01:40
+ */
+final class PackObject {
+
+    /** 在打包桶中的对象名 */
+    final String name;
+
+    /** 数据部分（不含索引）的字节数 */
+    final long dataSize;
+
+    /** 写入时间（毫秒） */
+    final long createdAt;
+
+    /** 本打包对象中记录的删除标记 */
+    final List<PackFormat.Tombstone> tombstones;
+
+    /** 仍然有效（未被覆盖或删除）的对象数和字节数 */
+    final AtomicInteger liveCount = new AtomicInteger();
+
+    final AtomicLong liveBytes = new AtomicLong();
+
+    PackObject(String name, long dataSize, long createdAt, List<PackFormat.Tombstone> tombstones) {
+        this.name = name;
+        this.dataSize = dataSize;
+        this.createdAt = createdAt;
+        this.tombstones = tombstones;
+    }
+
+    /**
+     * 打包对象名（桶名/序号-随机数）中的序号，即写入时间（毫秒）
+     */
+    static long sequenceOf(String packName) {
+        int start = packName.indexOf('/') + 1;
+        return Long.parseUnsignedLong(packName.substring(start, start + 16), 16);
+    }
+
+    void addLive(PackEntry entry) {
+        liveCount.incrementAndGet();
+        liveBytes.addAndGet(entry.getLength());
+    }
+
+    void removeLive(PackEntry entry) {
+        liveCount.decrementAndGet();
+        liveBytes.addAndGet(-entry.getLength());
+    }
+}
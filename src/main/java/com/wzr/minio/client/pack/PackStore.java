@@ -0,0 +1,687 @@
+package com.wzr.minio.client.pack;
+
+import com.google.common.io.ByteStreams;
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.client.cache.ObjectMetadataCache;
+import com.wzr.minio.config.MinioProperties;
+import com.wzr.minio.config.NamedThreadFactory;
+import io.minio.GetObjectArgs;
+import io.minio.ListObjectsArgs;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.Result;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Item;
+import okhttp3.Headers;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 小对象打包存储
+ * <p>开启打包的桶中，不超过 maxObjectSize 的对象不再单独保存，而是依次拼接到打包桶中的打包对象里。
+ * 同一个桶在 linger 时间内（或攒满 packSize 之前）到达的写入合并为一个打包对象一次写入（组提交），
+ * 写入完成后调用才返回；每个桶同一时刻只有一个打包对象在写入，写入期间到达的对象进入下一批。</p>
+ * <p>打包对象末尾带有其中各对象的偏移量索引（见 {@link PackFormat}），内存中的索引在第一次访问某个桶时
+ * 从这些打包对象重建。删除以删除标记的形式写入下一个打包对象；读取时按偏移量发出区间请求。</p>
+ * <p>后台定期压缩：删除已没有有效内容的打包对象，把有效数据比例低于 compactThreshold 的打包对象和过小的打包对象
+ * 合并为新的打包对象。</p>
+ * <p>多实例部署时，索引未命中、或距上次列举超过 refreshInterval 时重新列举打包对象，加载其他实例写入的打包对象
+ * （命中时在后台进行）；压缩前也会先重新列举。同名对象以最后一次写入或删除为准（见 {@link PackIndex}），
+ * 因此多个实例可以同时写入和压缩同一个桶，其他实例的写入最多在 refreshInterval 之后可见。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 01:40
+ */
+public class PackStore {
+
+    private static final Log log = LogFactory.getLog(PackStore.class);
+
+    /** 写入和压缩打包对象的线程数 */
+    private static final int THREADS = 4;
+
+    /** 重建索引时先读取打包对象结尾的字节数，索引更长时再读取一次 */
+    private static final int TAIL_READ_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private final MultipartMinioClient client;
+
+    private final String packBucket;
+
+    private final Set<String> buckets;
+
+    private final long maxObjectSize;
+
+    private final long packSize;
+
+    private final long lingerNanos;
+
+    private final double compactThreshold;
+
+    private final long refreshIntervalNanos;
+
+    private final ScheduledExecutorService executor;
+
+    /** 桶名 -> 该桶的打包对象和索引 */
+    private final ConcurrentMap<String, Shelf> shelves = new ConcurrentHashMap<>();
+
+    public PackStore(MultipartMinioClient client, MinioProperties.Pack pack) {
+        this.client = client;
+        this.packBucket = pack.getBucket();
+        this.buckets = new HashSet<>(pack.getBuckets());
+        this.maxObjectSize = pack.getMaxObjectSize().toBytes();
+        this.packSize = pack.getPackSize().toBytes();
+        this.lingerNanos = pack.getLinger().toNanos();
+        this.compactThreshold = pack.getCompactThreshold();
+        this.refreshIntervalNanos = pack.getRefreshInterval().toNanos();
+        this.executor = Executors.newScheduledThreadPool(THREADS, new NamedThreadFactory("minio-pack"));
+        long interval = pack.getCompactInterval().toMillis();
+        if (interval > 0) {
+            executor.scheduleWithFixedDelay(this::compactAll, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 该桶是否开启了打包存储，只有 buckets 中列出的桶开启
+     */
+    public boolean isPacked(String bucketName) {
+        return buckets.contains(bucketName);
+    }
+
+    /**
+     * 打包存储的对象大小上限，超过时单独保存
+     */
+    public long getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    public String getPackBucket() {
+        return packBucket;
+    }
+
+    /**
+     * 写入一个小对象，所在的打包对象写入完成后返回
+     * @return 内容的 md5（十六进制）
+     */
+    public String put(String bucketName, String objectName, byte[] data, int length,
+                      String contentType) throws Exception {
+        Shelf shelf = shelf(bucketName);
+        byte[] copy = Arrays.copyOf(data, length);
+        Record record = new Record(objectName, copy, MessageDigest.getInstance("MD5").digest(copy), contentType);
+        Batch batch;
+        boolean first;
+        boolean full;
+        synchronized (shelf) {
+            batch = shelf.current;
+            first = batch.records.isEmpty();
+            batch.add(record);
+            full = batch.bytes >= packSize;
+        }
+        if (full) {
+            flush(shelf);
+        } else if (first) {
+            schedule(shelf, lingerNanos);
+        }
+        await(batch.done);
+        return record.etag();
+    }
+
+    /**
+     * 删除打包存储的对象
+     * @return 实际删除的对象数
+     */
+    public int remove(String bucketName, Collection<String> objectNames) throws Exception {
+        Shelf shelf = shelf(bucketName);
+        for (String objectName : objectNames) {
+            // 可能是其他实例写入的
+            if (shelf.index.get(objectName) == null && isRefreshDue(shelf)) {
+                refresh(shelf, false);
+                break;
+            }
+        }
+        Batch batch = null;
+        boolean first = false;
+        int count = 0;
+        synchronized (shelf) {
+            for (String objectName : objectNames) {
+                if (!shelf.contains(objectName)) {
+                    continue;
+                }
+                if (batch == null) {
+                    batch = shelf.current;
+                    first = batch.records.isEmpty();
+                }
+                batch.add(new Record(objectName, null, null, null));
+                count++;
+            }
+        }
+        if (batch == null) {
+            return 0;
+        }
+        if (first) {
+            schedule(shelf, lingerNanos);
+        }
+        await(batch.done);
+        return count;
+    }
+
+    /**
+     * 查询对象在打包存储中的位置
+     * @return 对象不在打包存储中时返回 null
+     */
+    public PackEntry get(String bucketName, String objectName) throws Exception {
+        return lookup(shelf(bucketName), objectName);
+    }
+
+    /**
+     * 读取打包存储的对象
+     * @param length 小于 0 时读取到末尾
+     * @return 对象不在打包存储中时返回 null
+     */
+    public InputStream read(String bucketName, String objectName, long offset, long length) throws Exception {
+        Shelf shelf = shelf(bucketName);
+        for (int attempt = 0; ; attempt++) {
+            PackEntry entry = lookup(shelf, objectName);
+            if (entry == null) {
+                return null;
+            }
+            long from = Math.min(Math.max(offset, 0), entry.getLength());
+            long count = length < 0 ? entry.getLength() - from : Math.min(length, entry.getLength() - from);
+            if (count == 0) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+            try {
+                return client.getObject(GetObjectArgs.builder()
+                        .bucket(packBucket)
+                        .object(entry.getPackName())
+                        .offset(entry.getOffset() + from)
+                        .length(count)
+                        .build());
+            } catch (ErrorResponseException e) {
+                // 打包对象刚被压缩删除，重新列举后即可读到新的位置
+                if (attempt > 0 || !ObjectMetadataCache.isNotFound(e)) {
+                    throw e;
+                }
+                refresh(shelf, true);
+            }
+        }
+    }
+
+    /**
+     * 以 statObject 的形式返回打包存储的对象信息
+     * @return 对象不在打包存储中时返回 null
+     */
+    public StatObjectResponse stat(String bucketName, String objectName) throws Exception {
+        PackEntry entry = get(bucketName, objectName);
+        if (entry == null) {
+            return null;
+        }
+        Headers headers = new Headers.Builder()
+                .add("ETag", "\"" + entry.getEtag() + "\"")
+                .add("Content-Length", String.valueOf(entry.getLength()))
+                .add("Content-Type", entry.getContentType())
+                .add("Last-Modified", HTTP_DATE.format(Instant.ofEpochMilli(entry.getLastModified())))
+                .build();
+        return new StatObjectResponse(headers, bucketName, null, objectName);
+    }
+
+    /**
+     * 写入剩余的对象并停止后台线程
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Shelf shelf : shelves.values()) {
+            flush(shelf);
+        }
+    }
+
+    private Shelf shelf(String bucketName) throws Exception {
+        Shelf shelf = shelves.computeIfAbsent(bucketName, Shelf::new);
+        if (!shelf.loaded) {
+            shelf.writeLock.lock();
+            try {
+                if (!shelf.loaded) {
+                    load(shelf);
+                    shelf.loaded = true;
+                    if (shelf.index.packs().size() > 0) {
+                        log.info("[minio-starter] Loaded " + shelf.index.size() + " packed objects in "
+                                + shelf.index.packs().size() + " packs for bucket " + shelf.bucketName);
+                    }
+                }
+            } finally {
+                shelf.writeLock.unlock();
+            }
+        }
+        return shelf;
+    }
+
+    /**
+     * 查询索引；未命中时先重新列举一次，命中但已到刷新时间时在后台重新列举
+     */
+    private PackEntry lookup(Shelf shelf, String objectName) throws Exception {
+        PackEntry entry = shelf.index.get(objectName);
+        if (!isRefreshDue(shelf)) {
+            return entry;
+        }
+        if (entry == null) {
+            refresh(shelf, false);
+            return shelf.index.get(objectName);
+        }
+        if (shelf.refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        refresh(shelf, false);
+                    } catch (Exception e) {
+                        log.warn("[minio-starter] Failed to refresh packs for bucket " + shelf.bucketName + ": " + e);
+                    } finally {
+                        shelf.refreshing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                shelf.refreshing.set(false);
+            }
+        }
+        return entry;
+    }
+
+    private boolean isRefreshDue(Shelf shelf) {
+        return System.nanoTime() - shelf.refreshedAt >= refreshIntervalNanos;
+    }
+
+    /**
+     * 重新列举打包对象，加载其他实例写入的内容
+     * @param force 为 false 时，等待锁期间已有其他线程完成列举则直接返回
+     */
+    private void refresh(Shelf shelf, boolean force) throws Exception {
+        shelf.writeLock.lock();
+        try {
+            if (force || isRefreshDue(shelf)) {
+                load(shelf);
+            }
+        } finally {
+            shelf.writeLock.unlock();
+        }
+    }
+
+    private void schedule(Shelf shelf, long delayNanos) {
+        try {
+            executor.schedule(() -> flush(shelf), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            flush(shelf);
+        }
+    }
+
+    /**
+     * 把当前这批对象写入一个打包对象；已有写入或压缩在进行时直接返回，由其结束后接着写入
+     */
+    private void flush(Shelf shelf) {
+        if (!shelf.writeLock.tryLock()) {
+            return;
+        }
+        try {
+            Batch batch;
+            synchronized (shelf) {
+                batch = shelf.current;
+                if (batch.records.isEmpty()) {
+                    return;
+                }
+                shelf.current = new Batch();
+                shelf.sealed = batch;
+            }
+            try {
+                write(shelf, batch.records.values(), Collections.emptyList());
+                batch.done.complete(null);
+            } catch (Throwable e) {
+                log.warn("[minio-starter] Failed to write pack for bucket " + shelf.bucketName + ": " + e);
+                batch.done.completeExceptionally(e);
+            }
+        } finally {
+            synchronized (shelf) {
+                shelf.sealed = null;
+            }
+            shelf.writeLock.unlock();
+            resubmit(shelf);
+        }
+    }
+
+    /**
+     * 写入（或压缩）期间到达的对象立即写入下一个打包对象
+     */
+    private void resubmit(Shelf shelf) {
+        boolean pending;
+        synchronized (shelf) {
+            pending = !shelf.current.records.isEmpty();
+        }
+        if (pending) {
+            schedule(shelf, 0);
+        }
+    }
+
+    /**
+     * 写入一个打包对象并更新索引，调用方需持有 writeLock
+     * @param carried 从被压缩的打包对象中保留下来的删除标记
+     */
+    private void write(Shelf shelf, Collection<Record> records, List<PackFormat.Tombstone> carried) throws Exception {
+        List<PackFormat.Slot> slots = new ArrayList<>(records.size());
+        List<PackFormat.Tombstone> tombstones = new ArrayList<>(carried);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        for (Record record : records) {
+            if (record.data != null) {
+                slots.add(new PackFormat.Slot(record.name, out.size(), record.data.length, record.md5,
+                        record.contentType, record.origin));
+                out.write(record.data);
+                continue;
+            }
+            PackEntry previous = shelf.index.get(record.name);
+            if (previous != null) {
+                tombstones.add(new PackFormat.Tombstone(record.name, previous.pack.name, null));
+            }
+        }
+        if (slots.isEmpty() && tombstones.isEmpty()) {
+            return;
+        }
+        long dataSize = out.size();
+        long createdAt = System.currentTimeMillis();
+        PackFormat.writeFooter(out, new PackFormat.Footer(createdAt, slots, tombstones));
+        String name = shelf.nextPackName();
+        client.putObject(PutObjectArgs.builder()
+                .bucket(packBucket)
+                .object(name)
+                .stream(new ByteArrayInputStream(buffer.toByteArray()), out.size(), -1)
+                .build());
+        shelf.index.add(new PackObject(name, dataSize, createdAt, tombstones), slots);
+    }
+
+    /**
+     * 列举打包对象，从新出现的打包对象结尾的索引加载内容，移除已被其他实例删除的打包对象；调用方需持有 writeLock
+     */
+    private void load(Shelf shelf) throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (Result<Item> result : client.listObjects(ListObjectsArgs.builder()
+                .bucket(packBucket).prefix(shelf.bucketName + "/").recursive(true).build())) {
+            items.add(result.get());
+        }
+        // 对象名以序号开头，按对象名排序即为写入顺序
+        items.sort(Comparator.comparing(Item::objectName));
+        Set<String> names = new HashSet<>();
+        for (Item item : items) {
+            String name = item.objectName();
+            names.add(name);
+            if (shelf.index.packs().containsKey(name)) {
+                continue;
+            }
+            long size = item.size();
+            long tailStart = Math.max(0, size - TAIL_READ_SIZE);
+            byte[] tail = read(name, tailStart, size - tailStart);
+            int indexLength = PackFormat.indexLength(tail, tail.length - PackFormat.TRAILER_LENGTH, name);
+            int indexStart = tail.length - PackFormat.TRAILER_LENGTH - indexLength;
+            if (indexStart < 0) {
+                tail = read(name, size - PackFormat.TRAILER_LENGTH - indexLength, indexLength);
+                indexStart = 0;
+            }
+            PackFormat.Footer footer = PackFormat.readFooter(tail, indexStart, indexLength);
+            shelf.index.add(new PackObject(name, size - PackFormat.TRAILER_LENGTH - indexLength,
+                    footer.createdAt, footer.tombstones), footer.slots);
+        }
+        // 其他实例压缩后删除的打包对象，其中有效的对象已在上面从新的打包对象加载
+        for (String name : new ArrayList<>(shelf.index.packs().keySet())) {
+            if (!names.contains(name)) {
+                shelf.index.drop(name);
+            }
+        }
+        if (!shelf.index.packs().isEmpty()) {
+            shelf.lastSeq = Math.max(shelf.lastSeq, PackObject.sequenceOf(shelf.index.packs().lastKey()));
+        }
+        shelf.refreshedAt = System.nanoTime();
+    }
+
+    private void compactAll() {
+        for (Shelf shelf : shelves.values()) {
+            if (!shelf.loaded) {
+                continue;
+            }
+            try {
+                compact(shelf);
+            } catch (Exception e) {
+                log.warn("[minio-starter] Failed to compact packs for bucket " + shelf.bucketName + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * 压缩一个桶的打包对象，已有写入在进行时跳过这一轮
+     */
+    private void compact(Shelf shelf) throws Exception {
+        if (!shelf.writeLock.tryLock()) {
+            return;
+        }
+        try {
+            // 先加载其他实例的写入和删除，已失效的对象不再移动
+            load(shelf);
+            // 删除标记通常指向更早的打包对象，按写入顺序删除即可基本删完
+            for (PackObject pack : new ArrayList<>(shelf.index.packs().values())) {
+                if (pack.liveCount.get() == 0 && !shelf.index.hasNeededTombstones(pack)) {
+                    delete(shelf, pack);
+                }
+            }
+            List<PackObject> victims = new ArrayList<>();
+            long live = 0;
+            boolean sparse = false;
+            for (PackObject pack : shelf.index.packs().values()) {
+                boolean packSparse = pack.liveBytes.get() < pack.dataSize * compactThreshold;
+                if (!packSparse && pack.dataSize >= packSize / 4) {
+                    continue;
+                }
+                victims.add(pack);
+                live += pack.liveBytes.get();
+                sparse |= packSparse;
+                if (live >= packSize) {
+                    break;
+                }
+            }
+            // 单个打包对象只是偏小时，合并不会减少对象数
+            if (victims.isEmpty() || (victims.size() == 1 && !sparse)) {
+                return;
+            }
+            List<Record> records = new ArrayList<>();
+            List<PackFormat.Tombstone> carried = new ArrayList<>();
+            for (PackObject victim : victims) {
+                if (victim.liveCount.get() > 0) {
+                    collectLive(shelf, victim, records);
+                }
+                for (PackFormat.Tombstone tombstone : victim.tombstones) {
+                    if (shelf.index.isNeeded(victim, tombstone)) {
+                        carried.add(new PackFormat.Tombstone(tombstone.name, tombstone.target,
+                                tombstone.versionIn(victim.name)));
+                    }
+                }
+            }
+            write(shelf, records, carried);
+            for (PackObject victim : victims) {
+                delete(shelf, victim);
+            }
+            log.info("[minio-starter] Compacted " + victims.size() + " packs (" + records.size()
+                    + " live objects) for bucket " + shelf.bucketName);
+        } finally {
+            shelf.writeLock.unlock();
+            resubmit(shelf);
+        }
+    }
+
+    /**
+     * 读出打包对象中仍然有效的对象，保留最初写入的打包对象名
+     */
+    private void collectLive(Shelf shelf, PackObject pack, List<Record> records) throws Exception {
+        byte[] bytes;
+        try (InputStream in = client.getObject(GetObjectArgs.builder().bucket(packBucket).object(pack.name).build())) {
+            bytes = ByteStreams.toByteArray(in);
+        }
+        int indexLength = PackFormat.indexLength(bytes, bytes.length - PackFormat.TRAILER_LENGTH, pack.name);
+        PackFormat.Footer footer = PackFormat.readFooter(bytes,
+                bytes.length - PackFormat.TRAILER_LENGTH - indexLength, indexLength);
+        for (PackFormat.Slot slot : footer.slots) {
+            PackEntry entry = shelf.index.get(slot.name);
+            if (entry != null && entry.pack == pack && entry.getOffset() == slot.offset) {
+                records.add(new Record(slot.name, Arrays.copyOfRange(bytes, (int) slot.offset,
+                        (int) slot.offset + slot.length), slot.md5, slot.contentType, entry.origin));
+            }
+        }
+    }
+
+    private void delete(Shelf shelf, PackObject pack) throws Exception {
+        client.removeObject(RemoveObjectArgs.builder().bucket(packBucket).object(pack.name).build());
+        shelf.index.drop(pack.name);
+    }
+
+    private byte[] read(String packName, long offset, long length) throws Exception {
+        try (InputStream in = client.getObject(GetObjectArgs.builder()
+                .bucket(packBucket).object(packName).offset(offset).length(length).build())) {
+            return ByteStreams.toByteArray(in);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> future) throws Exception {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * 一个桶的打包对象和索引
+     */
+    private static final class Shelf {
+
+        final String bucketName;
+
+        final PackIndex index = new PackIndex();
+
+        /** 写入、压缩、重建索引互斥 */
+        final ReentrantLock writeLock = new ReentrantLock();
+
+        volatile boolean loaded;
+
+        /** 上次列举打包对象的时间（System.nanoTime） */
+        volatile long refreshedAt;
+
+        /** 后台列举是否在进行 */
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        /** 正在收集的一批对象 */
+        Batch current = new Batch();
+
+        /** 正在写入的一批对象 */
+        Batch sealed;
+
+        long lastSeq;
+
+        Shelf(String bucketName) {
+            this.bucketName = bucketName;
+        }
+
+        boolean contains(String objectName) {
+            return index.get(objectName) != null || current.records.containsKey(objectName)
+                    || (sealed != null && sealed.records.containsKey(objectName));
+        }
+
+        /**
+         * 打包对象名：桶名/序号-随机数，序号取当前时间（毫秒）且单调递增
+         */
+        String nextPackName() {
+            lastSeq = Math.max(lastSeq + 1, System.currentTimeMillis());
+            return String.format("%s/%016x-%08x", bucketName, lastSeq, ThreadLocalRandom.current().nextInt());
+        }
+    }
+
+    private static final class Batch {
+
+        /** 同一批中同名的对象只保留最后一次写入 */
+        final Map<String, Record> records = new LinkedHashMap<>();
+
+        long bytes;
+
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        void add(Record record) {
+            Record previous = records.remove(record.name);
+            if (previous != null && previous.data != null) {
+                bytes -= previous.data.length;
+            }
+            records.put(record.name, record);
+            if (record.data != null) {
+                bytes += record.data.length;
+            }
+        }
+    }
+
+    /**
+     * 一次写入，data 为空时表示删除；origin 不为空时是压缩移动的对象
+     */
+    private static final class Record {
+
+        final String name;
+
+        final byte[] data;
+
+        final byte[] md5;
+
+        final String contentType;
+
+        final String origin;
+
+        Record(String name, byte[] data, byte[] md5, String contentType) {
+            this(name, data, md5, contentType, null);
+        }
+
+        Record(String name, byte[] data, byte[] md5, String contentType, String origin) {
+            this.name = name;
+            this.data = data;
+            this.md5 = md5;
+            this.contentType = contentType;
+            this.origin = origin;
+        }
+
+        String etag() {
+            return PackEntry.hex(md5);
+        }
+    }
+}
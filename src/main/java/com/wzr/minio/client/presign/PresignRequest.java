@@ -0,0 +1,52 @@
+package com.wzr.minio.client.presign;
+
+import io.minio.http.Method;
+import lombok.Data;
+
+/**
+ * 一个待签名的外链请求
+ * @author wzr
+ * @date 2026-10-16 18:50
+ */
+@Data
+public class PresignRequest {
+
+    /** minio 默认的外链有效时间：7 天 */
+    public static final int DEFAULT_EXPIRES = 7 * 24 * 3600;
+
+    /**
+     * 存储桶
+     */
+    private String bucketName;
+
+    /**
+     * 对象名
+     */
+    private String objectName;
+
+    /**
+     * 请求方法，默认 GET
+     */
+    private Method method = Method.GET;
+
+    /**
+     * 外链有效时间（单位：秒），默认 7 天
+     */
+    private int expires = DEFAULT_EXPIRES;
+
+    public PresignRequest() {
+
+    }
+
+    public PresignRequest(String bucketName, String objectName) {
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+    }
+
+    public PresignRequest(String bucketName, String objectName, Method method, int expires) {
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.method = method;
+        this.expires = expires;
+    }
+}
@@ -0,0 +1,121 @@
+package com.wzr.minio.client.presign;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.minio.credentials.Credentials;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 外链缓存
+ * <p>按 accessKey/桶名/对象名/请求方法/有效时间 缓存已签名的外链，外链剩余的有效时间不少于 minRemainingRatio * 有效时间时直接复用，
+ * 否则重新签名。对于同一个对象，返回的外链在一段时间内保持不变，也便于浏览器缓存。</p>
+ * <p>使用临时认证信息（带 sessionToken，例如 STS）时不缓存：外链在 sessionToken 过期后即失效，
+ * 而其有效期通常远短于外链的有效时间。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 19:20
+ */
+public class PresignedUrlCache {
+
+    private final PresignSigner signer;
+
+    private final Cache<String, Entry> cache;
+
+    private final double minRemainingRatio;
+
+    public PresignedUrlCache(PresignSigner signer, long maximumSize, double minRemainingRatio) {
+        this.signer = signer;
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.minRemainingRatio = minRemainingRatio;
+    }
+
+    /**
+     * 获取一个外链
+     */
+    public String get(PresignRequest request) throws Exception {
+        Credentials credentials = signer.credentials();
+        if (isTemporary(credentials)) {
+            return signer.sign(request.getMethod(), request.getBucketName(), request.getObjectName(),
+                    request.getExpires(), null);
+        }
+        String key = key(credentials, request);
+        long now = System.currentTimeMillis();
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.isReusable(now, request.getExpires(), minRemainingRatio)) {
+            return entry.url;
+        }
+        String url = signer.sign(request.getMethod(), request.getBucketName(), request.getObjectName(),
+                request.getExpires(), null);
+        cache.put(key, new Entry(url, now + request.getExpires() * 1000L));
+        return url;
+    }
+
+    /**
+     * 批量获取外链，未命中的请求一次性签名
+     * @return 与请求一一对应的外链
+     */
+    public List<String> get(List<PresignRequest> requests) throws Exception {
+        Credentials credentials = signer.credentials();
+        if (isTemporary(credentials)) {
+            return signer.sign(requests);
+        }
+        long now = System.currentTimeMillis();
+        List<String> urls = new ArrayList<>(requests.size());
+        List<Integer> missIndex = new ArrayList<>();
+        List<PresignRequest> misses = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PresignRequest request = requests.get(i);
+            Entry entry = cache.getIfPresent(key(credentials, request));
+            if (entry != null && entry.isReusable(now, request.getExpires(), minRemainingRatio)) {
+                urls.add(entry.url);
+            } else {
+                urls.add(null);
+                missIndex.add(i);
+                misses.add(request);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<String> signed = signer.sign(misses);
+            for (int i = 0; i < misses.size(); i++) {
+                PresignRequest request = misses.get(i);
+                cache.put(key(credentials, request), new Entry(signed.get(i), now + request.getExpires() * 1000L));
+                urls.set(missIndex.get(i), signed.get(i));
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * 清空缓存（例如更换了认证信息）
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static boolean isTemporary(Credentials credentials) {
+        return credentials != null && credentials.sessionToken() != null;
+    }
+
+    private static String key(Credentials credentials, PresignRequest request) {
+        return (credentials == null ? "" : credentials.accessKey()) + "/" + request.getBucketName() + "/" + request.getObjectName() + "/"
+                + request.getMethod() + "/" + request.getExpires();
+    }
+
+    private static class Entry {
+
+        private final String url;
+
+        private final long expiresAt;
+
+        Entry(String url, long expiresAt) {
+            this.url = url;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isReusable(long now, int expires, double minRemainingRatio) {
+            return expiresAt - now >= expires * 1000L * minRemainingRatio;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.wzr.minio.client.reactive;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 把一串 DataBuffer 按顺序读取为 InputStream，每个数据块读完后立即释放
+ * <p>数据块来自阻塞迭代器（例如 Flux.toStream），读取方每取走一个数据块，上游才会补充一个，因此内存占用是有界的。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 17:00
+ */
+public class DataBufferInputStream extends InputStream {
+
+    private final Iterator<DataBuffer> buffers;
+
+    private DataBuffer current;
+
+    public DataBufferInputStream(Iterator<DataBuffer> buffers) {
+        this.buffers = buffers;
+    }
+
+    @Override
+    public int read() {
+        if (!nextReadable()) {
+            return -1;
+        }
+        return current.read() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextReadable()) {
+            return -1;
+        }
+        int n = Math.min(len, current.readableByteCount());
+        current.read(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.readableByteCount();
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    /**
+     * 定位到下一个还有数据的数据块
+     * @return false：所有数据已读完
+     */
+    private boolean nextReadable() {
+        while (current == null || current.readableByteCount() == 0) {
+            release();
+            if (!buffers.hasNext()) {
+                return false;
+            }
+            current = buffers.next();
+        }
+        return true;
+    }
+
+    private void release() {
+        if (current != null) {
+            DataBufferUtils.release(current);
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.wzr.minio.client.remove;
+
+import com.wzr.minio.config.GlobalException;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并发批量删除
+ * <p>把待删除的对象按每批最多 1000 个（S3 DeleteObjects 的上限）分批，多个批次同时在途；
+ * 对象名以迭代器的形式逐个读取，内存占用只与在途批次数有关。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 14:35
+ */
+public class BatchRemover {
+
+    private static final Log log = LogFactory.getLog(BatchRemover.class);
+
+    /** S3 单次 DeleteObjects 请求最多删除的对象数 */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final MinioClient client;
+
+    private final ExecutorService executor;
+
+    private final int maxInFlight;
+
+    public BatchRemover(MinioClient client, ExecutorService executor, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new GlobalException("Max in-flight batches must be positive");
+        }
+        this.client = client;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 删除对象
+     * @param objectNames 待删除的对象名，按需读取
+     */
+    public RemoveResult remove(String bucketName, Iterator<String> objectNames) throws InterruptedException {
+        return remove(bucketName, objectNames, null);
+    }
+
+    /**
+     * 删除对象，并在每个批次完成后回调进度
+     * @param objectNames 待删除的对象名，按需读取
+     * @param listener 进度回调，可为空
+     */
+    public RemoveResult remove(String bucketName, Iterator<String> objectNames,
+                               RemoveProgressListener listener) throws InterruptedException {
+        Semaphore permits = new Semaphore(maxInFlight);
+        AtomicLong removed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<DeleteError> errors = Collections.synchronizedList(new ArrayList<>());
+        List<String> failedObjects = Collections.synchronizedList(new ArrayList<>());
+        while (objectNames.hasNext()) {
+            List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            while (batch.size() < MAX_BATCH_SIZE && objectNames.hasNext()) {
+                batch.add(objectNames.next());
+            }
+            // 在途批次数达到上限时阻塞，不再继续读取对象名
+            permits.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        int failedCount = removeBatch(bucketName, batch, errors, failedObjects);
+                        long removedSoFar = removed.addAndGet(batch.size() - failedCount);
+                        long failedSoFar = failed.addAndGet(failedCount);
+                        if (listener != null) {
+                            listener.onProgress(removedSoFar, failedSoFar);
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("[minio-starter] Remove progress listener failed", e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+        permits.acquire(maxInFlight);
+        permits.release(maxInFlight);
+        return new RemoveResult(removed.get(), new ArrayList<>(errors), new ArrayList<>(failedObjects));
+    }
+
+    /**
+     * 删除一个批次
+     * @return 删除失败的对象数
+     */
+    private int removeBatch(String bucketName, List<String> batch,
+                            List<DeleteError> errors, List<String> failedObjects) {
+        List<DeleteObject> objects = new ArrayList<>(batch.size());
+        for (String objectName : batch) {
+            objects.add(new DeleteObject(objectName));
+        }
+        int failed = 0;
+        try {
+            // removeObjects 是惰性的，只有遍历结果时才会真正发出请求
+            for (Result<DeleteError> result : client.removeObjects(
+                    RemoveObjectsArgs.builder().bucket(bucketName).objects(objects).build())) {
+                DeleteError error = result.get();
+                log.warn(String.format("[minio-starter] Failed to remove '%s': %s", error.objectName(), error.message()));
+                errors.add(error);
+                failed++;
+            }
+            return failed;
+        } catch (Exception e) {
+            log.warn("[minio-starter] Failed to remove a batch of " + batch.size() + " objects from " + bucketName, e);
+            failedObjects.addAll(batch);
+            return batch.size();
+        }
+    }
+}
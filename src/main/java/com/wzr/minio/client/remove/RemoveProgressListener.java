@@ -0,0 +1,18 @@
+package com.wzr.minio.client.remove;
+
+/**
+ * 批量删除的进度回调
+ * <p>每个批次完成后调用一次，可能在多个线程中并发调用，实现需要线程安全</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 21:10
+ */
+@FunctionalInterface
+public interface RemoveProgressListener {
+
+    /**
+     * @param removedCount 目前为止删除成功的对象数
+     * @param failedCount 目前为止删除失败的对象数
+     */
+    void onProgress(long removedCount, long failedCount);
+}
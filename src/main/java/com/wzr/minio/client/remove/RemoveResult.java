@@ -0,0 +1,47 @@
+package com.wzr.minio.client.remove;
+
+import io.minio.messages.DeleteError;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量删除的结果对象
+ * @author wzr
+ * @date 2026-10-16 14:30
+ */
+@Data
+public class RemoveResult {
+
+    /**
+     * 删除成功的对象数
+     */
+    private long removedCount;
+
+    /**
+     * 服务端返回的删除失败的对象及原因
+     */
+    private List<DeleteError> errors;
+
+    /**
+     * 所在批次整体请求失败、无法确定是否已删除的对象
+     */
+    private List<String> failedObjects;
+
+    public RemoveResult() {
+
+    }
+
+    public RemoveResult(long removedCount, List<DeleteError> errors, List<String> failedObjects) {
+        this.removedCount = removedCount;
+        this.errors = errors;
+        this.failedObjects = failedObjects;
+    }
+
+    /**
+     * 是否全部删除成功
+     */
+    public boolean isSuccess() {
+        return errors.isEmpty() && failedObjects.isEmpty();
+    }
+}
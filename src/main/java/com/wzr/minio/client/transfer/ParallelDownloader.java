@@ -0,0 +1,228 @@
+package com.wzr.minio.client.transfer;
+
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.config.GlobalException;
+import io.minio.GetObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 并发分段下载引擎
+ * <p>先获取对象大小，再按 rangeSize 切分为若干字节区间并发下载，每个区间直接写入目标文件的对应位置。</p>
+ * <p>下载过程中会在目标文件旁维护一个进度文件（目标文件名 + ".minio-progress"），进程崩溃后再次下载同一对象时，
+ * 只会重新下载未完成的区间；下载完成后进度文件会被删除。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 11:40
+ */
+public class ParallelDownloader {
+
+    /** 进度文件的后缀 */
+    public static final String PROGRESS_SUFFIX = ".minio-progress";
+
+    private final MultipartMinioClient client;
+
+    private final ExecutorService executor;
+
+    private final long rangeSize;
+
+    private final int parallelism;
+
+    public ParallelDownloader(MultipartMinioClient client, ExecutorService executor, long rangeSize, int parallelism) {
+        if (rangeSize < 1) {
+            throw new GlobalException("Range size must be positive");
+        }
+        if (parallelism < 1) {
+            throw new GlobalException("Download parallelism must be positive");
+        }
+        this.client = client;
+        this.executor = executor;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 下载对象到本地文件
+     * @param filePath 本地文件路径，已存在的文件会被覆盖（断点续传的情况除外）
+     * @return 对象信息
+     */
+    public StatObjectResponse download(String bucketName, String objectName, String filePath) throws Exception {
+        StatObjectResponse stat = client.statObject(
+                StatObjectArgs.builder().bucket(bucketName).object(objectName).build());
+        long size = stat.size();
+        int rangeCount = (int) ((size + rangeSize - 1) / rangeSize);
+        Path target = Paths.get(filePath);
+        Progress progress = Progress.open(Paths.get(filePath + PROGRESS_SUFFIX), stat.etag(), size, rangeSize);
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (progress.isFresh()) {
+                channel.truncate(0);
+            }
+            // transferFrom 不会写入超出文件末尾的位置，先把文件扩展到目标大小（稀疏文件，不占用实际空间）
+            if (size > 0 && channel.size() < size) {
+                channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+            }
+            Semaphore permits = new Semaphore(parallelism);
+            AtomicReference<Exception> failure = new AtomicReference<>();
+            for (int i = 0; i < rangeCount && failure.get() == null; i++) {
+                if (progress.isDone(i)) {
+                    continue;
+                }
+                int index = i;
+                long offset = i * rangeSize;
+                long length = Math.min(rangeSize, size - offset);
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            downloadRange(bucketName, objectName, stat.etag(), channel, offset, length);
+                            // 数据落盘后再记录进度，保证崩溃后不会跳过未写完的区间
+                            channel.force(false);
+                            progress.markDone(index);
+                        } catch (Exception e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+            permits.acquire(parallelism);
+            permits.release(parallelism);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+            channel.truncate(size);
+        } finally {
+            progress.close();
+        }
+        progress.delete();
+        return stat;
+    }
+
+    /**
+     * 下载一个区间，通过 FileChannel 的定位写入直接写到文件中
+     */
+    private void downloadRange(String bucketName, String objectName, String etag,
+                               FileChannel channel, long offset, long length) throws Exception {
+        // 限定 etag，防止下载过程中对象被覆盖导致文件内容混杂
+        try (InputStream in = client.getObject(GetObjectArgs.builder()
+                .bucket(bucketName)
+                .object(objectName)
+                .offset(offset)
+                .length(length)
+                .matchETag(etag)
+                .build());
+             ReadableByteChannel source = Channels.newChannel(in)) {
+            long written = 0;
+            while (written < length) {
+                long n = channel.transferFrom(source, offset + written, length - written);
+                if (n <= 0) {
+                    throw new IOException("Unexpected end of object [" + objectName + "] at " + (offset + written));
+                }
+                written += n;
+            }
+        }
+    }
+
+    /**
+     * 下载进度文件
+     * <p>首行记录 etag、对象大小、区间大小，之后每行记录一个已完成的区间索引。只有首行与当前对象一致时才会续传。</p>
+     */
+    private static class Progress {
+
+        private final Path path;
+
+        private final BitSet done;
+
+        private final boolean fresh;
+
+        private final BufferedWriter writer;
+
+        private Progress(Path path, BitSet done, boolean fresh) throws IOException {
+            this.path = path;
+            this.done = done;
+            this.fresh = fresh;
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        static Progress open(Path path, String etag, long size, long rangeSize) throws IOException {
+            String header = etag + "," + size + "," + rangeSize;
+            BitSet done = new BitSet();
+            if (Files.exists(path)) {
+                String[] lines = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).split("\n", -1);
+                if (lines.length > 1 && header.equals(lines[0])
+                        && parse(lines, (size + rangeSize - 1) / rangeSize, done)) {
+                    return new Progress(path, done, false);
+                }
+                // 进度文件与当前对象不符或已损坏，重新下载
+                done.clear();
+            }
+            Files.write(path, (header + "\n").getBytes(StandardCharsets.UTF_8));
+            return new Progress(path, done, true);
+        }
+
+        /**
+         * 读取已完成的区间索引
+         * @return 存在无法识别或超出范围的记录时返回 false
+         */
+        private static boolean parse(String[] lines, long ranges, BitSet done) {
+            // 最后一段没有换行符，可能是崩溃时只写了一半的记录，忽略
+            for (int i = 1; i < lines.length - 1; i++) {
+                int index;
+                try {
+                    index = Integer.parseInt(lines[i]);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+                if (index < 0 || index >= ranges) {
+                    return false;
+                }
+                done.set(index);
+            }
+            return true;
+        }
+
+        boolean isFresh() {
+            return fresh;
+        }
+
+        synchronized boolean isDone(int index) {
+            return done.get(index);
+        }
+
+        synchronized void markDone(int index) throws IOException {
+            done.set(index);
+            writer.write(index + "\n");
+            writer.flush();
+        }
+
+        synchronized void close() throws IOException {
+            writer.close();
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(path);
+        }
+    }
+}
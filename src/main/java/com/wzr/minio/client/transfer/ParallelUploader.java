@@ -0,0 +1,278 @@
+package com.wzr.minio.client.transfer;
+
+import com.wzr.minio.client.MultipartMinioClient;
+import com.wzr.minio.config.GlobalException;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.UploadObjectArgs;
+import io.minio.messages.Part;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 并发分片上传引擎
+ * <p>将本地文件或输入流切分为若干分片，在有界线程池中并发上传，最后合并为一个对象；任一分片失败则取消整个上传任务。</p>
+ * <p>单个文件同时在途的分片数由 parallelism 控制，对于输入流，内存占用上限约为 (parallelism + 1) * partSize。</p>
+ *
+ * @author wzr
+ * @date 2026-10-16 10:35
+ */
+public class ParallelUploader {
+
+    /** S3 规定除最后一片外，分片不能小于 5MB */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    /** S3 规定单个上传任务最多 10000 个分片 */
+    public static final int MAX_PARTS = 10000;
+
+    /** 读取输入流首个分片时的初始缓冲区大小 */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final MultipartMinioClient client;
+
+    private final ExecutorService executor;
+
+    private final long partSize;
+
+    private final int parallelism;
+
+    public ParallelUploader(MultipartMinioClient client, ExecutorService executor, long partSize, int parallelism) {
+        if (partSize < MIN_PART_SIZE || partSize > Integer.MAX_VALUE) {
+            throw new GlobalException("Part size must be between 5MB and 2GB");
+        }
+        if (parallelism < 1) {
+            throw new GlobalException("Upload parallelism must be positive");
+        }
+        this.client = client;
+        this.executor = executor;
+        this.partSize = partSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 上传本地文件
+     * @param contentType 文件类型，可为空
+     */
+    public ObjectWriteResponse uploadFile(String bucketName, String objectName,
+                                          String filePath, String contentType) throws Exception {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new GlobalException("File not found: " + filePath);
+        }
+        long size = file.length();
+        long filePartSize = partSizeFor(size);
+        if (size <= filePartSize) {
+            UploadObjectArgs.Builder builder = UploadObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .filename(filePath);
+            if (contentType != null) {
+                builder.contentType(contentType);
+            }
+            return client.uploadObject(builder.build());
+        }
+        int partCount = (int) ((size + filePartSize - 1) / filePartSize);
+        MultipartTask task = new MultipartTask(bucketName, objectName, contentType, null);
+        try {
+            for (int i = 0; i < partCount; i++) {
+                long offset = i * filePartSize;
+                int length = (int) Math.min(filePartSize, size - offset);
+                int partNumber = i + 1;
+                // 每个分片独立打开文件，minio 会从 RandomAccessFile 的当前位置直接读取，不额外拷贝到堆内存
+                task.submit(partNumber, () -> {
+                    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                        raf.seek(offset);
+                        return client.uploadPart(bucketName, objectName, task.uploadId, partNumber, raf, length);
+                    }
+                });
+            }
+            return task.complete();
+        } catch (Exception e) {
+            task.abort(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 通过输入流上传，流的长度无需预先知道
+     * @param contentType 文件类型，可为空
+     */
+    public ObjectWriteResponse uploadStream(String bucketName, String objectName,
+                                            InputStream inputStream, String contentType) throws Exception {
+        return uploadStream(bucketName, objectName, inputStream, contentType, null);
+    }
+
+    /**
+     * 通过输入流上传，流的长度无需预先知道
+     * @param contentType 文件类型，可为空
+     * @param headers 附加的请求头（例如 x-amz-meta-*、Content-Encoding），可为空
+     */
+    public ObjectWriteResponse uploadStream(String bucketName, String objectName, InputStream inputStream,
+                                            String contentType, Map<String, String> headers) throws Exception {
+        byte[] first = readFirstPart(inputStream);
+        if (first.length < partSize) {
+            // 整个流不足一个分片，直接普通上传
+            PutObjectArgs.Builder builder = PutObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(objectName)
+                    .stream(new ByteArrayInputStream(first), first.length, -1);
+            if (contentType != null) {
+                builder.contentType(contentType);
+            }
+            if (headers != null) {
+                builder.headers(headers);
+            }
+            return client.putObject(builder.build());
+        }
+        MultipartTask task = new MultipartTask(bucketName, objectName, contentType, headers);
+        try {
+            byte[] buffer = first;
+            int length = first.length;
+            int partNumber = 1;
+            while (length > 0) {
+                if (partNumber > MAX_PARTS) {
+                    throw new GlobalException("Stream exceeds " + MAX_PARTS + " parts, please increase [upload.part-size]");
+                }
+                byte[] data = buffer;
+                int dataLength = length;
+                int currPart = partNumber++;
+                // submit 会在在途分片数达到上限时阻塞，从而限制缓冲区数量
+                task.submit(currPart, () -> client.uploadPart(bucketName, objectName, task.uploadId, currPart, data, dataLength));
+                if (length < partSize) {
+                    break;
+                }
+                buffer = new byte[(int) partSize];
+                length = readFully(inputStream, buffer, 0);
+            }
+            return task.complete();
+        } catch (Exception e) {
+            task.abort(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 已知文件大小时，保证分片数不超过 S3 的上限
+     */
+    private long partSizeFor(long size) {
+        long minSize = (size + MAX_PARTS - 1) / MAX_PARTS;
+        return Math.max(partSize, minSize);
+    }
+
+    /**
+     * 读取首个分片。小文件不必分配整块 partSize 的缓冲区，因此从小缓冲区开始按需扩容
+     * @return 实际读到的数据，长度不超过 partSize
+     */
+    private byte[] readFirstPart(InputStream in) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(partSize, INITIAL_BUFFER_SIZE)];
+        int length = 0;
+        while (true) {
+            length = readFully(in, buffer, length);
+            if (length < buffer.length || buffer.length == partSize) {
+                return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+            }
+            buffer = Arrays.copyOf(buffer, (int) Math.min(partSize, (long) buffer.length * 2));
+        }
+    }
+
+    /**
+     * 从 offset 开始尽量填满缓冲区
+     * @return 缓冲区中的有效长度
+     */
+    private static int readFully(InputStream in, byte[] buffer, int offset) throws IOException {
+        int length = offset;
+        while (length < buffer.length) {
+            int n = in.read(buffer, length, buffer.length - length);
+            if (n < 0) {
+                break;
+            }
+            length += n;
+        }
+        return length;
+    }
+
+    /**
+     * 一次分片上传任务：负责限流、收集 etag、完成或取消上传
+     */
+    private class MultipartTask {
+
+        private final String bucketName;
+
+        private final String objectName;
+
+        private final String uploadId;
+
+        private final Semaphore permits = new Semaphore(parallelism);
+
+        private final Map<Integer, String> etags = new ConcurrentSkipListMap<>();
+
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        MultipartTask(String bucketName, String objectName, String contentType,
+                      Map<String, String> headers) throws Exception {
+            this.bucketName = bucketName;
+            this.objectName = objectName;
+            this.uploadId = client.createMultipartUpload(bucketName, objectName, contentType, null, headers);
+        }
+
+        void submit(int partNumber, Callable<String> upload) throws Exception {
+            permits.acquire();
+            try {
+                throwIfFailed();
+                executor.execute(() -> {
+                    try {
+                        etags.put(partNumber, upload.call());
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (Exception e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        ObjectWriteResponse complete() throws Exception {
+            awaitInFlight();
+            throwIfFailed();
+            Part[] parts = etags.entrySet().stream()
+                    .map(e -> new Part(e.getKey(), e.getValue()))
+                    .toArray(Part[]::new);
+            return client.completeMultipartUpload(bucketName, objectName, uploadId, parts);
+        }
+
+        void abort(Exception cause) {
+            try {
+                awaitInFlight();
+                client.abortMultipartUpload(bucketName, objectName, uploadId);
+            } catch (Exception e) {
+                cause.addSuppressed(e);
+            }
+        }
+
+        private void awaitInFlight() throws InterruptedException {
+            permits.acquire(parallelism);
+            permits.release(parallelism);
+        }
+
+        private void throwIfFailed() throws Exception {
+            Exception e = failure.get();
+            if (e != null) {
+                throw e;
+            }
+        }
+    }
+}
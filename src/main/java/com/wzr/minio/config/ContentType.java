@@ -37,17 +37,15 @@ public enum ContentType {
      */
     private final String value;
 
+    /**
+     * 根据后缀（或文件名）获取 Content-Type，查询完整的映射表（见 {@link MimeTypes}），不限于这里列出的类型
+     */
     public static String getContentType(String suffix){
         if(suffix == null || "".equals(suffix.trim()) ){
             return DEFAULT.getValue();
         }
-        suffix = suffix.substring(suffix.lastIndexOf(".") + 1);
-        for (ContentType value : ContentType.values()) {
-            if(suffix.equalsIgnoreCase(value.getSuffix())){
-                return value.getValue();
-            }
-        }
-        return DEFAULT.getValue();
+        String type = MimeTypes.getDefault().forExtension(suffix.substring(suffix.lastIndexOf(".") + 1));
+        return type == null ? DEFAULT.getValue() : type;
     }
 
     ContentType(String suffix, String value) {
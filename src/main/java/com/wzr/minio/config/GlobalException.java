@@ -13,4 +13,8 @@ public class GlobalException extends RuntimeException{
     public GlobalException(String message) {
         super("[minio-starter] ".concat( message ));
     }
+    
+    public GlobalException(String message, Throwable cause) {
+        super("[minio-starter] ".concat( message ), cause);
+    }
 }
@@ -0,0 +1,380 @@
+package com.wzr.minio.config;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文件类型（Content-Type）注册表
+ * <p>后缀映射表来自 classpath 中的 mime.types（格式同 Apache httpd），加载时建立以小写后缀为键的哈希索引，
+ * 查询时只截取后缀做一次哈希查找。</p>
+ * <p>后缀无法识别时，可以根据内容开头的魔数识别常见的二进制格式。只识别二进制格式，
+ * 不会把内容识别为 html、svg 等浏览器会执行脚本的类型。</p>
+ * <p>按后缀识别时，html、js、svg、xml 等浏览器会执行脚本的类型（见 {@link #isActive}）默认识别为 {@link #DEFAULT}：
+ * 文件名由上传者决定，这些对象经外链在 minio 的域名下打开时，其中的脚本同样会被执行。确需保存为这些类型时开启 allowActiveTypes。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 01:10
+ */
+public class MimeTypes {
+
+    /** 无法识别时使用的类型 */
+    public static final String DEFAULT = "application/octet-stream";
+
+    /** 识别魔数需要读取的字节数 */
+    public static final int SNIFF_LENGTH = 16;
+
+    private static final String TABLE = "mime.types";
+
+    private static final MimeTypes DEFAULT_TYPES = new MimeTypes(Collections.emptyMap());
+
+    /** 浏览器会执行其中脚本的类型，此外所有 +xml 类型同样按 xml 文档处理 */
+    private static final Set<String> ACTIVE_TYPES = new HashSet<>(Arrays.asList(
+            "text/html", "application/xhtml+xml", "image/svg+xml", "text/xml", "application/xml",
+            "application/javascript", "text/javascript", "application/ecmascript", "message/rfc822"));
+
+    /** 小写后缀 -> Content-Type */
+    private final Map<String, String> types;
+
+    /** 是否按后缀识别出浏览器会执行脚本的类型 */
+    private final boolean allowActiveTypes;
+
+    /**
+     * @param custom 自定义的 后缀 -> Content-Type 映射，优先于内置的映射表
+     */
+    public MimeTypes(Map<String, String> custom) {
+        this(custom, false);
+    }
+
+    /**
+     * @param custom 自定义的 后缀 -> Content-Type 映射，优先于内置的映射表
+     * @param allowActiveTypes 为 false 时，浏览器会执行脚本的类型（包括自定义映射中的）一律识别为 {@link #DEFAULT}
+     */
+    public MimeTypes(Map<String, String> custom, boolean allowActiveTypes) {
+        this.allowActiveTypes = allowActiveTypes;
+        Map<String, String> types = load();
+        for (Map.Entry<String, String> entry : custom.entrySet()) {
+            String extension = entry.getKey().toLowerCase(Locale.ROOT);
+            types.put(extension.startsWith(".") ? extension.substring(1) : extension, entry.getValue());
+        }
+        this.types = types;
+    }
+
+    /**
+     * 只包含内置映射表的注册表
+     */
+    public static MimeTypes getDefault() {
+        return DEFAULT_TYPES;
+    }
+
+    /**
+     * 根据文件名获取 Content-Type
+     * @return 无法识别时返回 {@link #DEFAULT}
+     */
+    public String getContentType(String fileName) {
+        String type = forFileName(fileName);
+        return type == null ? DEFAULT : type;
+    }
+
+    /**
+     * 根据文件名的后缀获取 Content-Type（文件名可以带路径）
+     * @return 没有后缀或无法识别时返回 null
+     */
+    public String forFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0 || dot == fileName.length() - 1 || fileName.indexOf('/', dot) >= 0) {
+            return null;
+        }
+        return forExtension(fileName.substring(dot + 1));
+    }
+
+    /**
+     * 根据后缀（不含 "."，不区分大小写）获取 Content-Type
+     * @return 无法识别时返回 null；未开启 allowActiveTypes 时，浏览器会执行脚本的类型返回 {@link #DEFAULT}
+     */
+    public String forExtension(String extension) {
+        String type = types.get(extension);
+        if (type == null) {
+            type = types.get(extension.toLowerCase(Locale.ROOT));
+        }
+        return type == null || allowActiveTypes || !isActive(type) ? type : DEFAULT;
+    }
+
+    /**
+     * 是否是浏览器会执行其中脚本的类型（html、xhtml、svg、xml、javascript 等）
+     */
+    public static boolean isActive(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        int parameters = type.indexOf(';');
+        if (parameters >= 0) {
+            type = type.substring(0, parameters);
+        }
+        type = type.trim();
+        return ACTIVE_TYPES.contains(type) || type.endsWith("+xml");
+    }
+
+    /**
+     * 返回支持 mark/reset 的流，用于 {@link #sniff(InputStream)}
+     */
+    public static InputStream markable(InputStream in) {
+        return in.markSupported() ? in : new BufferedInputStream(in, SNIFF_LENGTH);
+    }
+
+    /**
+     * 读取流开头的 {@link #SNIFF_LENGTH} 个字节识别类型，读取后重置到原来的位置，不消耗流的内容
+     * @param in 需要支持 mark/reset，见 {@link #markable(InputStream)}
+     * @return 无法识别时返回 null
+     */
+    public static String sniff(InputStream in) throws IOException {
+        byte[] header = new byte[SNIFF_LENGTH];
+        in.mark(SNIFF_LENGTH);
+        int length;
+        try {
+            length = ByteStreams.read(in, header, 0, SNIFF_LENGTH);
+        } finally {
+            in.reset();
+        }
+        return sniff(header, length);
+    }
+
+    /**
+     * 根据内容开头的字节识别类型
+     * @param length header 中有效的字节数
+     * @return 无法识别时返回 null
+     */
+    public static String sniff(byte[] header, int length) {
+        Header h = new Header(header, length);
+        if (h.starts(0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (h.starts(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (h.starts("GIF87a") || h.starts("GIF89a")) {
+            return "image/gif";
+        }
+        if (h.starts("RIFF")) {
+            if (h.at(8, "WEBP")) {
+                return "image/webp";
+            }
+            if (h.at(8, "WAVE")) {
+                return "audio/wav";
+            }
+            if (h.at(8, "AVI ")) {
+                return "video/x-msvideo";
+            }
+            return null;
+        }
+        if (h.at(4, "ftyp")) {
+            return isoMedia(h);
+        }
+        if (h.starts("BM") && h.at(6, 0, 0, 0, 0)) {
+            return "image/bmp";
+        }
+        if (h.starts('I', 'I', 0x2A, 0x00) || h.starts('M', 'M', 0x00, 0x2A)) {
+            return "image/tiff";
+        }
+        if (h.starts(0x00, 0x00, 0x01, 0x00)) {
+            return "image/x-icon";
+        }
+        if (h.starts("8BPS")) {
+            return "image/vnd.adobe.photoshop";
+        }
+        if (h.starts("%PDF-")) {
+            return "application/pdf";
+        }
+        if (h.starts('P', 'K', 0x03, 0x04) || h.starts('P', 'K', 0x05, 0x06)) {
+            return "application/zip";
+        }
+        if (h.starts(0x1F, 0x8B)) {
+            return "application/gzip";
+        }
+        if (h.starts('7', 'z', 0xBC, 0xAF, 0x27, 0x1C)) {
+            return "application/x-7z-compressed";
+        }
+        if (h.starts('R', 'a', 'r', '!', 0x1A, 0x07)) {
+            return "application/vnd.rar";
+        }
+        if (h.starts("BZh")) {
+            return "application/x-bzip2";
+        }
+        if (h.starts(0xFD, '7', 'z', 'X', 'Z', 0x00)) {
+            return "application/x-xz";
+        }
+        if (h.starts(0x28, 0xB5, 0x2F, 0xFD)) {
+            return "application/zstd";
+        }
+        if (h.starts("SQLite format 3")) {
+            return "application/x-sqlite3";
+        }
+        if (h.starts(0x00, 'a', 's', 'm')) {
+            return "application/wasm";
+        }
+        if (h.starts(0xCA, 0xFE, 0xBA, 0xBE)) {
+            return "application/java-vm";
+        }
+        if (h.starts(0x7F, 'E', 'L', 'F')) {
+            return "application/x-elf";
+        }
+        if (h.starts("MZ")) {
+            return "application/x-msdownload";
+        }
+        if (h.starts("ID3") || h.starts(0xFF, 0xFB)) {
+            return "audio/mpeg";
+        }
+        if (h.starts("OggS")) {
+            return "audio/ogg";
+        }
+        if (h.starts("fLaC")) {
+            return "audio/flac";
+        }
+        if (h.starts("MThd")) {
+            return "audio/midi";
+        }
+        if (h.starts("#!AMR")) {
+            return "audio/amr";
+        }
+        if (h.starts(0x1A, 0x45, 0xDF, 0xA3)) {
+            return "video/webm";
+        }
+        if (h.starts("FLV")) {
+            return "video/x-flv";
+        }
+        if (h.starts(0x00, 0x00, 0x01, 0xBA) || h.starts(0x00, 0x00, 0x01, 0xB3)) {
+            return "video/mpeg";
+        }
+        if (h.starts("wOFF")) {
+            return "font/woff";
+        }
+        if (h.starts("wOF2")) {
+            return "font/woff2";
+        }
+        if (h.starts("OTTO")) {
+            return "font/otf";
+        }
+        if (h.starts(0x00, 0x01, 0x00, 0x00, 0x00)) {
+            return "font/ttf";
+        }
+        if (h.starts("glTF")) {
+            return "model/gltf-binary";
+        }
+        return null;
+    }
+
+    /**
+     * ISO 基础媒体文件格式（mp4、mov、heic 等），按主品牌区分
+     */
+    private static String isoMedia(Header h) {
+        if (h.at(8, "avif") || h.at(8, "avis")) {
+            return "image/avif";
+        }
+        if (h.at(8, "heic") || h.at(8, "heix") || h.at(8, "hevc") || h.at(8, "heim")) {
+            return "image/heic";
+        }
+        if (h.at(8, "mif1") || h.at(8, "msf1")) {
+            return "image/heif";
+        }
+        if (h.at(8, "qt  ")) {
+            return "video/quicktime";
+        }
+        if (h.at(8, "M4A ") || h.at(8, "M4B ")) {
+            return "audio/mp4";
+        }
+        if (h.at(8, "3gp")) {
+            return "video/3gpp";
+        }
+        if (h.at(8, "3g2")) {
+            return "video/3gpp2";
+        }
+        return "video/mp4";
+    }
+
+    /**
+     * 加载内置映射表，同一个后缀出现多次时以先出现的为准
+     */
+    private static Map<String, String> load() {
+        Map<String, String> types = new HashMap<>(1024);
+        InputStream in = MimeTypes.class.getResourceAsStream(TABLE);
+        if (in == null) {
+            throw new GlobalException("MIME table " + TABLE + " not found on the classpath");
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                for (int i = 1; i < fields.length; i++) {
+                    types.putIfAbsent(fields[i].toLowerCase(Locale.ROOT), fields[0]);
+                }
+            }
+        } catch (IOException e) {
+            throw new GlobalException("Failed to load MIME table " + TABLE, e);
+        }
+        return types;
+    }
+
+    /**
+     * 内容开头的字节
+     */
+    private static final class Header {
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        Header(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = Math.max(length, 0);
+        }
+
+        boolean starts(int... expected) {
+            return at(0, expected);
+        }
+
+        boolean starts(String expected) {
+            return at(0, expected);
+        }
+
+        boolean at(int offset, int... expected) {
+            if (offset + expected.length > length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if ((bytes[offset + i] & 0xFF) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean at(int offset, String expected) {
+            if (offset + expected.length() > length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length(); i++) {
+                if ((bytes[offset + i] & 0xFF) != expected.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.wzr.minio.config;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * 定制 MinioClient 使用的 HTTP 客户端
+ * <p>注册为 Bean 后，在按 minio-util.http 配置创建好 OkHttpClient.Builder 之后、构建之前调用（多个时按 Order 顺序），
+ * 可用于添加拦截器、代理、证书等。HTTP 客户端只供本 starter 使用，不会注册为 Bean。</p>
+ *
+ * @author wzr
+ * @date 2026-10-17 19:10
+ */
+@FunctionalInterface
+public interface MinioHttpClientCustomizer {
+
+    void customize(OkHttpClient.Builder builder);
+}
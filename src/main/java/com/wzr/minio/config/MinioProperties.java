@@ -4,6 +4,15 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 读取 Minio 相关配置文件
@@ -19,6 +28,16 @@ public class MinioProperties {
      */
     private String url;
 
+    /**
+     * 多个minio节点地址（同一个分布式集群），配置后忽略 url，请求按 routing 配置分发到各节点
+     */
+    private List<String> endpoints = new ArrayList<>();
+
+    /**
+     * 多节点的请求分发配置
+     */
+    private Routing routing = new Routing();
+
     /**
      * minio认证用户名
      */
@@ -29,6 +48,96 @@ public class MinioProperties {
      */
     private String secretKey;
 
+    /**
+     * 上传、下载引擎共用的工作线程数
+     */
+    private int transferThreads = 16;
+
+    /**
+     * HTTP 连接配置
+     */
+    private Http http = new Http();
+
+    /**
+     * 存储桶信息缓存的过期时间，为 0 时不缓存
+     */
+    private Duration bucketCacheTtl = Duration.ofSeconds(60);
+
+    /**
+     * 对象元数据缓存配置
+     */
+    private MetadataCache metadataCache = new MetadataCache();
+
+    /**
+     * 本地磁盘缓存配置
+     */
+    private DiskCache diskCache = new DiskCache();
+
+    /**
+     * 外链缓存配置
+     */
+    private Presign presign = new Presign();
+
+    /**
+     * 分页列举配置
+     */
+    private Listing listing = new Listing();
+
+    /**
+     * 并发分片上传配置
+     */
+    private Upload upload = new Upload();
+
+    /**
+     * 并发分段下载配置
+     */
+    private Download download = new Download();
+
+    /**
+     * 按前缀批量拷贝/移动配置
+     */
+    private Copy copy = new Copy();
+
+    /**
+     * 分片上传（uploadFileFragment）配置
+     */
+    private Fragment fragment = new Fragment();
+
+    /**
+     * 秒传（按内容哈希去重）配置
+     */
+    private Dedup dedup = new Dedup();
+
+    /**
+     * 上传时自动识别 Content-Type 的配置
+     */
+    private Mime mime = new Mime();
+
+    /**
+     * 小对象打包存储配置
+     */
+    private Pack pack = new Pack();
+
+    /**
+     * 传输压缩配置
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * 异步接口（MinioAsyncUtils）配置
+     */
+    private Async async = new Async();
+
+    /**
+     * 响应式接口（MinioReactiveUtils）配置
+     */
+    private Reactive reactive = new Reactive();
+
+    /**
+     * 指标（Micrometer）配置
+     */
+    private Metrics metrics = new Metrics();
+
     public String getUrl() {
         return url;
     }
@@ -37,6 +146,22 @@ public class MinioProperties {
         this.url = url;
     }
 
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<String> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public Routing getRouting() {
+        return routing;
+    }
+
+    public void setRouting(Routing routing) {
+        this.routing = routing;
+    }
+
     public String getAccessKey() {
         return accessKey;
     }
@@ -52,4 +177,1103 @@ public class MinioProperties {
     public void setSecretKey(String secretKey) {
         this.secretKey = secretKey;
     }
+
+    public int getTransferThreads() {
+        return transferThreads;
+    }
+
+    public void setTransferThreads(int transferThreads) {
+        this.transferThreads = transferThreads;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public void setHttp(Http http) {
+        this.http = http;
+    }
+
+    public Duration getBucketCacheTtl() {
+        return bucketCacheTtl;
+    }
+
+    public void setBucketCacheTtl(Duration bucketCacheTtl) {
+        this.bucketCacheTtl = bucketCacheTtl;
+    }
+
+    public MetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    public void setMetadataCache(MetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
+    public DiskCache getDiskCache() {
+        return diskCache;
+    }
+
+    public void setDiskCache(DiskCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    public Presign getPresign() {
+        return presign;
+    }
+
+    public void setPresign(Presign presign) {
+        this.presign = presign;
+    }
+
+    public Listing getListing() {
+        return listing;
+    }
+
+    public void setListing(Listing listing) {
+        this.listing = listing;
+    }
+
+    public Upload getUpload() {
+        return upload;
+    }
+
+    public void setUpload(Upload upload) {
+        this.upload = upload;
+    }
+
+    public Copy getCopy() {
+        return copy;
+    }
+
+    public void setCopy(Copy copy) {
+        this.copy = copy;
+    }
+
+    public Download getDownload() {
+        return download;
+    }
+
+    public void setDownload(Download download) {
+        this.download = download;
+    }
+
+    public Fragment getFragment() {
+        return fragment;
+    }
+
+    public void setFragment(Fragment fragment) {
+        this.fragment = fragment;
+    }
+
+    public Dedup getDedup() {
+        return dedup;
+    }
+
+    public void setDedup(Dedup dedup) {
+        this.dedup = dedup;
+    }
+
+    public Mime getMime() {
+        return mime;
+    }
+
+    public void setMime(Mime mime) {
+        this.mime = mime;
+    }
+
+    public Pack getPack() {
+        return pack;
+    }
+
+    public void setPack(Pack pack) {
+        this.pack = pack;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public void setAsync(Async async) {
+        this.async = async;
+    }
+
+    public Reactive getReactive() {
+        return reactive;
+    }
+
+    public void setReactive(Reactive reactive) {
+        this.reactive = reactive;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public static class Routing {
+
+        public enum Strategy {
+            /** 选择在途请求最少的节点 */
+            LEAST_IN_FLIGHT,
+            /** 选择 延迟的指数移动平均 * (在途请求数 + 1) 最小的节点 */
+            LATENCY_EWMA
+        }
+
+        /**
+         * 节点的选择策略
+         */
+        private Strategy strategy = Strategy.LEAST_IN_FLIGHT;
+
+        /**
+         * GET、HEAD 请求失败时是否换一个节点重试
+         */
+        private boolean failover = true;
+
+        /**
+         * 请求失败或健康检查失败的节点被摘除的时间
+         */
+        private Duration ejectDuration = Duration.ofSeconds(30);
+
+        /**
+         * 健康检查的间隔，为 0 时不检查
+         */
+        private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+        /**
+         * 健康检查的超时时间
+         */
+        private Duration healthCheckTimeout = Duration.ofSeconds(2);
+
+        /**
+         * 健康检查的路径
+         */
+        private String healthCheckPath = "/minio/health/live";
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public boolean isFailover() {
+            return failover;
+        }
+
+        public void setFailover(boolean failover) {
+            this.failover = failover;
+        }
+
+        public Duration getEjectDuration() {
+            return ejectDuration;
+        }
+
+        public void setEjectDuration(Duration ejectDuration) {
+            this.ejectDuration = ejectDuration;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public Duration getHealthCheckTimeout() {
+            return healthCheckTimeout;
+        }
+
+        public void setHealthCheckTimeout(Duration healthCheckTimeout) {
+            this.healthCheckTimeout = healthCheckTimeout;
+        }
+
+        public String getHealthCheckPath() {
+            return healthCheckPath;
+        }
+
+        public void setHealthCheckPath(String healthCheckPath) {
+            this.healthCheckPath = healthCheckPath;
+        }
+    }
+
+    public static class Http {
+
+        /**
+         * 连接池保留的最大空闲连接数，建议不小于并发请求数
+         */
+        private int maxIdleConnections = 64;
+
+        /**
+         * 空闲连接的保留时间
+         */
+        private Duration keepAlive = Duration.ofMinutes(5);
+
+        /**
+         * 异步请求同时进行的最大数量（minio 客户端使用同步请求，不受该限制）
+         */
+        private int maxRequests = 256;
+
+        /**
+         * 异步请求对同一主机同时进行的最大数量（minio 客户端使用同步请求，不受该限制）
+         */
+        private int maxRequestsPerHost = 64;
+
+        /**
+         * 建立连接的超时时间
+         */
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 读取数据的超时时间
+         */
+        private Duration readTimeout = Duration.ofMinutes(5);
+
+        /**
+         * 写入数据的超时时间
+         */
+        private Duration writeTimeout = Duration.ofMinutes(5);
+
+        /**
+         * 是否允许通过 TLS（ALPN）协商使用 HTTP/2
+         */
+        private boolean http2 = false;
+
+        /**
+         * 是否使用明文 HTTP/2（h2c），需要服务端支持，开启后只能访问 http 地址
+         */
+        private boolean h2c = false;
+
+        public int getMaxIdleConnections() {
+            return maxIdleConnections;
+        }
+
+        public void setMaxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public int getMaxRequests() {
+            return maxRequests;
+        }
+
+        public void setMaxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+        }
+
+        public int getMaxRequestsPerHost() {
+            return maxRequestsPerHost;
+        }
+
+        public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public boolean isH2c() {
+            return h2c;
+        }
+
+        public void setH2c(boolean h2c) {
+            this.h2c = h2c;
+        }
+    }
+
+    public static class MetadataCache {
+
+        /**
+         * 最多缓存的对象数，为 0 时不缓存
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * 对象信息的缓存时间
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * "对象不存在"的缓存时间
+         */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        public void setNegativeTtl(Duration negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+    }
+
+    public static class DiskCache {
+
+        /**
+         * 是否开启，开启后 getFileStream 先读取本地缓存
+         */
+        private boolean enabled = false;
+
+        /**
+         * 缓存目录，每个实例在其中使用自己的子目录，启动时只清理已退出的实例留下的子目录
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/minio-util-cache";
+
+        /**
+         * 缓存文件的总大小上限
+         */
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+
+        /**
+         * 超过该大小的对象不缓存
+         */
+        private DataSize maxObjectSize = DataSize.ofMegabytes(16);
+
+        /**
+         * 缓存写入（或上次校验）超过该时间后，读取前先用条件请求校验 etag；为 0 时每次都校验
+         */
+        private Duration revalidateAfter = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getMaxObjectSize() {
+            return maxObjectSize;
+        }
+
+        public void setMaxObjectSize(DataSize maxObjectSize) {
+            this.maxObjectSize = maxObjectSize;
+        }
+
+        public Duration getRevalidateAfter() {
+            return revalidateAfter;
+        }
+
+        public void setRevalidateAfter(Duration revalidateAfter) {
+            this.revalidateAfter = revalidateAfter;
+        }
+    }
+
+    public static class Presign {
+
+        /**
+         * 最多缓存的外链数，为 0 时不缓存
+         */
+        private long cacheSize = 10000;
+
+        /**
+         * 外链剩余有效时间不少于 有效时间 * 该比例 时复用
+         */
+        private double minRemainingRatio = 0.5;
+
+        public long getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(long cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public double getMinRemainingRatio() {
+            return minRemainingRatio;
+        }
+
+        public void setMinRemainingRatio(double minRemainingRatio) {
+            this.minRemainingRatio = minRemainingRatio;
+        }
+    }
+
+    public static class Listing {
+
+        /**
+         * 每页对象数，不超过 1000
+         */
+        private int pageSize = 1000;
+
+        /**
+         * 是否在处理当前页时预取下一页
+         */
+        private boolean prefetch = true;
+
+        /**
+         * 并行列举（parallelStreamFilesByPrefix）同时进行的分片数
+         */
+        private int parallelism = 16;
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public boolean isPrefetch() {
+            return prefetch;
+        }
+
+        public void setPrefetch(boolean prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class Upload {
+
+        /**
+         * 分片大小，S3 要求除最后一片外每片不小于 5MB
+         */
+        private DataSize partSize = DataSize.ofMegabytes(16);
+
+        /**
+         * 单个文件同时上传的分片数
+         */
+        private int parallelism = 4;
+
+        public DataSize getPartSize() {
+            return partSize;
+        }
+
+        public void setPartSize(DataSize partSize) {
+            this.partSize = partSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class Download {
+
+        /**
+         * 每个下载区间的大小
+         */
+        private DataSize rangeSize = DataSize.ofMegabytes(16);
+
+        /**
+         * 单个文件同时下载的区间数
+         */
+        private int parallelism = 4;
+
+        public DataSize getRangeSize() {
+            return rangeSize;
+        }
+
+        public void setRangeSize(DataSize rangeSize) {
+            this.rangeSize = rangeSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class Copy {
+
+        /**
+         * 超过该大小的对象使用分片拷贝，不超过 5GB
+         */
+        private DataSize multipartThreshold = DataSize.ofMegabytes(256);
+
+        /**
+         * 分片拷贝时每个分片的大小，5MB ~ 5GB
+         */
+        private DataSize partSize = DataSize.ofMegabytes(64);
+
+        /**
+         * 同时进行的拷贝请求数（大对象的每个分片各算一个）
+         */
+        private int parallelism = 16;
+
+        public DataSize getMultipartThreshold() {
+            return multipartThreshold;
+        }
+
+        public void setMultipartThreshold(DataSize multipartThreshold) {
+            this.multipartThreshold = multipartThreshold;
+        }
+
+        public DataSize getPartSize() {
+            return partSize;
+        }
+
+        public void setPartSize(DataSize partSize) {
+            this.partSize = partSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class Fragment {
+
+        public enum Backend {
+            /** 分片作为独立对象上传到临时桶，合并时由服务端拷贝 */
+            COMPOSE,
+            /** 使用 S3 原生分片上传，合并时只需 completeMultipartUpload */
+            MULTIPART
+        }
+
+        /**
+         * 分片上传的实现方式
+         */
+        private Backend backend = Backend.COMPOSE;
+
+        /**
+         * 一次合并的最大分片数，超过时先分组合并为中间对象，各组并发执行（不能超过 10000）
+         */
+        private int composeMaxSources = 1000;
+
+        /**
+         * 清理临时分片时，同时在途的批量删除请求数（每批最多 1000 个对象）
+         */
+        private int removeParallelism = 4;
+
+        /**
+         * 合并前是否校验整个文件的 md5，不符时拒绝合并
+         */
+        private boolean verifyMd5 = false;
+
+        /**
+         * 分片上传会话的状态（已上传的索引、md5 校验）在该时间内未访问时从内存中清除，视为放弃
+         */
+        private Duration stateIdleTimeout = Duration.ofDays(1);
+
+        public Backend getBackend() {
+            return backend;
+        }
+
+        public void setBackend(Backend backend) {
+            this.backend = backend;
+        }
+
+        public int getComposeMaxSources() {
+            return composeMaxSources;
+        }
+
+        public void setComposeMaxSources(int composeMaxSources) {
+            this.composeMaxSources = composeMaxSources;
+        }
+
+        public int getRemoveParallelism() {
+            return removeParallelism;
+        }
+
+        public void setRemoveParallelism(int removeParallelism) {
+            this.removeParallelism = removeParallelism;
+        }
+
+        public boolean isVerifyMd5() {
+            return verifyMd5;
+        }
+
+        public void setVerifyMd5(boolean verifyMd5) {
+            this.verifyMd5 = verifyMd5;
+        }
+
+        public Duration getStateIdleTimeout() {
+            return stateIdleTimeout;
+        }
+
+        public void setStateIdleTimeout(Duration stateIdleTimeout) {
+            this.stateIdleTimeout = stateIdleTimeout;
+        }
+    }
+
+    public static class Dedup {
+
+        /**
+         * 是否开启，开启后分片合并完成的文件会被登记，之后同一个桶中相同内容的文件可以秒传
+         */
+        private boolean enabled = false;
+
+        /**
+         * 保存内容索引的存储桶
+         */
+        private String indexBucket = "content-index";
+
+        /**
+         * 是否要求调用方给出 sha256 才秒传。仅凭客户端给出的 md5 秒传时，知道 md5 即可拿到同一个桶中他人的文件，
+         * 关闭前请确认同一个桶中的文件对所有上传者都可见。分片上传只有 md5，开启时不会自动秒传
+         */
+        private boolean requireStrongHash = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getIndexBucket() {
+            return indexBucket;
+        }
+
+        public void setIndexBucket(String indexBucket) {
+            this.indexBucket = indexBucket;
+        }
+
+        public boolean isRequireStrongHash() {
+            return requireStrongHash;
+        }
+
+        public void setRequireStrongHash(boolean requireStrongHash) {
+            this.requireStrongHash = requireStrongHash;
+        }
+    }
+
+    public static class Mime {
+
+        /**
+         * 文件名后缀无法识别时，是否根据内容的前几个字节（魔数）识别类型
+         */
+        private boolean sniff = true;
+
+        /**
+         * 自定义的 后缀 -> Content-Type 映射，优先于内置的映射表
+         */
+        private Map<String, String> types = new HashMap<>();
+
+        /**
+         * 是否按后缀识别出 html、js、svg、xml 等浏览器会执行脚本的类型。关闭时这些后缀的文件保存为 application/octet-stream，
+         * 避免上传者通过文件名让外链在 minio 的域名下执行脚本
+         */
+        private boolean allowActiveTypes = false;
+
+        public boolean isSniff() {
+            return sniff;
+        }
+
+        public void setSniff(boolean sniff) {
+            this.sniff = sniff;
+        }
+
+        public Map<String, String> getTypes() {
+            return types;
+        }
+
+        public void setTypes(Map<String, String> types) {
+            this.types = types;
+        }
+
+        public boolean isAllowActiveTypes() {
+            return allowActiveTypes;
+        }
+
+        public void setAllowActiveTypes(boolean allowActiveTypes) {
+            this.allowActiveTypes = allowActiveTypes;
+        }
+    }
+
+    public static class Pack {
+
+        /**
+         * 是否开启，开启后小对象追加到打包对象中保存，读写接口不变
+         */
+        private boolean enabled = false;
+
+        /**
+         * 开启打包存储的桶，需逐个列出，为空时不开启
+         */
+        private List<String> buckets = new ArrayList<>();
+
+        /**
+         * 保存打包对象的存储桶
+         */
+        private String bucket = "pack-store";
+
+        /**
+         * 不超过该大小的对象才打包保存
+         */
+        private DataSize maxObjectSize = DataSize.ofKilobytes(64);
+
+        /**
+         * 一个打包对象的目标大小，攒满后立即写入
+         */
+        private DataSize packSize = DataSize.ofMegabytes(16);
+
+        /**
+         * 一批写入最多等待的时间，等待期间到达的对象写入同一个打包对象
+         */
+        private Duration linger = Duration.ofMillis(10);
+
+        /**
+         * 后台压缩的间隔，0 表示不压缩
+         */
+        private Duration compactInterval = Duration.ofMinutes(10);
+
+        /**
+         * 有效数据比例低于该值的打包对象会被压缩
+         */
+        private double compactThreshold = 0.5;
+
+        /**
+         * 索引未命中或超过该间隔时重新列举打包对象，加载其他实例写入的内容；两次列举的最小间隔
+         */
+        private Duration refreshInterval = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(List<String> buckets) {
+            this.buckets = buckets;
+        }
+
+        public String getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(String bucket) {
+            this.bucket = bucket;
+        }
+
+        public DataSize getMaxObjectSize() {
+            return maxObjectSize;
+        }
+
+        public void setMaxObjectSize(DataSize maxObjectSize) {
+            this.maxObjectSize = maxObjectSize;
+        }
+
+        public DataSize getPackSize() {
+            return packSize;
+        }
+
+        public void setPackSize(DataSize packSize) {
+            this.packSize = packSize;
+        }
+
+        public Duration getLinger() {
+            return linger;
+        }
+
+        public void setLinger(Duration linger) {
+            this.linger = linger;
+        }
+
+        public Duration getCompactInterval() {
+            return compactInterval;
+        }
+
+        public void setCompactInterval(Duration compactInterval) {
+            this.compactInterval = compactInterval;
+        }
+
+        public double getCompactThreshold() {
+            return compactThreshold;
+        }
+
+        public void setCompactThreshold(double compactThreshold) {
+            this.compactThreshold = compactThreshold;
+        }
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    public static class Compression {
+
+        /**
+         * 是否开启，开启后命中规则的对象上传时压缩保存，读取时自动解压
+         */
+        private boolean enabled = false;
+
+        /**
+         * gzip 的压缩级别（1-9）
+         */
+        private int gzipLevel = 6;
+
+        /**
+         * 压缩规则，按顺序匹配，第一条命中的规则生效，都不命中时不压缩
+         */
+        private List<Rule> rules = new ArrayList<>(Collections.singletonList(new Rule()));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getGzipLevel() {
+            return gzipLevel;
+        }
+
+        public void setGzipLevel(int gzipLevel) {
+            this.gzipLevel = gzipLevel;
+        }
+
+        public List<Rule> getRules() {
+            return rules;
+        }
+
+        public void setRules(List<Rule> rules) {
+            this.rules = rules;
+        }
+
+        public static class Rule {
+
+            /**
+             * 压缩算法，内置 gzip，其他算法通过注册 CompressionCodec 扩展；none 表示不压缩
+             */
+            private String codec = "gzip";
+
+            /**
+             * 匹配的 Content-Type（前缀匹配，例如 text/），为空时匹配所有类型
+             */
+            private List<String> contentTypes = new ArrayList<>(Arrays.asList("text/", "application/json",
+                    "application/xml", "application/javascript", "application/x-ndjson", "application/csv"));
+
+            /**
+             * 匹配的对象名前缀，为空时匹配所有对象
+             */
+            private List<String> prefixes = new ArrayList<>();
+
+            public String getCodec() {
+                return codec;
+            }
+
+            public void setCodec(String codec) {
+                this.codec = codec;
+            }
+
+            public List<String> getContentTypes() {
+                return contentTypes;
+            }
+
+            public void setContentTypes(List<String> contentTypes) {
+                this.contentTypes = contentTypes;
+            }
+
+            public List<String> getPrefixes() {
+                return prefixes;
+            }
+
+            public void setPrefixes(List<String> prefixes) {
+                this.prefixes = prefixes;
+            }
+        }
+    }
+
+    public static class Async {
+
+        /**
+         * 异步任务的线程数
+         */
+        private int threads = 64;
+
+        /**
+         * 等待执行的任务数上限（背压），队列满时新任务返回的 CompletableFuture 以 RejectedExecutionException 失败
+         */
+        private int queueCapacity = 1024;
+
+        /**
+         * 是否使用虚拟线程（JDK 21 及以上有效，低版本 JDK 自动退回线程池）
+         */
+        private boolean virtualThreads = false;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+
+    public static class Reactive {
+
+        /**
+         * 上传时预取的数据块数量，未被读取的数据块不超过该数量，以此实现背压
+         */
+        private int prefetch = 32;
+
+        /**
+         * 下载时每个数据块的大小
+         */
+        private DataSize bufferSize = DataSize.ofKilobytes(64);
+
+        public int getPrefetch() {
+            return prefetch;
+        }
+
+        public void setPrefetch(int prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        public DataSize getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(DataSize bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+    }
+
+    public static class Metrics {
+
+        /**
+         * 是否记录指标（classpath 中存在 Micrometer 且容器中有 MeterRegistry 时生效）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 是否为操作耗时发布百分位直方图
+         */
+        private boolean percentileHistogram = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
 }
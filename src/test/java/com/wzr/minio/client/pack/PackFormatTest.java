@@ -0,0 +1,113 @@
+package com.wzr.minio.client.pack;
+
+import com.wzr.minio.config.GlobalException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 打包对象结尾索引的写入和读取
+ *
+ * @author wzr
+ * @date 2026-10-17 18:40
+ */
+class PackFormatTest {
+
+    private static final String PACK = "photos/0000018b2c3d4e5f-0a0b0c0d";
+
+    private static final String EARLIER = "photos/0000018b2c3d4e00-01020304";
+
+    @Test
+    void footerRoundTrip() throws Exception {
+        byte[] md5a = md5(1);
+        byte[] md5b = md5(2);
+        PackFormat.Footer footer = new PackFormat.Footer(1700000000000L,
+                Arrays.asList(new PackFormat.Slot("a.txt", 0, 3, md5a, "text/plain", null),
+                        new PackFormat.Slot("dir/对象.png", 3, 5, md5b, "image/png", EARLIER)),
+                Arrays.asList(new PackFormat.Tombstone("b.txt", EARLIER, null),
+                        new PackFormat.Tombstone("c.txt", EARLIER, EARLIER)));
+        byte[] bytes = pack(new byte[]{'a', 'b', 'c', 1, 2, 3, 4, 5}, footer);
+
+        int indexLength = PackFormat.indexLength(bytes, bytes.length - PackFormat.TRAILER_LENGTH, PACK);
+        assertEquals(8, bytes.length - PackFormat.TRAILER_LENGTH - indexLength);
+        PackFormat.Footer read = PackFormat.readFooter(bytes, 8, indexLength);
+
+        assertEquals(1700000000000L, read.createdAt);
+        assertEquals(2, read.slots.size());
+        PackFormat.Slot a = read.slots.get(0);
+        assertEquals("a.txt", a.name);
+        assertEquals(0, a.offset);
+        assertEquals(3, a.length);
+        assertArrayEquals(md5a, a.md5);
+        assertEquals("text/plain", a.contentType);
+        assertNull(a.origin);
+        assertEquals(PACK, a.originIn(PACK));
+        PackFormat.Slot b = read.slots.get(1);
+        assertEquals("dir/对象.png", b.name);
+        assertEquals(3, b.offset);
+        assertEquals(5, b.length);
+        assertArrayEquals(md5b, b.md5);
+        assertEquals("image/png", b.contentType);
+        assertEquals(EARLIER, b.originIn(PACK));
+
+        assertEquals(2, read.tombstones.size());
+        PackFormat.Tombstone deleted = read.tombstones.get(0);
+        assertEquals("b.txt", deleted.name);
+        assertEquals(EARLIER, deleted.target);
+        assertNull(deleted.version);
+        assertEquals(PACK, deleted.versionIn(PACK));
+        PackFormat.Tombstone carried = read.tombstones.get(1);
+        assertEquals("c.txt", carried.name);
+        assertEquals(EARLIER, carried.versionIn(PACK));
+    }
+
+    @Test
+    void tombstoneOnlyFooter() throws Exception {
+        PackFormat.Footer footer = new PackFormat.Footer(1L, Collections.emptyList(),
+                Collections.singletonList(new PackFormat.Tombstone("gone", EARLIER, null)));
+        byte[] bytes = pack(new byte[0], footer);
+
+        int indexLength = PackFormat.indexLength(bytes, bytes.length - PackFormat.TRAILER_LENGTH, PACK);
+        assertEquals(bytes.length - PackFormat.TRAILER_LENGTH, indexLength);
+        PackFormat.Footer read = PackFormat.readFooter(bytes, 0, indexLength);
+
+        assertEquals(0, read.slots.size());
+        assertEquals(1, read.tombstones.size());
+        assertEquals("gone", read.tombstones.get(0).name);
+        assertEquals(EARLIER, read.tombstones.get(0).target);
+    }
+
+    @Test
+    void rejectsObjectWithoutMagic() {
+        byte[] bytes = new byte[]{0, 0, 0, 4, 'M', 'P', 'K', '0'};
+
+        assertThrows(GlobalException.class, () -> PackFormat.indexLength(bytes, 0, PACK));
+    }
+
+    @Test
+    void sequenceOfPackName() {
+        assertEquals(0x18b2c3d4e5fL, PackObject.sequenceOf(PACK));
+    }
+
+    private static byte[] pack(byte[] data, PackFormat.Footer footer) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.write(data);
+        PackFormat.writeFooter(out, footer);
+        return buffer.toByteArray();
+    }
+
+    private static byte[] md5(int seed) {
+        byte[] md5 = new byte[16];
+        Arrays.fill(md5, (byte) seed);
+        return md5;
+    }
+}
@@ -0,0 +1,187 @@
+package com.wzr.minio.client.pack;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 压缩后从打包对象重建索引
+ *
+ * @author wzr
+ * @date 2026-10-17 18:40
+ */
+class PackIndexTest {
+
+    private static final String P1 = name(1);
+
+    private static final String P2 = name(2);
+
+    private static final String P3 = name(3);
+
+    private static final String P4 = name(4);
+
+    @Test
+    void rebuildAfterCompaction() {
+        Pack p1 = pack(P1, slots("a", "b", "c"));
+        Pack p2 = pack(P2, slots("b"), new PackFormat.Tombstone("c", P1, null));
+        // 压缩 p1：有效的 a 移到 p3，保留最初写入的 p1
+        Pack p3 = pack(P3, Collections.singletonList(moved("a", P1)));
+
+        PackIndex index = new PackIndex();
+        p1.addTo(index);
+        p2.addTo(index);
+        assertEquals(1, p1.object.liveCount.get());
+        p3.addTo(index);
+        index.drop(P1);
+        assertFalse(index.hasNeededTombstones(p2.object));
+
+        PackIndex rebuilt = rebuild(p2, p3);
+        for (PackIndex current : Arrays.asList(index, rebuilt)) {
+            assertEquals(P3, current.get("a").getPackName());
+            assertEquals(PackObject.sequenceOf(P1), current.get("a").getLastModified());
+            assertEquals(P2, current.get("b").getPackName());
+            assertNull(current.get("c"));
+            assertEquals(2, current.size());
+        }
+        assertEquals(1, rebuilt.packs().get(P2).liveCount.get());
+        assertEquals(1, rebuilt.packs().get(P3).liveCount.get());
+    }
+
+    @Test
+    void compactionKeepsTombstonesForSurvivingPacks() {
+        // p1 足够大不参与压缩，p2 中删除了 p1 的 x
+        Pack p1 = pack(P1, slots("x", "y"));
+        Pack p2 = pack(P2, slots("z"), new PackFormat.Tombstone("x", P1, null));
+        PackIndex index = rebuild(p1, p2);
+        assertTrue(index.isNeeded(p2.object, p2.object.tombstones.get(0)));
+
+        // 压缩 p2：删除标记保留到 p3，并记录最初写入的 p2
+        Pack p3 = pack(P3, Collections.singletonList(moved("z", P2)), new PackFormat.Tombstone("x", P1, P2));
+        p3.addTo(index);
+        index.drop(P2);
+        assertTrue(index.hasNeededTombstones(p3.object));
+
+        PackIndex rebuilt = rebuild(p1, p3);
+        assertNull(rebuilt.get("x"));
+        assertEquals(P1, rebuilt.get("y").getPackName());
+        assertEquals(P3, rebuilt.get("z").getPackName());
+        assertEquals(1, rebuilt.packs().get(P1).liveCount.get());
+    }
+
+    @Test
+    void compactionDoesNotResurrectConcurrentChanges() {
+        Pack p1 = pack(P1, slots("a", "b", "c"));
+        // 另一个实例在压缩前覆盖了 a、删除了 b，本实例还没有加载
+        Pack p2 = pack(P2, slots("a"), new PackFormat.Tombstone("b", P1, null));
+        // 本实例按旧的索引压缩 p1，三个对象都被当作有效的移到 p3
+        Pack p3 = pack(P3, Arrays.asList(moved("a", P1), moved("b", P1), moved("c", P1)));
+
+        PackIndex stale = rebuild(p1);
+        p3.addTo(stale);
+        stale.drop(P1);
+        p2.addTo(stale);
+
+        PackIndex rebuilt = rebuild(p2, p3);
+        for (PackIndex current : Arrays.asList(stale, rebuilt)) {
+            assertEquals(P2, current.get("a").getPackName());
+            assertNull(current.get("b"));
+            assertEquals(P3, current.get("c").getPackName());
+        }
+        assertEquals(1, rebuilt.packs().get(P3).liveCount.get());
+        // p3 中仍保存着被删除的 b，删除标记需要保留
+        assertTrue(rebuilt.hasNeededTombstones(rebuilt.packs().get(P2)));
+    }
+
+    @Test
+    void deleteFromStaleViewAfterCompaction() {
+        Pack p1 = pack(P1, slots("a"));
+        Pack p2 = pack(P2, Collections.singletonList(moved("a", P1)));
+        // 另一个实例还不知道 p1 已被压缩，删除标记指向 p1
+        Pack p3 = pack(P3, Collections.emptyList(), new PackFormat.Tombstone("a", P1, null));
+        Pack p4 = pack(P4, slots("b"));
+
+        PackIndex rebuilt = rebuild(p2, p3, p4);
+        assertNull(rebuilt.get("a"));
+        assertEquals(0, rebuilt.packs().get(P2).liveCount.get());
+        assertTrue(rebuilt.hasNeededTombstones(rebuilt.packs().get(P3)));
+    }
+
+    @Test
+    void rebuildDoesNotDependOnLoadOrder() {
+        List<Pack> packs = Arrays.asList(
+                pack(P1, slots("a", "b", "c", "d")),
+                pack(P2, slots("a"), new PackFormat.Tombstone("b", P1, null)),
+                pack(P3, Arrays.asList(moved("c", P1), moved("d", P1)), new PackFormat.Tombstone("b", P1, P2)),
+                pack(P4, slots("b"), new PackFormat.Tombstone("d", P3, null)));
+        Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            List<Pack> order = new ArrayList<>(packs);
+            Collections.shuffle(order, random);
+            PackIndex index = rebuild(order.toArray(new Pack[0]));
+            assertEquals(P2, index.get("a").getPackName());
+            assertEquals(P4, index.get("b").getPackName());
+            assertEquals(P3, index.get("c").getPackName());
+            assertNull(index.get("d"));
+            assertEquals(0, index.packs().get(P1).liveCount.get());
+            assertEquals(1, index.packs().get(P3).liveCount.get());
+        }
+    }
+
+    /**
+     * 按给定顺序加载打包对象的副本，模拟重建索引
+     */
+    private static PackIndex rebuild(Pack... packs) {
+        PackIndex index = new PackIndex();
+        for (Pack pack : packs) {
+            pack(pack.object.name, pack.slots, pack.object.tombstones.toArray(new PackFormat.Tombstone[0]))
+                    .addTo(index);
+        }
+        return index;
+    }
+
+    private static Pack pack(String name, List<PackFormat.Slot> slots, PackFormat.Tombstone... tombstones) {
+        return new Pack(new PackObject(name, slots.size(), PackObject.sequenceOf(name), Arrays.asList(tombstones)),
+                slots);
+    }
+
+    private static List<PackFormat.Slot> slots(String... names) {
+        List<PackFormat.Slot> slots = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            slots.add(new PackFormat.Slot(names[i], i, 1, new byte[16], "text/plain", null));
+        }
+        return slots;
+    }
+
+    private static PackFormat.Slot moved(String name, String origin) {
+        return new PackFormat.Slot(name, 0, 1, new byte[16], "text/plain", origin);
+    }
+
+    private static String name(int seq) {
+        return String.format("photos/%016x-%08x", 1700000000000L + seq, seq);
+    }
+
+    private static final class Pack {
+
+        final PackObject object;
+
+        final List<PackFormat.Slot> slots;
+
+        Pack(PackObject object, List<PackFormat.Slot> slots) {
+            this.object = object;
+            this.slots = slots;
+        }
+
+        void addTo(PackIndex index) {
+            index.add(object, slots);
+        }
+    }
+}